@@ -0,0 +1,208 @@
+package com.campusconnect.cache;
+
+import com.campusconnect.event.CatalogUpdatedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Response cache for the unauthenticated /api/public/** reads, which crawlers and the landing page
+ * call far more often than the catalog changes.
+ *
+ * Entries are the serialized JSON bytes, keyed by path plus query parameters in sorted order, so a
+ * hit skips both the service and Jackson. The cache is bounded by total bytes and evicts the least
+ * recently used entries. An entry is fresh for a short time, or until the next catalog write; after
+ * that it is still served (stale-while-revalidate) while one background task recomputes it, up to a
+ * maximum age after which callers wait for the new value. Concurrent misses for the same key share
+ * a single computation.
+ */
+@Component
+public class PublicResponseCache implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicResponseCache.class);
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    private record Entry(byte[] body, long createdAt, long generation) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final long freshMillis;
+    private final long maxStaleMillis;
+    private final ExecutorService refresher;
+
+    // Access-ordered, guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    // One computation per key at a time, shared by everyone asking for it meanwhile
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    // Bumped by every catalog write; entries computed under an older generation are stale
+    private final AtomicLong generation = new AtomicLong();
+
+    public PublicResponseCache(ObjectMapper objectMapper,
+                               @Value("${public-cache.max-bytes:33554432}") long maxBytes,
+                               @Value("${public-cache.fresh-seconds:60}") long freshSeconds,
+                               @Value("${public-cache.max-stale-seconds:600}") long maxStaleSeconds,
+                               @Value("${public-cache.refresh-queue-capacity:64}") int refreshQueueCapacity) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.freshMillis = TimeUnit.SECONDS.toMillis(freshSeconds);
+        this.maxStaleMillis = TimeUnit.SECONDS.toMillis(maxStaleSeconds);
+        this.refresher = new ThreadPoolExecutor(1, 2, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(refreshQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "public-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // -------------------------------
+    // READS
+    // -------------------------------
+    /**
+     * JSON response for the current request, from the cache when possible; otherwise loader is
+     * called (once, however many requests are waiting for the same key) and its result serialized.
+     * Exceptions from loader reach the caller on a miss, and keep the stale entry on a refresh.
+     */
+    public ResponseEntity<byte[]> respond(HttpServletRequest request, Supplier<?> loader) {
+        String key = keyOf(request);
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && isFresh(entry, now)) {
+            return ok(entry, "HIT");
+        }
+        if (entry != null && now - entry.createdAt() < maxStaleMillis) {
+            refreshInBackground(key, loader);
+            return ok(entry, "STALE");
+        }
+        try {
+            return ok(load(key, loader).join(), "MISS");
+        } catch (CompletionException e) {
+            // Surface the loader's own exception so controllers map it as they would uncached
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        return entry.generation() == generation.get() && now - entry.createdAt() < freshMillis;
+    }
+
+    private static ResponseEntity<byte[]> ok(Entry entry, String status) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CACHE_HEADER, status)
+                .body(entry.body());
+    }
+
+    private void refreshInBackground(String key, Supplier<?> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> load(key, loader).exceptionally(e -> {
+                logger.warn("Refreshing cached response {} failed, keeping the stale one", key, e);
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            // Refreshes are backed up; the stale entry is served until a later request gets through
+        }
+    }
+
+    private CompletableFuture<Entry> load(String key, Supplier<?> loader) {
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            return running;
+        }
+        try {
+            // Read before loading: a write landing meanwhile leaves the result already stale
+            long loadedGeneration = generation.get();
+            Entry entry = new Entry(objectMapper.writeValueAsBytes(loader.get()), System.currentTimeMillis(), loadedGeneration);
+            store(key, entry);
+            created.complete(entry);
+        } catch (JsonProcessingException e) {
+            created.completeExceptionally(new IllegalStateException("Could not serialize response", e));
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, created);
+        }
+        return created;
+    }
+
+    private void store(String key, Entry entry) {
+        long size = sizeOf(key, entry);
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            totalBytes += size - (previous != null ? sizeOf(key, previous) : 0);
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> evicted = eldest.next();
+                totalBytes -= sizeOf(evicted.getKey(), evicted.getValue());
+                eldest.remove();
+            }
+        }
+    }
+
+    private static long sizeOf(String key, Entry entry) {
+        return entry.body().length + 2L * key.length() + 64;
+    }
+
+    /**
+     * Path plus query parameters sorted by name, so ?b=1&a=2 and ?a=2&b=1 share an entry.
+     */
+    static String keyOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        StringBuilder key = new StringBuilder(path);
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    // -------------------------------
+    // INVALIDATION
+    // -------------------------------
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+}
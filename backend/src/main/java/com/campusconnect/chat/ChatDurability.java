@@ -0,0 +1,9 @@
+package com.campusconnect.chat;
+
+// When a write-behind chat message is acknowledged to its sender and broadcast
+public enum ChatDurability {
+    // After the batch holding it has committed
+    FLUSH_BEFORE_ACK,
+    // As soon as it is queued; a crash can lose what was not written yet
+    ASYNC
+}
@@ -0,0 +1,32 @@
+package com.campusconnect.chat;
+
+/**
+ * Hands broker messages (chat, and anything else pushed to STOMP clients) to every client
+ * subscribed to a destination, whichever backend instance it is connected to.
+ *
+ * Selected with chat.fanout: "local" (default) delivers through this instance's broker only;
+ * "db" also relays through a shared table so several instances behind a load balancer see each
+ * other's messages.
+ */
+public interface ChatFanout {
+
+    /**
+     * Delivers payload (serialized to JSON) to subscribers of destination, e.g. /topic/project/7.
+     */
+    void publish(String destination, Object payload);
+
+    /**
+     * Delivers payload to one user's sessions, e.g. destination /queue/unread for /user/queue/unread.
+     */
+    default void publishToUser(String user, String destination, Object payload) {
+        // Resolved to the user's sessions by the user destination handler of whichever instance they are on
+        publish("/user/" + user.replace("/", "%2F") + destination, payload);
+    }
+
+    /**
+     * Topic a project's chat is broadcast on.
+     */
+    static String projectTopic(Long projectId) {
+        return "/topic/project/" + projectId;
+    }
+}
@@ -0,0 +1,147 @@
+package com.campusconnect.chat;
+
+import com.campusconnect.entity.User;
+import com.campusconnect.event.ProjectMembershipChangedEvent;
+import com.campusconnect.repository.ProjectMemberRepository;
+import com.campusconnect.repository.UserRepository;
+import com.campusconnect.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Who is behind each STOMP session and which projects they belong to, for authorizing SUBSCRIBE
+ * and SEND frames, and each project message sent out to a session, without a query per frame.
+ *
+ * Loaded once per session at CONNECT (two queries: the user and their project ids) and dropped at
+ * disconnect. Membership changes made on this instance are applied to the open sessions of that
+ * user as they commit; changes made on another instance (chat.fanout=db) are picked up when the
+ * session's entry is older than the TTL and is reloaded.
+ */
+@Component
+public class ChatMembershipCache {
+
+    /**
+     * A session's user as seen by chat: who sends, and which project topics they may use.
+     */
+    public record ChatMember(UserPrincipal principal, Set<Long> projectIds, long loadedAt) {
+
+        public boolean isMemberOf(Long projectId) {
+            return projectIds.contains(projectId);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final long ttlMillis;
+
+    // STOMP session id -> member
+    private final Map<String, ChatMember> sessions = new ConcurrentHashMap<>();
+
+    public ChatMembershipCache(UserRepository userRepository,
+                               ProjectMemberRepository projectMemberRepository,
+                               @Value("${chat.membership.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.projectMemberRepository = projectMemberRepository;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    // -------------------------------
+    // SESSIONS
+    // -------------------------------
+    /**
+     * Loads the memberships of the user connecting as sessionId. Throws SecurityException for an
+     * unknown user.
+     */
+    public ChatMember connect(String sessionId, String email) {
+        ChatMember member = load(email);
+        sessions.put(sessionId, member);
+        return member;
+    }
+
+    /**
+     * The sender for a frame on sessionId to projectId. Throws SecurityException when the user is
+     * not a member of the project.
+     */
+    public UserPrincipal requireMember(String sessionId, String email, Long projectId) {
+        ChatMember member = member(sessionId, email);
+        if (!member.isMemberOf(projectId)) {
+            throw new SecurityException("Not a member of project " + projectId);
+        }
+        return member.principal();
+    }
+
+    /**
+     * The projects of the user on sessionId.
+     */
+    public Set<Long> projectIds(String sessionId, String email) {
+        return Set.copyOf(member(sessionId, email).projectIds());
+    }
+
+    /**
+     * Whether a message of projectId may still be sent to sessionId. Checked for every outgoing
+     * project message, so removing a member also ends subscriptions made before the removal.
+     * A closed or unknown session gets nothing.
+     */
+    public boolean mayReceive(String sessionId, Long projectId) {
+        ChatMember member = sessions.get(sessionId);
+        if (member == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - member.loadedAt() > ttlMillis) {
+            member = member(sessionId, member.principal().getUsername());
+        }
+        return member.isMemberOf(projectId);
+    }
+
+    private ChatMember member(String sessionId, String email) {
+        ChatMember member = sessions.get(sessionId);
+        if (member == null) {
+            // Not registered at CONNECT; check without keeping it, as no disconnect would remove it
+            member = load(email);
+        } else if (System.currentTimeMillis() - member.loadedAt() > ttlMillis) {
+            ChatMember reloaded = load(email);
+            // Unless the session closed meanwhile
+            sessions.replace(sessionId, member, reloaded);
+            member = reloaded;
+        }
+        return member;
+    }
+
+    private ChatMember load(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new SecurityException("Unknown user"));
+        Set<Long> projectIds = ConcurrentHashMap.newKeySet();
+        projectIds.addAll(projectMemberRepository.findProjectIdsByUserId(user.getUserId()));
+        return new ChatMember(UserPrincipal.create(user), projectIds, System.currentTimeMillis());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    // -------------------------------
+    // INVALIDATION
+    // -------------------------------
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        for (ChatMember member : sessions.values()) {
+            if (!member.principal().getId().equals(event.getUserId())) {
+                continue;
+            }
+            if (event.isMember()) {
+                member.projectIds().add(event.getProjectId());
+            } else {
+                member.projectIds().remove(event.getProjectId());
+            }
+        }
+    }
+}
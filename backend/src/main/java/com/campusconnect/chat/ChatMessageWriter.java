@@ -0,0 +1,196 @@
+package com.campusconnect.chat;
+
+import com.campusconnect.entity.MessageChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind store for chat messages (chat.write-behind.enabled).
+ *
+ * Messages already carry their id (MessageIdGenerator), so they can be broadcast before they are
+ * written. They are queued here and a single background thread inserts whatever has accumulated
+ * as one multi-row batch (rewriteBatchedStatements), so a burst of chat costs a few round trips
+ * instead of one per message. Each message's future completes once its batch has committed; the
+ * caller decides whether to wait for it (chat.write-behind.durability=FLUSH_BEFORE_ACK) or not
+ * (ASYNC).
+ *
+ * Each batch also appends the messages' CREATED entries to the chat change log (MessageChangeLog),
+ * in the same transaction, with the message id as seq.
+ *
+ * The queue is bounded: when it is full the sender waits briefly and then writes its message
+ * itself, so a slow database slows senders down instead of growing memory. On shutdown the
+ * writer stops taking new messages and drains what is queued.
+ */
+@Component
+public class ChatMessageWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessageWriter.class);
+
+    private static final String INSERT_MESSAGE =
+            "INSERT INTO messages (message_id, project_id, sender_id, content, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * A message waiting to be written; written completes when it is committed.
+     */
+    public record PendingMessage(long messageId, Long projectId, Long senderId, String content,
+                                 LocalDateTime createdAt, CompletableFuture<Void> written) {
+
+        public PendingMessage(long messageId, Long projectId, Long senderId, String content, LocalDateTime createdAt) {
+            this(messageId, projectId, senderId, content, createdAt, new CompletableFuture<>());
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingMessage> queue;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ChatMessageWriter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${chat.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${chat.write-behind.batch-size:200}") int batchSize,
+                             @Value("${chat.write-behind.enqueue-timeout-ms:500}") long enqueueTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        // REQUIRES_NEW: an inline write may come from a thread that is already in a transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+    }
+
+    /**
+     * Queues a message for the next batch, or writes it on the calling thread when the queue stays
+     * full (or the writer is stopped). Returns the message's written future either way.
+     */
+    public CompletableFuture<Void> submit(PendingMessage message) {
+        try {
+            if (running && queue.offer(message, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return message.written();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.warn("Chat write queue full or stopped, writing message {} inline", message.messageId());
+        insert(List.of(message));
+        return message.written();
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    // -------------------------------
+    // WORKER LOOP
+    // -------------------------------
+    private void drainLoop() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                // Treat an interrupt as a stop request but keep draining what is left
+                running = false;
+            } catch (Exception e) {
+                logger.error("Chat write batch failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void insert(List<PendingMessage> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_MESSAGE, batch, batch.size(), (ps, message) -> {
+                    ps.setLong(1, message.messageId());
+                    ps.setLong(2, message.projectId());
+                    ps.setObject(3, message.senderId());
+                    ps.setString(4, message.content());
+                    ps.setTimestamp(5, Timestamp.valueOf(message.createdAt()));
+                });
+                jdbcTemplate.batchUpdate(MessageChangeLog.INSERT_CHANGE, batch, batch.size(), (ps, message) -> {
+                    ps.setLong(1, message.messageId());
+                    ps.setLong(2, message.projectId());
+                    ps.setString(3, MessageChange.Kind.CREATED.name());
+                    ps.setLong(4, message.messageId());
+                    ps.setTimestamp(5, Timestamp.valueOf(message.createdAt()));
+                });
+            });
+            batch.forEach(message -> message.written().complete(null));
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                // e.g. the project was deleted while the message was queued
+                logger.warn("Failed to write chat message {}: {}", batch.get(0).messageId(), e.getMessage());
+                batch.get(0).written().completeExceptionally(e);
+                return;
+            }
+            // Retry one by one so a single bad row does not drop the whole batch
+            for (PendingMessage message : batch) {
+                insert(List.of(message));
+            }
+        }
+    }
+
+    // -------------------------------
+    // LIFECYCLE
+    // -------------------------------
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "chat-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        // Stop accepting work, let the loop drain the queue, then wait for it
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Anything that slipped in while the loop was finishing
+        List<PendingMessage> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            logger.info("Writing {} chat messages queued at shutdown", left.size());
+            insert(left);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,276 @@
+package com.campusconnect.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Multi-instance fan-out through a shared table (chat_fanout_events), for running several
+ * backend instances without an external broker; any database they all reach will do, so N
+ * instances on one machine can be tested against a local MySQL.
+ *
+ * publish delivers to this instance's clients at once and appends the message to the log; every
+ * instance polls the log for rows after the last one it has seen and delivers those published
+ * elsewhere. IDENTITY values are handed out before commit, so a row can become visible after a
+ * higher one: missing seq values are remembered and looked for again on every poll until they
+ * have been looked for over the grace period, and only then written off as rolled back. Only the
+ * last poll-batch-size values before the newest row are waited for, and none when the log was
+ * empty at startup (pruned after a quiet period, while IDENTITY carries on from far above 0).
+ * Rows older than the retention are pruned.
+ *
+ * Polling runs on its own thread rather than the shared scheduler, so the other scheduled jobs
+ * (leaderboards, pruning, ...) cannot hold relayed messages back.
+ *
+ * Message ids and change log seqs are only unique across instances if each has its own
+ * chat.node-id, so in this mode the property must be set, and the id is claimed in chat_nodes at
+ * startup: an instance finding it held by another live instance refuses to start. The claim is a
+ * lease renewed from the poll thread; one not renewed for chat.fanout.node-lease-ms (a crashed
+ * instance) can be taken over.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.fanout", havingValue = "db")
+public class DbPollingChatFanout implements ChatFanout, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbPollingChatFanout.class);
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO chat_fanout_events (origin, destination, payload, created_at) VALUES (?, ?, ?, ?)";
+    static final String SELECT_AFTER =
+            "SELECT seq, origin, destination, payload FROM chat_fanout_events WHERE seq > ? ORDER BY seq LIMIT ?";
+    static final String SELECT_RANGE =
+            "SELECT seq, origin, destination, payload FROM chat_fanout_events WHERE seq BETWEEN ? AND ? ORDER BY seq";
+    private static final String CLAIM_NODE =
+            "INSERT INTO chat_nodes (node_id, origin, heartbeat_at) VALUES (?, ?, ?)";
+    private static final String TAKE_OVER_NODE =
+            "UPDATE chat_nodes SET origin = ?, heartbeat_at = ? WHERE node_id = ? AND heartbeat_at < ?";
+    private static final String RENEW_NODE =
+            "UPDATE chat_nodes SET heartbeat_at = ? WHERE node_id = ? AND origin = ?";
+    private static final Map<String, Object> JSON_HEADERS =
+            Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON);
+
+    record Row(long seq, String origin, String destination, String payload) {
+    }
+
+    private static final RowMapper<Row> ROW_MAPPER =
+            (rs, i) -> new Row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long gapGracePolls;
+    private final long retentionMillis;
+    private final int nodeId;
+    private final long nodeLeaseMillis;
+
+    // Identifies this process in the log; a restart is a new origin
+    private final String origin = UUID.randomUUID().toString();
+
+    // Highest seq seen, and lower seq values not seen yet -> poll that first missed them (poll thread only)
+    private long lastSeq;
+    private long polls;
+    private long renewedAt;
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    private volatile boolean running;
+    private Thread poller;
+
+    public DbPollingChatFanout(SimpMessagingTemplate messagingTemplate,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${chat.fanout.poll-interval-ms:200}") long pollIntervalMillis,
+                               @Value("${chat.fanout.poll-batch-size:500}") int batchSize,
+                               @Value("${chat.fanout.gap-grace-ms:5000}") long gapGraceMillis,
+                               @Value("${chat.fanout.retention-ms:600000}") long retentionMillis,
+                               @Value("${chat.node-id:#{null}}") Integer nodeId,
+                               @Value("${chat.fanout.node-lease-ms:30000}") long nodeLeaseMillis) {
+        if (nodeId == null) {
+            throw new IllegalStateException("chat.fanout=db needs chat.node-id set to a value unique to each instance");
+        }
+        this.messagingTemplate = messagingTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.pollIntervalMillis = Math.max(1, pollIntervalMillis);
+        this.batchSize = batchSize;
+        // Polls are at least an interval apart, so this many lookups cover the grace period
+        this.gapGracePolls = Math.max(1, (gapGraceMillis + this.pollIntervalMillis - 1) / this.pollIntervalMillis);
+        this.retentionMillis = retentionMillis;
+        this.nodeId = nodeId;
+        this.nodeLeaseMillis = nodeLeaseMillis;
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        try {
+            jdbcTemplate.update(INSERT_EVENT, origin, destination, objectMapper.writeValueAsString(payload),
+                    Timestamp.valueOf(LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize broker message", e);
+        } catch (RuntimeException e) {
+            // Local clients already have it; only other instances miss this one
+            logger.warn("Could not relay message for {} to other instances: {}", destination, e.getMessage());
+        }
+    }
+
+    // -------------------------------
+    // POLLING
+    // -------------------------------
+    private void pollLoop() {
+        while (running) {
+            try {
+                renewNodeIfDue();
+                poll();
+            } catch (RuntimeException e) {
+                logger.warn("Chat fan-out poll failed: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    void poll() {
+        long poll = ++polls;
+
+        // Late commits filling earlier gaps; a gap is only given up after it has been looked for
+        // here often enough, however long the polls themselves took
+        if (!gaps.isEmpty()) {
+            for (Row row : jdbcTemplate.query(SELECT_RANGE, ROW_MAPPER, gaps.firstKey(), gaps.lastKey())) {
+                if (gaps.remove(row.seq()) != null) {
+                    deliver(row);
+                }
+            }
+            gaps.values().removeIf(firstMissed -> poll - firstMissed >= gapGracePolls);
+        }
+        // New rows; before the first one after an empty start there is nothing to measure gaps from
+        for (Row row : jdbcTemplate.query(SELECT_AFTER, ROW_MAPPER, Math.max(lastSeq, 0), batchSize)) {
+            if (lastSeq >= 0) {
+                for (long missing = Math.max(lastSeq + 1, row.seq() - batchSize); missing < row.seq(); missing++) {
+                    gaps.put(missing, poll);
+                }
+            }
+            lastSeq = row.seq();
+            deliver(row);
+        }
+        // Anything a whole batch behind is treated as lost
+        gaps.headMap(lastSeq - batchSize).clear();
+    }
+
+    // -------------------------------
+    // NODE ID
+    // -------------------------------
+    private void claimNode() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            jdbcTemplate.update(CLAIM_NODE, nodeId, origin, Timestamp.valueOf(now));
+        } catch (DuplicateKeyException e) {
+            // Held before: only take it over if its holder stopped renewing it
+            Timestamp expired = Timestamp.valueOf(now.minusNanos(nodeLeaseMillis * 1_000_000));
+            if (jdbcTemplate.update(TAKE_OVER_NODE, origin, Timestamp.valueOf(now), nodeId, expired) == 0) {
+                throw new IllegalStateException("chat.node-id " + nodeId
+                        + " is in use by another running instance; give each instance its own chat.node-id");
+            }
+        }
+        renewedAt = System.currentTimeMillis();
+    }
+
+    private void renewNodeIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - renewedAt < nodeLeaseMillis / 3) {
+            return;
+        }
+        if (jdbcTemplate.update(RENEW_NODE, Timestamp.valueOf(LocalDateTime.now()), nodeId, origin) == 0) {
+            logger.error("chat.node-id {} was taken over by another instance after this one stopped renewing it; "
+                    + "message ids may collide", nodeId);
+        }
+        renewedAt = now;
+    }
+
+    private void deliver(Row row) {
+        if (origin.equals(row.origin())) {
+            return; // delivered locally when published
+        }
+        try {
+            messagingTemplate.convertAndSend(row.destination(),
+                    row.payload().getBytes(StandardCharsets.UTF_8), JSON_HEADERS);
+        } catch (RuntimeException e) {
+            logger.warn("Could not deliver relayed message {} to {}: {}", row.seq(), row.destination(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.fanout.prune-interval-ms:60000}")
+    public void prune() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusNanos(retentionMillis * 1_000_000));
+        int removed = jdbcTemplate.update("DELETE FROM chat_fanout_events WHERE created_at < ?", cutoff);
+        if (removed > 0) {
+            logger.debug("Pruned {} chat fan-out events", removed);
+        }
+    }
+
+    // -------------------------------
+    // LIFECYCLE
+    // -------------------------------
+    @Override
+    public void start() {
+        claimNode();
+        startFromEndOfLog();
+        logger.info("Chat fan-out via database as node {} ({}) from seq {}", nodeId, origin, lastSeq);
+
+        running = true;
+        poller = new Thread(this::pollLoop, "chat-fanout-poll");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    // Clients load history over REST, not from here. An empty log says nothing about where IDENTITY
+    // is, so -1 marks that the next row seen is the starting point
+    void startFromEndOfLog() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM chat_fanout_events", Long.class);
+        lastSeq = max != null ? max : -1;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+            try {
+                poller.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Free the node id for a restart without waiting for the lease to run out
+        try {
+            jdbcTemplate.update("DELETE FROM chat_nodes WHERE node_id = ? AND origin = ?", nodeId, origin);
+        } catch (RuntimeException e) {
+            logger.warn("Could not release chat.node-id {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
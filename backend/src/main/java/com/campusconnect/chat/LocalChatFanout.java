@@ -0,0 +1,24 @@
+package com.campusconnect.chat;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-instance fan-out: straight to the in-memory broker of this instance.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.fanout", havingValue = "local", matchIfMissing = true)
+public class LocalChatFanout implements ChatFanout {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public LocalChatFanout(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
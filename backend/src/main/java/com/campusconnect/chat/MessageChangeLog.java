@@ -0,0 +1,155 @@
+package com.campusconnect.chat;
+
+import com.campusconnect.dto.MessageChangeDto;
+import com.campusconnect.dto.MessageDto;
+import com.campusconnect.dto.MessageSyncDto;
+import com.campusconnect.entity.MessageChange;
+import com.campusconnect.repository.MessageChangeRepository;
+import com.campusconnect.repository.MessageChangeView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of chat changes (message_changes), read by reconnecting clients to catch up on
+ * what they missed instead of reloading every history.
+ *
+ * Each change gets a seq from MessageIdGenerator: time-ordered across instances and known before
+ * it is written, so broadcasts carry it and clients can use the last one they saw as their cursor.
+ * Messages written behind log their creation in the same batch (ChatMessageWriter, seq = message
+ * id); others are appended here. A sync reads only the changes after the cursor, one index range
+ * per project, plus those of the last few seconds before it, which another instance or a late
+ * commit may have added after the client saw a higher seq. Entries older than the retention are
+ * pruned; a cursor older than that is told to reset.
+ */
+@Component
+public class MessageChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageChangeLog.class);
+
+    static final String INSERT_CHANGE =
+            "INSERT INTO message_changes (seq, project_id, kind, message_id, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageChangeRepository messageChangeRepository;
+    private final MessageIdGenerator messageIdGenerator;
+    private final int pageSize;
+    private final long overlapMillis;
+    private final long retentionMillis;
+
+    public MessageChangeLog(JdbcTemplate jdbcTemplate,
+                            MessageChangeRepository messageChangeRepository,
+                            MessageIdGenerator messageIdGenerator,
+                            @Value("${chat.sync.page-size:500}") int pageSize,
+                            @Value("${chat.sync.overlap-ms:2000}") long overlapMillis,
+                            @Value("${chat.sync.retention-days:30}") long retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messageChangeRepository = messageChangeRepository;
+        this.messageIdGenerator = messageIdGenerator;
+        this.pageSize = pageSize;
+        this.overlapMillis = overlapMillis;
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+    }
+
+    // -------------------------------
+    // APPENDS
+    // -------------------------------
+    /**
+     * Logs a message saved outside the write-behind path; returns its seq.
+     */
+    public long appendCreated(Long projectId, Long messageId) {
+        return append(projectId, MessageChange.Kind.CREATED, messageId);
+    }
+
+    public long appendDeleted(Long projectId, Long messageId) {
+        return append(projectId, MessageChange.Kind.DELETED, messageId);
+    }
+
+    private long append(Long projectId, MessageChange.Kind kind, Long messageId) {
+        long seq = messageIdGenerator.nextId();
+        jdbcTemplate.update(INSERT_CHANGE, seq, projectId, kind.name(), messageId,
+                Timestamp.valueOf(LocalDateTime.now()));
+        return seq;
+    }
+
+    // -------------------------------
+    // SYNC
+    // -------------------------------
+    /**
+     * Changes to projectIds after since, oldest first, at most one page. Without since, returns
+     * only a cursor to start from (load history first, then sync from it).
+     */
+    public MessageSyncDto changesSince(Collection<Long> projectIds, Long since) {
+        long now = System.currentTimeMillis();
+        if (since == null) {
+            return new MessageSyncDto(List.of(), MessageIdGenerator.lowestIdAt(now), false, false);
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (since < MessageIdGenerator.lowestIdAt(now - retentionMillis)) {
+            return new MessageSyncDto(List.of(), MessageIdGenerator.lowestIdAt(now), false, true);
+        }
+        if (projectIds.isEmpty()) {
+            return new MessageSyncDto(List.of(), since, false, false);
+        }
+
+        // Just before the cursor: changes that became visible after the client saw since
+        long rewound = MessageIdGenerator.lowestIdAt(MessageIdGenerator.timestampOf(since) - overlapMillis);
+        List<MessageChangeView> late = messageChangeRepository.findChanges(
+                projectIds, rewound, since, PageRequest.of(0, pageSize));
+        // After it; one extra row tells whether there is another page
+        List<MessageChangeView> after = messageChangeRepository.findChanges(
+                projectIds, since, Long.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = after.size() > pageSize;
+        if (hasMore) {
+            after = after.subList(0, pageSize);
+        }
+
+        List<MessageChangeDto> changes = new ArrayList<>(late.size() + after.size());
+        late.forEach(change -> addChange(changes, change));
+        after.forEach(change -> addChange(changes, change));
+        long cursor = after.isEmpty() ? since : after.get(after.size() - 1).getSeq();
+        return new MessageSyncDto(changes, cursor, hasMore, false);
+    }
+
+    private static void addChange(List<MessageChangeDto> changes, MessageChangeView change) {
+        MessageDto message = null;
+        if (change.getKind() == MessageChange.Kind.CREATED) {
+            if (change.getContent() == null) {
+                return; // deleted since; its DELETED entry follows
+            }
+            message = MessageDto.builder()
+                    .messageId(change.getMessageId())
+                    .projectId(change.getProjectId())
+                    .senderId(change.getSenderId())
+                    .senderName(change.getSenderName() != null ? change.getSenderName() : "Unknown")
+                    .content(change.getContent())
+                    .createdAt(change.getCreatedAt() != null ? change.getCreatedAt().toString() : null)
+                    .seq(change.getSeq())
+                    .build();
+        }
+        changes.add(new MessageChangeDto(change.getSeq(), change.getProjectId(), change.getKind().name(),
+                change.getMessageId(), message));
+    }
+
+    @Scheduled(fixedDelayString = "${chat.sync.prune-interval-ms:3600000}")
+    public void prune() {
+        long before = MessageIdGenerator.lowestIdAt(System.currentTimeMillis() - retentionMillis);
+        int removed = jdbcTemplate.update("DELETE FROM message_changes WHERE seq < ?", before);
+        if (removed > 0) {
+            logger.info("Pruned {} chat change log entries", removed);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.campusconnect.chat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Time-ordered message ids generated in process, so a message can be broadcast before it is written.
+ *
+ * Layout (53 bits, exact as a JavaScript number): milliseconds since 2024-01-01 (41 bits),
+ * node id (4 bits), per-millisecond sequence (8 bits). Ids only grow, which keeps them usable as
+ * the message_id history cursor, and they start far above the IDENTITY values already in the
+ * table. Each instance writing chat messages needs its own chat.node-id (checked at startup
+ * with chat.fanout=db, see DbPollingChatFanout).
+ */
+@Component
+public class MessageIdGenerator {
+
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 4;
+    private static final int SEQUENCE_BITS = 8;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+
+    private long lastMillis = -1;
+    private long sequence;
+
+    public MessageIdGenerator(@Value("${chat.node-id:0}") int nodeId) {
+        if (nodeId < 0 || nodeId >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("chat.node-id must be between 0 and " + ((1 << NODE_BITS) - 1));
+        }
+        this.node = nodeId;
+    }
+
+    public synchronized long nextId() {
+        long now = currentTimeMillis();
+        if (now < lastMillis) {
+            // Clock stepped back: keep counting on the last millisecond instead of reusing ids
+            now = lastMillis;
+        }
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                now = waitForNextMillis(lastMillis);
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return ((now - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Smallest id any node can generate at epochMillis, for turning a time into an id bound.
+     */
+    public static long lowestIdAt(long epochMillis) {
+        return Math.max(0, epochMillis - EPOCH) << (NODE_BITS + SEQUENCE_BITS);
+    }
+
+    /**
+     * Time an id was generated at.
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    private long waitForNextMillis(long last) {
+        long now = currentTimeMillis();
+        while (now <= last) {
+            Thread.onSpinWait();
+            now = currentTimeMillis();
+        }
+        return now;
+    }
+
+    // Overridden by tests to step the clock
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
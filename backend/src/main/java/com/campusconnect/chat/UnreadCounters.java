@@ -0,0 +1,278 @@
+package com.campusconnect.chat;
+
+import com.campusconnect.dto.UnreadCountDto;
+import com.campusconnect.event.MessageSentEvent;
+import com.campusconnect.event.ProjectMembershipChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unread chat messages per user and project, kept in memory for the users who asked recently.
+ *
+ * A user's counters are loaded with one query the first time they are needed (messages by others
+ * newer than the user's read marker, for every project they belong to), then incremented on each
+ * send to those projects and reset when the user reads; every change is pushed to the user on
+ * /user/queue/unread. Read markers are updated in memory and written to message_read_markers in
+ * batches, moving only forward. Counters are reloaded after a TTL, which also bounds how long
+ * sends made through another instance (chat.fanout=db) take to show up, and dropped when the
+ * user's memberships change.
+ */
+@Component
+public class UnreadCounters implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadCounters.class);
+
+    private static final String LOAD_COUNTS =
+            "SELECT pm.project_id, COALESCE(r.last_read_message_id, 0), "
+                    + "(SELECT COUNT(*) FROM messages m WHERE m.project_id = pm.project_id "
+                    + "AND m.message_id > COALESCE(r.last_read_message_id, 0) "
+                    + "AND (m.sender_id IS NULL OR m.sender_id <> pm.user_id)) "
+                    + "FROM project_members pm LEFT JOIN message_read_markers r "
+                    + "ON r.user_id = pm.user_id AND r.project_id = pm.project_id "
+                    + "WHERE pm.user_id = ?";
+    private static final String COUNT_AFTER =
+            "SELECT COUNT(*) FROM messages WHERE project_id = ? AND message_id > ? "
+                    + "AND (sender_id IS NULL OR sender_id <> ?)";
+    private static final String UPSERT_MARKER =
+            "INSERT INTO message_read_markers (user_id, project_id, last_read_message_id, updated_at) "
+                    + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+                    + "last_read_message_id = GREATEST(last_read_message_id, VALUES(last_read_message_id)), "
+                    + "updated_at = VALUES(updated_at)";
+
+    private record MarkerKey(Long userId, Long projectId) {
+    }
+
+    private static final class ProjectUnread {
+        long unread;
+        long lastReadMessageId;
+
+        ProjectUnread(long unread, long lastReadMessageId) {
+            this.unread = unread;
+            this.lastReadMessageId = lastReadMessageId;
+        }
+    }
+
+    private record UserUnread(Long userId, String email, Map<Long, ProjectUnread> projects, long loadedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatFanout chatFanout;
+    private final long ttlMillis;
+
+    private final Map<Long, UserUnread> users = new ConcurrentHashMap<>();
+    // Project -> loaded users belonging to it, to find whose counters a send touches
+    private final Map<Long, Set<Long>> usersByProject = new ConcurrentHashMap<>();
+    // Newest message id sent per project, for reads up to the latest message
+    private final Map<Long, Long> latestMessageIds = new ConcurrentHashMap<>();
+    // Markers not written yet
+    private final Map<MarkerKey, Long> pendingMarkers = new ConcurrentHashMap<>();
+
+    public UnreadCounters(JdbcTemplate jdbcTemplate,
+                          ChatFanout chatFanout,
+                          @Value("${chat.unread.ttl-seconds:60}") long ttlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatFanout = chatFanout;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    // -------------------------------
+    // READS
+    // -------------------------------
+    public List<UnreadCountDto> getUnreadCounts(Long userId, String email) {
+        UserUnread user = loaded(userId, email);
+        List<UnreadCountDto> counts = new ArrayList<>(user.projects().size());
+        user.projects().forEach((projectId, project) -> counts.add(toDto(projectId, project)));
+        counts.sort(Comparator.comparing(UnreadCountDto::getProjectId));
+        return counts;
+    }
+
+    /**
+     * Marks projectId read up to messageId (at most its latest message), or up to its latest
+     * message when messageId is null.
+     * The caller has checked membership.
+     */
+    public UnreadCountDto markRead(Long userId, String email, Long projectId, Long messageId) {
+        ProjectUnread project = loaded(userId, email).projects().get(projectId);
+        if (project == null) {
+            // Joined after the counters were loaded
+            evict(userId);
+            project = loaded(userId, email).projects().get(projectId);
+            if (project == null) {
+                throw new IllegalArgumentException("Not a member of project " + projectId);
+            }
+        }
+        // Clamped so an id past the end (e.g. a seq sent instead of a message id) cannot mark
+        // messages not yet sent as read: the marker never moves back
+        long latest = latestMessageId(projectId);
+        long readUpTo = messageId != null ? Math.min(messageId, latest) : latest;
+        UnreadCountDto result;
+        synchronized (project) {
+            if (readUpTo > project.lastReadMessageId) {
+                project.lastReadMessageId = readUpTo;
+                project.unread = messageId == null ? 0 : countAfter(projectId, readUpTo, userId);
+                pendingMarkers.merge(new MarkerKey(userId, projectId), readUpTo, Math::max);
+            }
+            result = toDto(projectId, project);
+        }
+        chatFanout.publishToUser(email, "/queue/unread", result);
+        return result;
+    }
+
+    private long latestMessageId(Long projectId) {
+        Long stored = jdbcTemplate.queryForObject(
+                "SELECT MAX(message_id) FROM messages WHERE project_id = ?", Long.class, projectId);
+        // Write-behind messages may not be stored yet
+        return Math.max(stored != null ? stored : 0, latestMessageIds.getOrDefault(projectId, 0L));
+    }
+
+    private long countAfter(Long projectId, long messageId, Long userId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_AFTER, Long.class, projectId, messageId, userId);
+        return count != null ? count : 0;
+    }
+
+    private static UnreadCountDto toDto(Long projectId, ProjectUnread project) {
+        synchronized (project) {
+            return new UnreadCountDto(projectId, project.unread, project.lastReadMessageId);
+        }
+    }
+
+    // -------------------------------
+    // LOADING
+    // -------------------------------
+    private UserUnread loaded(Long userId, String email) {
+        UserUnread user = users.get(userId);
+        if (user != null && System.currentTimeMillis() - user.loadedAt() < ttlMillis) {
+            return user;
+        }
+        if (user != null) {
+            evict(userId);
+        }
+        UserUnread fresh = load(userId, email);
+        users.put(userId, fresh);
+        for (Long projectId : fresh.projects().keySet()) {
+            // Atomic with evict's removal of emptied sets
+            usersByProject.compute(projectId, (id, members) -> {
+                Set<Long> updated = members != null ? members : ConcurrentHashMap.newKeySet();
+                updated.add(userId);
+                return updated;
+            });
+        }
+        return fresh;
+    }
+
+    private UserUnread load(Long userId, String email) {
+        Map<Long, ProjectUnread> projects = new ConcurrentHashMap<>();
+        jdbcTemplate.query(LOAD_COUNTS, rs -> {
+            projects.put(rs.getLong(1), new ProjectUnread(rs.getLong(3), rs.getLong(2)));
+        }, userId);
+        // Reads not written yet are newer than what was just loaded
+        projects.forEach((projectId, project) -> {
+            Long pending = pendingMarkers.get(new MarkerKey(userId, projectId));
+            if (pending != null && pending > project.lastReadMessageId) {
+                project.lastReadMessageId = pending;
+                project.unread = countAfter(projectId, pending, userId);
+            }
+        });
+        return new UserUnread(userId, email, projects, System.currentTimeMillis());
+    }
+
+    private void evict(Long userId) {
+        UserUnread user = users.remove(userId);
+        if (user == null) {
+            return;
+        }
+        for (Long projectId : user.projects().keySet()) {
+            usersByProject.computeIfPresent(projectId, (id, members) -> {
+                members.remove(userId);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+
+    // -------------------------------
+    // UPDATES
+    // -------------------------------
+    @EventListener
+    public void onMessageSent(MessageSentEvent event) {
+        latestMessageIds.merge(event.getProjectId(), event.getMessageId(), Math::max);
+        Set<Long> members = usersByProject.get(event.getProjectId());
+        if (members == null) {
+            return;
+        }
+        for (Long userId : members) {
+            if (userId.equals(event.getSenderId())) {
+                continue;
+            }
+            UserUnread user = users.get(userId);
+            ProjectUnread project = user != null ? user.projects().get(event.getProjectId()) : null;
+            if (project == null) {
+                continue;
+            }
+            UnreadCountDto update;
+            synchronized (project) {
+                if (event.getMessageId() <= project.lastReadMessageId) {
+                    continue;
+                }
+                project.unread++;
+                update = new UnreadCountDto(event.getProjectId(), project.unread, project.lastReadMessageId);
+            }
+            chatFanout.publishToUser(user.email(), "/queue/unread", update);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    // -------------------------------
+    // FLUSHING
+    // -------------------------------
+    @Scheduled(fixedDelayString = "${chat.unread.flush-interval-ms:5000}")
+    public void flush() {
+        // Counters past their TTL are reloaded on next use anyway; drop them so idle users cost nothing
+        long now = System.currentTimeMillis();
+        for (UserUnread user : List.copyOf(users.values())) {
+            if (now - user.loadedAt() >= ttlMillis) {
+                evict(user.userId());
+            }
+        }
+        if (pendingMarkers.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<MarkerKey, Long>> batch = new ArrayList<>(Map.copyOf(pendingMarkers).entrySet());
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_MARKER, batch, batch.size(), (ps, marker) -> {
+                ps.setLong(1, marker.getKey().userId());
+                ps.setLong(2, marker.getKey().projectId());
+                ps.setLong(3, marker.getValue());
+                ps.setTimestamp(4, updatedAt);
+            });
+        } catch (RuntimeException e) {
+            // Kept pending for the next flush
+            logger.warn("Failed to write {} read markers: {}", batch.size(), e.getMessage());
+            return;
+        }
+        // Unless a newer read came in meanwhile
+        batch.forEach(marker -> pendingMarkers.remove(marker.getKey(), marker.getValue()));
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+}
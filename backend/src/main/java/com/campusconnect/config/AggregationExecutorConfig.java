@@ -0,0 +1,31 @@
+package com.campusconnect.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for the aggregate read endpoints (professor profile, ...), which run their few
+ * independent queries side by side. Bounded in threads and queue so a burst cannot take every
+ * database connection; when full, the request thread runs the query itself.
+ */
+@Configuration
+public class AggregationExecutorConfig {
+
+    @Bean(name = "aggregationExecutor", destroyMethod = "shutdown")
+    public ExecutorService aggregationExecutor(@Value("${aggregation.threads:4}") int threads,
+                                               @Value("${aggregation.queue-capacity:200}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "aggregation-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
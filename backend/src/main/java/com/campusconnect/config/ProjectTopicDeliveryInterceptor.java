@@ -0,0 +1,41 @@
+package com.campusconnect.config;
+
+import com.campusconnect.chat.ChatMembershipCache;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outbound counterpart of WebSocketAuthInterceptor: drops a project topic message on its way to a
+ * session whose user is no longer a member of the project. SUBSCRIBE is only checked once, so
+ * without this a member removed while subscribed would keep receiving the project's chat until
+ * they reconnect. The check reads ChatMembershipCache, which removals update as they commit.
+ */
+@Component
+public class ProjectTopicDeliveryInterceptor implements ChannelInterceptor {
+
+    private final ChatMembershipCache membershipCache;
+
+    public ProjectTopicDeliveryInterceptor(ChatMembershipCache membershipCache) {
+        this.membershipCache = membershipCache;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        Long projectId = WebSocketAuthInterceptor.projectIdOf(SimpMessageHeaderAccessor.getDestination(headers));
+        if (projectId == null) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        return sessionId != null && membershipCache.mayReceive(sessionId, projectId) ? message : null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.campusconnect.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs (periodic cache recomputes, flushes).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -68,11 +68,16 @@ public class SecurityConfig {
                     "/api/courses/{id}",         // GET course by ID (public)
                     "/api/course-details",       // GET all course details (public) - GET only
                     "/api/course-details/{id}",  // GET course detail by ID (public)
+                    "/api/course-details/{id}/overview",          // GET course page aggregate (public)
+                    "/api/course-details/{id}/prerequisite-tree", // GET prerequisite chain (public)
+                    "/api/course-details/{id}/dependents",        // GET dependent courses (public)
                     "/api/course-details/professor/{professorId}", // GET course details by professor (public)
                     "/api/course-details/university/{universityId}", // GET course details by university (public)
                     "/api/course-details/search", // GET search course details (public)
                     "/api/ratings/professor/{id}", // GET ratings by professor (public)
                     "/api/ratings/course/{id}",   // GET ratings by course (public)
+                    "/api/ratings/professor/{id}/trend", // GET rating trend by professor (public)
+                    "/api/ratings/course/{id}/trend",    // GET rating trend by course (public)
                     "/api/users/teammates",       // GET teammates (public for FindTeammates page)
                     "/ws/**"                     // WebSocket endpoint
                 ).permitAll()
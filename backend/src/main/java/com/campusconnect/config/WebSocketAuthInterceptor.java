@@ -1,5 +1,6 @@
 package com.campusconnect.config;
 
+import com.campusconnect.chat.ChatMembershipCache;
 import com.campusconnect.security.JwtUtil;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.Message;
@@ -14,20 +15,32 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.security.Principal;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * WebSocket authentication interceptor that validates JWT tokens
  * for WebSocket connections and sets the security context.
+ * SUBSCRIBE frames are only let through to the destinations the app sends to: a project topic,
+ * for members of that project (checked against the session's memberships loaded at CONNECT,
+ * ChatMembershipCache), and the session's own /user/queue/... destinations. Anything else,
+ * including pattern destinations the simple broker would match against every topic, is refused.
  */
 @Component
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
+    private static final Pattern PROJECT_TOPIC = Pattern.compile("/topic/project/(\\d{1,18})");
+    private static final String USER_QUEUE_PREFIX = "/user/queue/";
+
     private final JwtUtil jwtUtil;
+    private final ChatMembershipCache membershipCache;
 
-    public WebSocketAuthInterceptor(JwtUtil jwtUtil) {
+    public WebSocketAuthInterceptor(JwtUtil jwtUtil, ChatMembershipCache membershipCache) {
         this.jwtUtil = jwtUtil;
+        this.membershipCache = membershipCache;
     }
 
     @Override
@@ -64,6 +77,9 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                             // Set authentication in security context
                             SecurityContextHolder.getContext().setAuthentication(auth);
                             accessor.setUser(auth);
+
+                            // Memberships for authorizing this session's frames
+                            membershipCache.connect(accessor.getSessionId(), username);
                         }
                     } else {
                         // Invalid token - reject connection
@@ -78,8 +94,49 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                 throw new SecurityException("Missing Authorization header");
             }
         }
+
+        if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorizeSubscribe(accessor);
+        }
         
         return message;
     }
+
+    private void authorizeSubscribe(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null || destination.isEmpty()) {
+            throw new SecurityException("Missing subscription destination");
+        }
+        // The simple broker treats these as patterns (/topic/** would match every project)
+        if (destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0) {
+            throw new SecurityException("Pattern destinations are not allowed: " + destination);
+        }
+        Principal user = accessor.getUser();
+        if (user == null) {
+            throw new SecurityException("Not authenticated");
+        }
+
+        // Resolved to this session's own queue by the user destination handler
+        if (destination.startsWith(USER_QUEUE_PREFIX) && destination.length() > USER_QUEUE_PREFIX.length()) {
+            return;
+        }
+        Long projectId = projectIdOf(destination);
+        if (projectId != null) {
+            membershipCache.requireMember(accessor.getSessionId(), user.getName(), projectId);
+            return;
+        }
+        throw new SecurityException("Cannot subscribe to " + destination);
+    }
+
+    /**
+     * Project of a /topic/project/{id} destination, or null for any other destination.
+     */
+    static Long projectIdOf(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher projectTopic = PROJECT_TOPIC.matcher(destination);
+        return projectTopic.matches() ? Long.valueOf(projectTopic.group(1)) : null;
+    }
 }
 
@@ -6,6 +6,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -18,11 +19,18 @@ import java.util.List;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor authInterceptor;
+    private final ProjectTopicDeliveryInterceptor deliveryInterceptor;
+    private final WebSocketSessionMetrics sessionMetrics;
     private final Environment environment;
 
     @Autowired
-    public WebSocketConfig(WebSocketAuthInterceptor authInterceptor, Environment environment) {
+    public WebSocketConfig(WebSocketAuthInterceptor authInterceptor,
+                           ProjectTopicDeliveryInterceptor deliveryInterceptor,
+                           WebSocketSessionMetrics sessionMetrics,
+                           Environment environment) {
         this.authInterceptor = authInterceptor;
+        this.deliveryInterceptor = deliveryInterceptor;
+        this.sessionMetrics = sessionMetrics;
         this.environment = environment;
     }
 
@@ -57,6 +65,36 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
         // Register the authentication interceptor
         registration.interceptors(authInterceptor);
+        // Frames from clients: bounded, so a flood is rejected instead of queued without limit
+        registration.taskExecutor()
+                .corePoolSize(intProperty("websocket.inbound.core-pool-size", 8))
+                .maxPoolSize(intProperty("websocket.inbound.max-pool-size", 32))
+                .queueCapacity(intProperty("websocket.inbound.queue-capacity", 10000));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        // Frames to clients: project messages only reach current members; per-session depth is
+        // tracked by the metrics interceptor, after messages dropped here
+        registration.interceptors(deliveryInterceptor, sessionMetrics);
+        registration.taskExecutor()
+                .corePoolSize(intProperty("websocket.outbound.core-pool-size", 8))
+                .maxPoolSize(intProperty("websocket.outbound.max-pool-size", 32))
+                .queueCapacity(intProperty("websocket.outbound.queue-capacity", 10000));
+    }
+
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
+        // A client that cannot keep up is disconnected once either limit is exceeded,
+        // instead of its pending messages piling up in memory
+        registration.setSendTimeLimit(intProperty("websocket.transport.send-time-limit-ms", 10000))
+                .setSendBufferSizeLimit(intProperty("websocket.transport.send-buffer-size-bytes", 512 * 1024))
+                .setMessageSizeLimit(intProperty("websocket.transport.message-size-limit-bytes", 64 * 1024))
+                .addDecoratorFactory(sessionMetrics::decorate);
+    }
+
+    private int intProperty(String name, int defaultValue) {
+        return environment.getProperty(name, Integer.class, defaultValue);
     }
 }
 
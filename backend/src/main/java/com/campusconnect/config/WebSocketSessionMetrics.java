@@ -0,0 +1,200 @@
+package com.campusconnect.config;
+
+import com.campusconnect.dto.WebSocketMetricsDto;
+import com.campusconnect.dto.WebSocketSessionQueueDto;
+import com.campusconnect.dto.WebSocketSessionStatsDto;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-session outbound queue depth and slow-client counters for the STOMP endpoint.
+ *
+ * A session's depth is the number of messages put on the client outbound channel for it and not
+ * yet written to its socket: what waits in the outbound executor plus what Spring buffers for a
+ * client that reads slowly (bounded by websocket.transport.send-buffer-size-bytes and
+ * send-time-limit-ms; past either limit Spring closes the session, counted here as a slow session
+ * closed along with the messages it still had queued). Registered as an interceptor on the
+ * outbound channel and as a decorator of the WebSocket handler, which sees every write.
+ */
+@Component
+public class WebSocketSessionMetrics implements ChannelInterceptor {
+
+    private static final int TOP_SESSIONS = 10;
+
+    private static final class SessionStats {
+        final String sessionId;
+        final AtomicLong queued = new AtomicLong();
+        final AtomicLong slowSends = new AtomicLong();
+
+        SessionStats(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        long depth() {
+            return Math.max(0, queued.get());
+        }
+    }
+
+    private final long slowSendNanos;
+    // Resolved on demand: the stats bean depends on the broker configuration that uses this class
+    private final ObjectProvider<WebSocketMessageBrokerStats> brokerStats;
+
+    private final Map<String, SessionStats> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong slowSends = new AtomicLong();
+    private final AtomicLong slowSessionsClosed = new AtomicLong();
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    public WebSocketSessionMetrics(ObjectProvider<WebSocketMessageBrokerStats> brokerStats,
+                                   @Value("${websocket.metrics.slow-send-ms:1000}") long slowSendMs) {
+        this.brokerStats = brokerStats;
+        this.slowSendNanos = TimeUnit.MILLISECONDS.toNanos(slowSendMs);
+    }
+
+    // -------------------------------
+    // OUTBOUND CHANNEL
+    // -------------------------------
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        SessionStats stats = statsOf(message);
+        if (stats != null) {
+            stats.queued.incrementAndGet();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                    boolean sent, Exception ex) {
+        if (sent && ex == null) {
+            return;
+        }
+        // Rejected by a full outbound executor: never reaches the client
+        droppedMessages.incrementAndGet();
+        SessionStats stats = statsOf(message);
+        if (stats != null) {
+            stats.queued.decrementAndGet();
+        }
+    }
+
+    private SessionStats statsOf(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+
+    // -------------------------------
+    // SOCKET WRITES
+    // -------------------------------
+    /**
+     * Wraps the STOMP handler so every session it sees counts its writes.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                SessionStats stats = new SessionStats(session.getId());
+                sessions.put(session.getId(), stats);
+                super.afterConnectionEstablished(new MeteredSession(session, stats));
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus)
+                    throws Exception {
+                SessionStats stats = sessions.remove(session.getId());
+                if (stats != null && CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                    // Closed by Spring for exceeding the send time or buffer limit
+                    slowSessionsClosed.incrementAndGet();
+                    droppedMessages.addAndGet(stats.depth());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private final class MeteredSession extends WebSocketSessionDecorator {
+        private final SessionStats stats;
+
+        MeteredSession(WebSocketSession session, SessionStats stats) {
+            super(session);
+            this.stats = stats;
+        }
+
+        @Override
+        public void sendMessage(@NonNull WebSocketMessage<?> message) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.sendMessage(message);
+            } finally {
+                stats.queued.decrementAndGet();
+                if (System.nanoTime() - start > slowSendNanos) {
+                    stats.slowSends.incrementAndGet();
+                    slowSends.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    // -------------------------------
+    // SNAPSHOT
+    // -------------------------------
+    public WebSocketMetricsDto snapshot() {
+        List<SessionStats> open = List.copyOf(sessions.values());
+        long totalQueued = 0;
+        for (SessionStats stats : open) {
+            totalQueued += stats.depth();
+        }
+        List<WebSocketSessionQueueDto> deepest = open.stream()
+                .sorted(Comparator.comparingLong(SessionStats::depth).reversed())
+                .limit(TOP_SESSIONS)
+                .map(stats -> new WebSocketSessionQueueDto(stats.sessionId, stats.depth(), stats.slowSends.get()))
+                .toList();
+        WebSocketMessageBrokerStats stats = brokerStats.getIfAvailable();
+        return WebSocketMetricsDto.builder()
+                .sessions(open.size())
+                .queuedMessages(totalQueued)
+                .deepestSessions(deepest)
+                .slowSends(slowSends.get())
+                .slowSessionsClosed(slowSessionsClosed.get())
+                .droppedMessages(droppedMessages.get())
+                .sessionStats(stats != null ? sessionStats(stats.getWebSocketSessionStats()) : null)
+                .inboundExecutor(stats != null ? stats.getClientInboundExecutorStatsInfo() : null)
+                .outboundExecutor(stats != null ? stats.getClientOutboundExecutorStatsInfo() : null)
+                .build();
+    }
+
+    private static WebSocketSessionStatsDto sessionStats(SubProtocolWebSocketHandler.Stats stats) {
+        if (stats == null) {
+            return null;
+        }
+        return WebSocketSessionStatsDto.builder()
+                .webSocketSessions(stats.getWebSocketSessions())
+                .httpStreamingSessions(stats.getHttpStreamingSessions())
+                .httpPollingSessions(stats.getHttpPollingSessions())
+                .totalSessions(stats.getTotalSessions())
+                .limitExceededSessions(stats.getLimitExceededSessions())
+                .noMessagesReceivedSessions(stats.getNoMessagesReceivedSessions())
+                .transportErrorSessions(stats.getTransportErrorSessions())
+                .build();
+    }
+}
@@ -1,13 +1,23 @@
 package com.campusconnect.controller;
 
+import com.campusconnect.config.WebSocketSessionMetrics;
+import com.campusconnect.dto.ImportJobDto;
 import com.campusconnect.dto.UserDto;
+import com.campusconnect.dto.WebSocketMetricsDto;
+import com.campusconnect.importer.ImportFormat;
+import com.campusconnect.importer.ImportJobRegistry;
 import com.campusconnect.service.AdminService;
+import com.campusconnect.service.CatalogImportService;
+import com.campusconnect.service.RatingImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -17,6 +27,18 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private RatingImportService ratingImportService;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private ImportJobRegistry importJobRegistry;
+
+    @Autowired
+    private WebSocketSessionMetrics webSocketSessionMetrics;
+
     // ✅ Get all users (for dashboard)
     @GetMapping("/users")
     public ResponseEntity<List<UserDto>> getAllUsers() {
@@ -53,4 +75,45 @@ public class AdminController {
         return ResponseEntity.ok("Project deleted successfully");
     }
 
+    // ✅ Bulk import historical ratings (CSV or NDJSON request body); runs in the background
+    @PostMapping("/import/ratings")
+    public ResponseEntity<?> importRatings(@RequestParam(required = false) String format,
+                                           HttpServletRequest request) throws IOException {
+        ImportFormat importFormat;
+        try {
+            importFormat = ImportFormat.resolve(format, request.getContentType());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        ImportJobDto job = ratingImportService.startImport(request.getInputStream(), importFormat);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    // ✅ Bulk upsert universities, professors and course details (CSV or NDJSON); runs in the background.
+    //    ?type= applies to rows without a type column, e.g. a professors-only CSV
+    @PostMapping("/import/catalog")
+    public ResponseEntity<?> importCatalog(@RequestParam(required = false) String format,
+                                           @RequestParam(required = false) String type,
+                                           HttpServletRequest request) throws IOException {
+        ImportJobDto job;
+        try {
+            ImportFormat importFormat = ImportFormat.resolve(format, request.getContentType());
+            job = catalogImportService.startImport(request.getInputStream(), importFormat, type);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        return ResponseEntity.accepted().body(job);
+    }
+
+    // ✅ Import progress and rejected rows
+    @GetMapping("/import/jobs/{jobId}")
+    public ResponseEntity<ImportJobDto> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(importJobRegistry.getJob(jobId));
+    }
+
+    // ✅ Open sockets, outbound backlog and slow clients, for sizing chat nodes
+    @GetMapping("/websocket/metrics")
+    public ResponseEntity<WebSocketMetricsDto> getWebSocketMetrics() {
+        return ResponseEntity.ok(webSocketSessionMetrics.snapshot());
+    }
 }
@@ -1,13 +1,22 @@
 package com.campusconnect.controller;
 
 import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.CourseDetailOverviewDto;
+import com.campusconnect.dto.CourseDetailSummaryDto;
+import com.campusconnect.dto.CourseSort;
+import com.campusconnect.dto.PageDto;
+import com.campusconnect.dto.PrerequisiteGraphDto;
+import com.campusconnect.dto.TagMatch;
+import com.campusconnect.service.CourseDetailOverviewService;
 import com.campusconnect.service.CourseDetailService;
+import com.campusconnect.service.PrerequisiteGraphService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/course-details")
@@ -16,6 +25,12 @@ public class CourseDetailController {
     @Autowired
     private CourseDetailService courseDetailService;
 
+    @Autowired
+    private PrerequisiteGraphService prerequisiteGraphService;
+
+    @Autowired
+    private CourseDetailOverviewService courseDetailOverviewService;
+
     @PostMapping
     public ResponseEntity<CourseDetailDto> createCourseDetail(@RequestBody CourseDetailDto courseDetailDto) {
         try {
@@ -26,12 +41,35 @@ public class CourseDetailController {
         }
     }
 
+    // Full details by default (the course catalog page shows descriptions and tags);
+    // ?view=summary returns the slim list used by the other list endpoints
     @GetMapping
-    public ResponseEntity<List<CourseDetailDto>> getAllCourseDetails() {
+    public ResponseEntity<List<?>> getAllCourseDetails(@RequestParam(defaultValue = "full") String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(courseDetailService.getCourseDetailSummaries());
+        }
         List<CourseDetailDto> courseDetails = courseDetailService.getAllCourseDetails();
         return ResponseEntity.ok(courseDetails);
     }
 
+    // e.g. /api/course-details?tag=machine-learning&tag=python&match=all&universityId=1&page=0&size=20
+    @GetMapping(params = "tag")
+    public ResponseEntity<PageDto<CourseDetailSummaryDto>> getCourseDetailsByTags(
+            @RequestParam("tag") List<String> tags,
+            @RequestParam(defaultValue = "all") String match,
+            @RequestParam(required = false) Long universityId,
+            @RequestParam(required = false) String prerequisite,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            TagMatch tagMatch = TagMatch.valueOf(match.toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(courseDetailService.findCourseDetailsByTags(
+                    tags, tagMatch, universityId, prerequisite, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CourseDetailDto> getCourseDetailById(@PathVariable Long id) {
         CourseDetailDto courseDetail = courseDetailService.getCourseDetailById(id);
@@ -41,21 +79,69 @@ public class CourseDetailController {
         return ResponseEntity.ok(courseDetail);
     }
 
+    // Course info, rating histogram, category ratings and the first page of reviews in one call
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<CourseDetailOverviewDto> getOverview(@PathVariable Long id) {
+        return ResponseEntity.ok(courseDetailOverviewService.getOverview(id));
+    }
+
+    // Full prerequisite chain, ordered as a study plan; unknown course -> 404
+    @GetMapping("/{id}/prerequisite-tree")
+    public ResponseEntity<PrerequisiteGraphDto> getPrerequisiteTree(@PathVariable Long id) {
+        return ResponseEntity.ok(prerequisiteGraphService.getPrerequisiteTree(id));
+    }
+
+    // Courses that require this one, directly or transitively
+    @GetMapping("/{id}/dependents")
+    public ResponseEntity<PrerequisiteGraphDto> getDependents(@PathVariable Long id) {
+        return ResponseEntity.ok(prerequisiteGraphService.getDependents(id));
+    }
+
     @GetMapping("/professor/{professorId}")
-    public ResponseEntity<List<CourseDetailDto>> getCourseDetailsByProfessor(@PathVariable Long professorId) {
-        List<CourseDetailDto> courseDetails = courseDetailService.getCourseDetailsByProfessor(professorId);
+    public ResponseEntity<List<CourseDetailSummaryDto>> getCourseDetailsByProfessor(@PathVariable Long professorId) {
+        List<CourseDetailSummaryDto> courseDetails = courseDetailService.getCourseDetailsByProfessor(professorId);
         return ResponseEntity.ok(courseDetails);
     }
 
     @GetMapping("/university/{universityId}")
-    public ResponseEntity<List<CourseDetailDto>> getCourseDetailsByUniversity(@PathVariable Long universityId) {
-        List<CourseDetailDto> courseDetails = courseDetailService.getCourseDetailsByUniversity(universityId);
+    public ResponseEntity<List<CourseDetailSummaryDto>> getCourseDetailsByUniversity(@PathVariable Long universityId) {
+        List<CourseDetailSummaryDto> courseDetails = courseDetailService.getCourseDetailsByUniversity(universityId);
         return ResponseEntity.ok(courseDetails);
     }
 
+    // e.g. /api/course-details/university/1?sort=rating&size=50, then &cursor=<nextCursor> for the next page.
+    // Default direction: highest rating / most enrolled first, easiest first, codes A-Z; missing values last
+    @GetMapping(value = "/university/{universityId}", params = "sort")
+    public ResponseEntity<PageDto<CourseDetailSummaryDto>> browseCourseDetailsByUniversity(
+            @PathVariable Long universityId,
+            @RequestParam String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            CourseSort courseSort = CourseSort.valueOf(sort.toUpperCase(Locale.ROOT));
+            boolean descending = direction == null
+                    ? courseSort == CourseSort.RATING || courseSort == CourseSort.ENROLLED
+                    : parseDescending(direction);
+            return ResponseEntity.ok(courseDetailService.browseCourseDetailsByUniversity(
+                    universityId, courseSort, descending, cursor, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static boolean parseDescending(String direction) {
+        return switch (direction.toLowerCase(Locale.ROOT)) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new IllegalArgumentException("Unknown direction: " + direction);
+        };
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<CourseDetailDto>> searchCourseDetails(@RequestParam String query) {
-        List<CourseDetailDto> courseDetails = courseDetailService.searchCourseDetails(query);
+    public ResponseEntity<List<CourseDetailSummaryDto>> searchCourseDetails(@RequestParam String query) {
+        List<CourseDetailSummaryDto> courseDetails = courseDetailService.searchCourseDetails(query);
         return ResponseEntity.ok(courseDetails);
     }
 
@@ -2,9 +2,15 @@ package com.campusconnect.controller;
 
 import com.campusconnect.dto.MessageDto;
 import com.campusconnect.dto.MessageRequest;
+import com.campusconnect.dto.MessageSyncDto;
+import com.campusconnect.dto.UnreadCountDto;
+import com.campusconnect.chat.UnreadCounters;
+import com.campusconnect.security.UserPrincipal;
 import com.campusconnect.service.MessageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,6 +21,7 @@ import java.util.List;
 public class MessageController {
 
     private final MessageService messageService;
+    private final UnreadCounters unreadCounters;
 
     /**
      * Send a message in a specific project workspace.
@@ -38,4 +45,71 @@ public class MessageController {
     public List<MessageDto> getMessagesByProject(@PathVariable Long projectId) {
         return messageService.getMessagesByProject(projectId);
     }
+
+    /**
+     * Fetch one page of history, e.g. ?limit=50 when chat opens, then ?before=<oldest messageId>&limit=50
+     * while scrolling back. Oldest first within the page; fewer than limit means the start was reached.
+     * Accessible only to project members.
+     */
+    @GetMapping(value = "/{projectId}", params = "limit")
+    @PreAuthorize("@projectSecurity.isProjectMember(authentication, #projectId)")
+    public ResponseEntity<List<MessageDto>> getMessagePage(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long before,
+            @RequestParam int limit
+    ) {
+        try {
+            return ResponseEntity.ok(messageService.getMessagePage(projectId, before, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Changes since a cursor, to catch up after a reconnect: new messages and deletions, oldest first,
+     * in every project of the current user or in ?projectId= only. ?since= is the cursor of the last
+     * sync or the seq of the last message received; without it only a fresh cursor is returned.
+     * Repeat with the returned cursor while hasMore; on reset, reload history instead.
+     */
+    @GetMapping("/sync")
+    @PreAuthorize("#projectId == null or @projectSecurity.isProjectMember(authentication, #projectId)")
+    public ResponseEntity<MessageSyncDto> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Long projectId,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        try {
+            return ResponseEntity.ok(messageService.getChangesForUser(currentUser.getId(), projectId, since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Unread message counts for every project of the current user (dashboard, sidebar).
+     * Updates are pushed to /user/queue/unread.
+     */
+    @GetMapping("/unread")
+    public ResponseEntity<List<UnreadCountDto>> getUnreadCounts(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(unreadCounters.getUnreadCounts(currentUser.getId(), currentUser.getUsername()));
+    }
+
+    /**
+     * Mark a project's chat read up to ?messageId=, or up to its latest message.
+     * Accessible only to project members.
+     */
+    @PutMapping("/{projectId}/read")
+    @PreAuthorize("@projectSecurity.isProjectMember(authentication, #projectId)")
+    public ResponseEntity<UnreadCountDto> markRead(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long messageId,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        try {
+            return ResponseEntity.ok(unreadCounters.markRead(
+                    currentUser.getId(), currentUser.getUsername(), projectId, messageId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
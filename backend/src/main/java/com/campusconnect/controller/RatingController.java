@@ -1,7 +1,9 @@
 package com.campusconnect.controller;
 
 import com.campusconnect.dto.RatingDto;
+import com.campusconnect.dto.RatingTrendDto;
 import com.campusconnect.service.RatingService;
+import com.campusconnect.service.RatingTrendService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +15,7 @@ import java.util.List;
 public class RatingController {
 
     private final RatingService ratingService;
+    private final RatingTrendService ratingTrendService;
 
     @PostMapping
     public ResponseEntity<RatingDto> createRating(@RequestBody RatingDto ratingDto) {
@@ -44,6 +47,27 @@ public class RatingController {
         return ResponseEntity.ok(ratingService.getAverageRatingForCourse(courseId));
     }
 
+    // bucket=semester (default) or month
+    @GetMapping("/professor/{professorId}/trend")
+    public ResponseEntity<RatingTrendDto> getProfessorTrend(@PathVariable Long professorId,
+                                                            @RequestParam(required = false) String bucket) {
+        try {
+            return ResponseEntity.ok(ratingTrendService.getProfessorTrend(professorId, bucket));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/course/{courseId}/trend")
+    public ResponseEntity<RatingTrendDto> getCourseTrend(@PathVariable Long courseId,
+                                                         @RequestParam(required = false) String bucket) {
+        try {
+            return ResponseEntity.ok(ratingTrendService.getCourseTrend(courseId, bucket));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{ratingId}")
     public ResponseEntity<RatingDto> updateRating(@PathVariable Long ratingId, @RequestBody RatingDto ratingDto) {
         return ResponseEntity.ok(ratingService.updateRating(ratingId, ratingDto));
@@ -1,30 +1,113 @@
 package com.campusconnect.controller;
 
+import com.campusconnect.chat.ChatFanout;
+import com.campusconnect.chat.ChatMembershipCache;
+import com.campusconnect.dto.ChatErrorDto;
 import com.campusconnect.dto.MessageDto;
+import com.campusconnect.dto.MessageSyncDto;
+import com.campusconnect.dto.MessageSyncRequest;
+import com.campusconnect.security.UserPrincipal;
+import com.campusconnect.service.MessageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Set;
+
 @Controller
 public class WebSocketMessageController {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketMessageController.class);
+
+    // Reaches subscribers on every backend instance, not just this one (chat.fanout)
+    private final ChatFanout chatFanout;
+    private final MessageService messageService;
+    private final ChatMembershipCache membershipCache;
+    // Replies to the sender only, who is connected to this instance
     private final SimpMessagingTemplate messagingTemplate;
 
-    public WebSocketMessageController(SimpMessagingTemplate messagingTemplate) {
+    public WebSocketMessageController(ChatFanout chatFanout,
+                                      MessageService messageService,
+                                      ChatMembershipCache membershipCache,
+                                      SimpMessagingTemplate messagingTemplate) {
+        this.chatFanout = chatFanout;
+        this.messageService = messageService;
+        this.membershipCache = membershipCache;
         this.messagingTemplate = messagingTemplate;
     }
 
     /**
-     * Handle incoming messages and broadcast to project-specific topic
-     * Client sends to: /app/message
-     * Server broadcasts to: /topic/project/{projectId}
+     * Send a chat message over the open socket, the same as POST /api/messages/{projectId}.
+     * Client sends to: /app/message  {projectId, content, clientMessageId?}
+     * Server broadcasts the saved message (server messageId, createdAt, echoed clientMessageId)
+     * to /topic/project/{projectId}; a rejected send goes to the sender's /user/queue/errors.
+     * Only project members may send.
      */
     @MessageMapping("/message")
-    public void handleMessage(@Payload MessageDto message) {
-        // Broadcast message to all subscribers of this project's topic
-        String destination = "/topic/project/" + message.getProjectId();
-        messagingTemplate.convertAndSend(destination, message);
+    public void handleMessage(@Payload MessageDto message, Principal principal, SimpMessageHeaderAccessor headers) {
+        if (principal == null) {
+            return; // CONNECT was not authenticated
+        }
+        try {
+            if (message.getProjectId() == null || message.getContent() == null || message.getContent().isBlank()) {
+                throw new IllegalArgumentException("projectId and content are required");
+            }
+            UserPrincipal sender = membershipCache.requireMember(
+                    headers.getSessionId(), principal.getName(), message.getProjectId());
+            messageService.sendMessage(message.getProjectId(), sender, message.getContent(), message.getClientMessageId());
+        } catch (SecurityException | IllegalArgumentException | IllegalStateException e) {
+            replyError(principal, message, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Chat message to project {} failed: {}", message.getProjectId(), e.getMessage());
+            replyError(principal, message, "Message could not be sent");
+        }
+    }
+
+    /**
+     * Catch up after a reconnect, the same as GET /api/messages/sync.
+     * Client sends to: /app/sync  {since?, projectId?}
+     * The changes go back to the requesting session only on /user/queue/sync; repeat with the
+     * returned cursor while hasMore. A rejected request goes to /user/queue/errors.
+     */
+    @MessageMapping("/sync")
+    @SendToUser(value = "/queue/sync", broadcast = false)
+    public MessageSyncDto handleSync(@Payload MessageSyncRequest request, Principal principal,
+                                     SimpMessageHeaderAccessor headers) {
+        if (principal == null) {
+            return null; // CONNECT was not authenticated
+        }
+        try {
+            Collection<Long> projectIds;
+            if (request.getProjectId() != null) {
+                membershipCache.requireMember(headers.getSessionId(), principal.getName(), request.getProjectId());
+                projectIds = Set.of(request.getProjectId());
+            } else {
+                projectIds = membershipCache.projectIds(headers.getSessionId(), principal.getName());
+            }
+            return messageService.getChangesSince(projectIds, request.getSince());
+        } catch (SecurityException | IllegalArgumentException e) {
+            replyError(principal, request.getProjectId(), null, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Chat sync since {} failed: {}", request.getSince(), e.getMessage());
+            replyError(principal, request.getProjectId(), null, "Sync failed");
+        }
+        return null;
+    }
+
+    private void replyError(Principal principal, MessageDto message, String error) {
+        replyError(principal, message.getProjectId(), message.getClientMessageId(), error);
+    }
+
+    private void replyError(Principal principal, Long projectId, String clientMessageId, String error) {
+        messagingTemplate.convertAndSendToUser(principal.getName(), "/queue/errors",
+                new ChatErrorDto(projectId, clientMessageId, error));
     }
 
     /**
@@ -32,8 +115,6 @@ public class WebSocketMessageController {
      * This allows us to broadcast messages when they're saved via REST API
      */
     public void broadcastMessage(MessageDto message) {
-        String destination = "/topic/project/" + message.getProjectId();
-        messagingTemplate.convertAndSend(destination, message);
+        chatFanout.publish(ChatFanout.projectTopic(message.getProjectId()), message);
     }
 }
-
@@ -1,10 +1,11 @@
 package com.campusconnect.controller.publicapi;
 
-import com.campusconnect.dto.CourseDto;
+import com.campusconnect.cache.PublicResponseCache;
 import com.campusconnect.service.CourseService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/public/courses")
@@ -12,16 +13,17 @@ import java.util.List;
 public class PublicCourseController {
 
     private final CourseService courseService;
+    private final PublicResponseCache responseCache;
 
-    // 🔹 Public: get all courses
+    // 🔹 Public: get all courses (cached JSON)
     @GetMapping
-    public List<CourseDto> getAllCourses() {
-        return courseService.getAllCourses();
+    public ResponseEntity<byte[]> getAllCourses(HttpServletRequest request) {
+        return responseCache.respond(request, courseService::getAllCourses);
     }
 
-    // 🔹 Public: search courses by name or description
+    // 🔹 Public: search courses by name or description (cached JSON)
     @GetMapping("/search")
-    public List<CourseDto> searchCourses(@RequestParam("q") String query) {
-        return courseService.searchCourses(query);
+    public ResponseEntity<byte[]> searchCourses(@RequestParam("q") String query, HttpServletRequest request) {
+        return responseCache.respond(request, () -> courseService.searchCourses(query));
     }
 }
@@ -0,0 +1,34 @@
+package com.campusconnect.controller.publicapi;
+
+import com.campusconnect.dto.LeaderboardDto;
+import com.campusconnect.dto.LeaderboardMetric;
+import com.campusconnect.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/public/leaderboards")
+@RequiredArgsConstructor
+public class PublicLeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    // 🔹 Public: every leaderboard (top professors, top courses, hardest courses) for a university
+    @GetMapping("/{universityId}")
+    public ResponseEntity<List<LeaderboardDto>> getLeaderboards(
+            @PathVariable Long universityId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboards(universityId, limit));
+    }
+
+    // 🔹 Public: a single leaderboard, e.g. /api/public/leaderboards/1/TOP_PROFESSORS
+    @GetMapping("/{universityId}/{metric}")
+    public ResponseEntity<LeaderboardDto> getLeaderboard(
+            @PathVariable Long universityId,
+            @PathVariable LeaderboardMetric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(universityId, metric, limit));
+    }
+}
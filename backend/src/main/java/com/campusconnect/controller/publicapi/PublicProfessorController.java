@@ -1,11 +1,13 @@
 package com.campusconnect.controller.publicapi;
 
-import com.campusconnect.dto.ProfessorDto;
+import com.campusconnect.cache.PublicResponseCache;
+import com.campusconnect.dto.ProfessorProfileDto;
+import com.campusconnect.service.ProfessorProfileService;
 import com.campusconnect.service.ProfessorService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/public/professors")
@@ -13,16 +15,38 @@ import java.util.List;
 public class PublicProfessorController {
 
     private final ProfessorService professorService;
+    private final ProfessorProfileService professorProfileService;
+    private final PublicResponseCache responseCache;
 
-    // 🔹 Public: get all professors
+    // 🔹 Public: get all professors (cached JSON)
     @GetMapping
-    public ResponseEntity<List<ProfessorDto>> getAllProfessors() {
-        return ResponseEntity.ok(professorService.getAllProfessors());
+    public ResponseEntity<byte[]> getAllProfessors(HttpServletRequest request) {
+        return responseCache.respond(request, professorService::getAllProfessors);
     }
 
-    // 🔹 Public: search professors by name or department
+    // 🔹 Public: search professors by name or department (prefix and typo tolerant),
+    //    optionally within a university and/or department (cached JSON)
     @GetMapping("/search")
-    public ResponseEntity<List<ProfessorDto>> searchProfessors(@RequestParam("q") String query) {
-        return ResponseEntity.ok(professorService.searchProfessors(query));
+    public ResponseEntity<byte[]> searchProfessors(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long universityId,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "50") int limit,
+            HttpServletRequest request) {
+        return responseCache.respond(request,
+                () -> professorService.searchProfessors(query, universityId, department, limit));
+    }
+
+    // 🔹 Public: professor, rating summary, courses and the most helpful reviews in one call,
+    //    e.g. /api/public/professors/7/profile?reviews=5
+    @GetMapping("/{id}/profile")
+    public ResponseEntity<ProfessorProfileDto> getProfile(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int reviews) {
+        try {
+            return ResponseEntity.ok(professorProfileService.getProfile(id, reviews));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
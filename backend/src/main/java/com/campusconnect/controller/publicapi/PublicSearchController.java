@@ -0,0 +1,28 @@
+package com.campusconnect.controller.publicapi;
+
+import com.campusconnect.cache.PublicResponseCache;
+import com.campusconnect.service.SearchService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/public/search")
+@RequiredArgsConstructor
+public class PublicSearchController {
+
+    private final SearchService searchService;
+    private final PublicResponseCache responseCache;
+
+    // 🔹 Public: one search box over course details, courses and professors,
+    //    e.g. /api/public/search?q=cs101 or ?q=algorithms&universityId=1&limit=10 (cached JSON)
+    @GetMapping
+    public ResponseEntity<byte[]> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long universityId,
+            @RequestParam(defaultValue = "5") int limit,
+            HttpServletRequest request) {
+        return responseCache.respond(request, () -> searchService.search(query, universityId, limit));
+    }
+}
@@ -0,0 +1,20 @@
+package com.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Per-aspect averages of a course detail
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CategoryRatingsDto {
+    private BigDecimal content;
+    private BigDecimal teaching;
+    private BigDecimal assignments;
+    private BigDecimal exams;
+}
@@ -0,0 +1,16 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+/**
+ * Sent to /user/queue/errors when a message sent over STOMP is rejected.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChatErrorDto {
+    private Long projectId;
+    private String clientMessageId;
+    private String error;
+}
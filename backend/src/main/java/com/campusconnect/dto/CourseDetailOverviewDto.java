@@ -0,0 +1,23 @@
+package com.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Everything the course detail page shows, in one response
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourseDetailOverviewDto {
+    private CourseDetailDto courseDetail;
+    private RatingSummaryDto ratings;
+    private CategoryRatingsDto categoryRatings;
+    // First page, newest first; the full list stays at /api/reviews/course/{id}
+    private PageDto<ReviewDto> reviews;
+    // Sections that could not be loaded in time and are left empty
+    private List<String> unavailable;
+}
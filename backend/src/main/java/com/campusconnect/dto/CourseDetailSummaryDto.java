@@ -0,0 +1,23 @@
+package com.campusconnect.dto;
+
+import java.math.BigDecimal;
+import lombok.*;
+
+// List view of a CourseDetail: no description, tags or prerequisites
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourseDetailSummaryDto {
+    private Long courseId;
+    private String code;
+    private String name;
+    private Byte credits;
+    private BigDecimal rating;
+    private BigDecimal difficulty;
+    private Integer enrolled;
+    private Long professorId;
+    private String professorName;
+    private Long universityId;
+    private String universityName;
+}
@@ -0,0 +1,9 @@
+package com.campusconnect.dto;
+
+// Sort keys for browsing a university's course details
+public enum CourseSort {
+    RATING,
+    DIFFICULTY,
+    ENROLLED,
+    CODE
+}
@@ -12,4 +12,6 @@ public class DashboardDto {
     private List<TaskDto> assignedTasks;
     private List<CollaborationRequestDto> pendingRequests;
     private List<MessageSummaryDto> recentMessages;
+    // All messages the user has sent, in any project
+    private long sentMessageCount;
 }
@@ -0,0 +1,28 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportJobDto {
+    private String jobId;
+    private String type;
+    private String format;
+    private String status;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private Map<String, Long> counters;
+    // First rejected rows only; "rejected" is the full count
+    private List<ImportRejectionDto> rejections;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
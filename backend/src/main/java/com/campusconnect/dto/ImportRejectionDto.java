@@ -0,0 +1,11 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRejectionDto {
+    private long row;
+    private String reason;
+}
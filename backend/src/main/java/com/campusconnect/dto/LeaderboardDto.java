@@ -0,0 +1,15 @@
+package com.campusconnect.dto;
+
+import java.util.List;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LeaderboardDto {
+    private Long universityId;
+    private LeaderboardMetric metric;
+    private int minReviews;
+    private List<LeaderboardEntryDto> entries;
+}
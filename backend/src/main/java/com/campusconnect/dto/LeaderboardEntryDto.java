@@ -0,0 +1,17 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LeaderboardEntryDto {
+    private int rank;
+    private Long targetId;
+    // CourseDetail to link to for course boards, when the course has one
+    private Long courseDetailId;
+    private String name;
+    private double score;
+    private long reviewCount;
+}
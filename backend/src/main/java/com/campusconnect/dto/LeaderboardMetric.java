@@ -0,0 +1,18 @@
+package com.campusconnect.dto;
+
+public enum LeaderboardMetric {
+    TOP_PROFESSORS(true),
+    TOP_COURSES(true),
+    HARDEST_COURSES(false);
+
+    // true when the score is the average of rating values, false when it is a stored value
+    private final boolean averaged;
+
+    LeaderboardMetric(boolean averaged) {
+        this.averaged = averaged;
+    }
+
+    public boolean isAveraged() {
+        return averaged;
+    }
+}
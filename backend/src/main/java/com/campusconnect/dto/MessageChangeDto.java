@@ -0,0 +1,18 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+/**
+ * One chat change for delta sync: a message created (with the message) or deleted (id only).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MessageChangeDto {
+    private Long seq;
+    private Long projectId;
+    private String kind;
+    private Long messageId;
+    private MessageDto message;
+}
@@ -1,5 +1,6 @@
 package com.campusconnect.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 @Data
@@ -13,4 +14,12 @@ public class MessageDto {
     private String senderName;
     private String content;
     private String createdAt;
+
+    // Sent by STOMP clients with a new message and echoed back, so they can match the saved one
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clientMessageId;
+
+    // Position in the chat change log, usable as the since cursor of a delta sync
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long seq;
 }
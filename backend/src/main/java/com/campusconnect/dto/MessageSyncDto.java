@@ -0,0 +1,22 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Chat changes after a cursor (GET /api/messages/sync, /app/sync -> /user/queue/sync).
+ * Pass cursor as since next time; with hasMore, call again straight away. reset means the cursor is
+ * older than the change log keeps, so history has to be reloaded. Changes just before since are
+ * returned again in case they were committed late, so apply them idempotently (by messageId).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MessageSyncDto {
+    private List<MessageChangeDto> changes;
+    private long cursor;
+    private boolean hasMore;
+    private boolean reset;
+}
@@ -0,0 +1,13 @@
+package com.campusconnect.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MessageSyncRequest {
+    // Cursor from the last sync or the seq of the last message received; none for a fresh cursor
+    private Long since;
+    // One project only; all of the user's projects when absent
+    private Long projectId;
+}
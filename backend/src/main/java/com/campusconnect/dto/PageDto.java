@@ -0,0 +1,18 @@
+package com.campusconnect.dto;
+
+import java.util.List;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PageDto<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    // Opaque keyset position of the next page, where supported; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.campusconnect.dto;
+
+import java.util.List;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PrerequisiteGraphDto {
+    private Long courseId;
+    private String code;
+    private String name;
+    // Direct prerequisites (tree) or direct dependents (dependents)
+    private List<Long> directIds;
+    // Every course reached, ordered by level so it reads as a study plan
+    private List<PrerequisiteNodeDto> courses;
+    // Prerequisite codes that match no course at the university
+    private List<String> unresolved;
+    // True when any course in the result is on a prerequisite cycle
+    private boolean cyclic;
+}
@@ -0,0 +1,19 @@
+package com.campusconnect.dto;
+
+import java.util.List;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PrerequisiteNodeDto {
+    private Long courseId;
+    private String code;
+    private String name;
+    // Study-plan step: 0 has no prerequisite in this graph; -1 when on or after a prerequisite cycle
+    private int level;
+    // Direct prerequisites of this course that are part of the same response
+    private List<Long> prerequisiteIds;
+    private boolean cyclic;
+}
@@ -0,0 +1,24 @@
+package com.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Everything a professor page shows, in one response
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProfessorProfileDto {
+    private ProfessorDto professor;
+    private RatingSummaryDto ratings;
+    private List<CourseDetailSummaryDto> courses;
+    private long reviewCount;
+    // The most helpful reviews only; the full list stays at /api/reviews/professor/{id}
+    private List<ReviewDto> topReviews;
+    // Sections that could not be loaded in time and are left empty
+    private List<String> unavailable;
+}
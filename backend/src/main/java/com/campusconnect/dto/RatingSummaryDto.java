@@ -0,0 +1,20 @@
+package com.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Count, average and 1-5 star distribution of a professor's or course's ratings
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RatingSummaryDto {
+    private long count;
+    private Double average;
+    // distribution.get(0) is the number of 1-star ratings, ... get(4) of 5-star ones
+    private List<Long> distribution;
+}
@@ -0,0 +1,17 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RatingTrendDto {
+    private String targetType;
+    private Long targetId;
+    private String bucket;
+    // Oldest first; buckets without ratings are omitted
+    private List<RatingTrendPointDto> points;
+}
@@ -0,0 +1,17 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RatingTrendPointDto {
+    // e.g. "2024-03" or "Fall 2024"
+    private String label;
+    private LocalDate start;
+    private long count;
+    private double average;
+}
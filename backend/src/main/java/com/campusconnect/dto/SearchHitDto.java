@@ -0,0 +1,21 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchHitDto {
+    private SearchResultType type;
+    private Long id;
+    // Course or professor name
+    private String title;
+    // Course code, course details only
+    private String code;
+    // Professor name for courses, department for professors
+    private String subtitle;
+    private Long universityId;
+    private String universityName;
+    private double score;
+}
@@ -0,0 +1,7 @@
+package com.campusconnect.dto;
+
+public enum SearchResultType {
+    COURSE_DETAIL,
+    COURSE,
+    PROFESSOR
+}
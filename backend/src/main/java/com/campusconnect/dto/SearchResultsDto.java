@@ -0,0 +1,16 @@
+package com.campusconnect.dto;
+
+import java.util.List;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchResultsDto {
+    private String query;
+    private List<SearchHitDto> courseDetails;
+    private List<SearchHitDto> courses;
+    private List<SearchHitDto> professors;
+    private long tookMicros;
+}
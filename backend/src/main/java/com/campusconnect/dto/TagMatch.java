@@ -0,0 +1,7 @@
+package com.campusconnect.dto;
+
+// How several ?tag= values combine
+public enum TagMatch {
+    ALL,
+    ANY
+}
@@ -0,0 +1,16 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+/**
+ * Unread chat messages of one project for the current user; also pushed to /user/queue/unread.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UnreadCountDto {
+    private Long projectId;
+    private long unread;
+    private Long lastReadMessageId;
+}
@@ -0,0 +1,29 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * STOMP endpoint load for sizing nodes (GET /api/admin/websocket/metrics).
+ * Session counts and the executor summaries come from Spring's own WebSocketMessageBrokerStats.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WebSocketMetricsDto {
+    private int sessions;
+    // Outbound messages not yet written, over all sessions
+    private long queuedMessages;
+    private List<WebSocketSessionQueueDto> deepestSessions;
+    // Socket writes slower than websocket.metrics.slow-send-ms
+    private long slowSends;
+    // Sessions closed for exceeding the send time or buffer limit
+    private long slowSessionsClosed;
+    // Queued for sessions closed as slow, or rejected by a full outbound executor
+    private long droppedMessages;
+    private WebSocketSessionStatsDto sessionStats;
+    private String inboundExecutor;
+    private String outboundExecutor;
+}
@@ -0,0 +1,16 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+/**
+ * Outbound backlog of one STOMP session: messages waiting to be written to its socket.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WebSocketSessionQueueDto {
+    private String sessionId;
+    private long queued;
+    private long slowSends;
+}
@@ -0,0 +1,22 @@
+package com.campusconnect.dto;
+
+import lombok.*;
+
+/**
+ * Session counts kept by Spring's STOMP handler (SubProtocolWebSocketHandler.Stats).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WebSocketSessionStatsDto {
+    // Open sessions, by transport
+    private int webSocketSessions;
+    private int httpStreamingSessions;
+    private int httpPollingSessions;
+    // Since startup: all sessions opened, and those closed abnormally
+    private int totalSessions;
+    private int limitExceededSessions;
+    private int noMessagesReceivedSessions;
+    private int transportErrorSessions;
+}
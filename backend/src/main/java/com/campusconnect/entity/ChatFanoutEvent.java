@@ -0,0 +1,50 @@
+package com.campusconnect.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One broker message in the cross-node fan-out log (chat.fanout=db). Written by the node that
+ * produced it and read by every other node, which delivers it to its own STOMP clients.
+ * Rows are only needed for a short while and are pruned by DbPollingChatFanout.
+ */
+@Entity
+@Table(name = "chat_fanout_events",
+       indexes = @Index(name = "idx_chat_fanout_created", columnList = "created_at"))
+public class ChatFanoutEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    // Instance that published it; that instance has already delivered it locally
+    @Column(name = "origin", nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "destination", nullable = false, length = 255)
+    private String destination;
+
+    // Serialized JSON body
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public Long getSeq() { return seq; }
+    public void setSeq(Long seq) { this.seq = seq; }
+
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
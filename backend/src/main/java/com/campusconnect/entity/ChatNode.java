@@ -0,0 +1,36 @@
+package com.campusconnect.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A chat.node-id held by a running instance (chat.fanout=db). Claimed at startup and kept alive
+ * by DbPollingChatFanout, so a second instance configured with the same node id refuses to start
+ * instead of generating colliding message ids.
+ */
+@Entity
+@Table(name = "chat_nodes")
+public class ChatNode {
+
+    @Id
+    @Column(name = "node_id")
+    private Integer nodeId;
+
+    // Instance holding it (DbPollingChatFanout's origin)
+    @Column(name = "origin", nullable = false, length = 36)
+    private String origin;
+
+    // Last time the holder showed it is alive; an old one lets another instance take the id over
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    // Getters and Setters
+    public Integer getNodeId() { return nodeId; }
+    public void setNodeId(Integer nodeId) { this.nodeId = nodeId; }
+
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+}
@@ -5,7 +5,9 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
-@Table(name = "course_details")
+@Table(name = "course_details",
+       uniqueConstraints = @UniqueConstraint(name = "uk_course_details_university_code",
+                                             columnNames = {"university_id", "code"}))
 public class CourseDetail {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,32 @@
+package com.campusconnect.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Links a catalog entry (course_details) to the course row ratings point at (courses).
+ * The two tables grew up separately, so their IDs are not guaranteed to line up.
+ */
+@Entity
+@Table(name = "course_detail_course_map")
+public class CourseMapping {
+    @Id
+    @Column(name = "course_detail_id")
+    private Long courseDetailId;
+
+    @Column(name = "course_id", nullable = false, unique = true)
+    private Long courseId;
+
+    public CourseMapping() {}
+
+    public CourseMapping(Long courseDetailId, Long courseId) {
+        this.courseDetailId = courseDetailId;
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public Long getCourseDetailId() { return courseDetailId; }
+    public void setCourseDetailId(Long courseDetailId) { this.courseDetailId = courseDetailId; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+}
@@ -5,7 +5,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages",
+       indexes = @Index(name = "idx_messages_project_message", columnList = "project_id, message_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,52 @@
+package com.campusconnect.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the append-only chat change log that reconnecting clients catch up from.
+ * seq comes from MessageIdGenerator (for a message written behind, it is the message id), so it
+ * is known before the row is written and orders changes across instances.
+ */
+@Entity
+@Table(name = "message_changes",
+       indexes = @Index(name = "idx_message_changes_project_seq", columnList = "project_id, seq"))
+public class MessageChange {
+
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 20)
+    private Kind kind;
+
+    @Column(name = "message_id", nullable = false)
+    private Long messageId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Kind {
+        CREATED, DELETED
+    }
+
+    // Getters and Setters
+    public Long getSeq() { return seq; }
+    public void setSeq(Long seq) { this.seq = seq; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { this.kind = kind; }
+
+    public Long getMessageId() { return messageId; }
+    public void setMessageId(Long messageId) { this.messageId = messageId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,47 @@
+package com.campusconnect.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * The newest message of a project's chat a user has read; messages after it are unread.
+ * Written in batches by UnreadCounters and only ever moved forward.
+ */
+@Entity
+@Table(name = "message_read_markers",
+       uniqueConstraints = @UniqueConstraint(name = "uk_message_read_marker_user_project",
+               columnNames = {"user_id", "project_id"}))
+public class MessageReadMarker {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long markerId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getMarkerId() { return markerId; }
+    public void setMarkerId(Long markerId) { this.markerId = markerId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Long getLastReadMessageId() { return lastReadMessageId; }
+    public void setLastReadMessageId(Long lastReadMessageId) { this.lastReadMessageId = lastReadMessageId; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,71 @@
+package com.campusconnect.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Rating count and sum for one professor or course in one month or semester.
+ * Maintained by RatingTrendServiceImpl; the average is sum / count.
+ */
+@Entity
+@Table(name = "rating_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_rating_rollup_bucket",
+               columnNames = {"target_type", "target_id", "bucket_type", "bucket_start"}))
+public class RatingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 20)
+    private TargetType targetType;
+
+    // professor_id, or the courses.course_id ratings point at
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket_type", nullable = false, length = 20)
+    private BucketType bucketType;
+
+    // First day of the month / semester
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    public enum TargetType {
+        PROFESSOR, COURSE
+    }
+
+    public enum BucketType {
+        MONTH, SEMESTER
+    }
+
+    // Getters and Setters
+    public Long getRollupId() { return rollupId; }
+    public void setRollupId(Long rollupId) { this.rollupId = rollupId; }
+
+    public TargetType getTargetType() { return targetType; }
+    public void setTargetType(TargetType targetType) { this.targetType = targetType; }
+
+    public Long getTargetId() { return targetId; }
+    public void setTargetId(Long targetId) { this.targetId = targetId; }
+
+    public BucketType getBucketType() { return bucketType; }
+    public void setBucketType(BucketType bucketType) { this.bucketType = bucketType; }
+
+    public LocalDate getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDate bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getRatingCount() { return ratingCount; }
+    public void setRatingCount(long ratingCount) { this.ratingCount = ratingCount; }
+
+    public long getRatingSum() { return ratingSum; }
+    public void setRatingSum(long ratingSum) { this.ratingSum = ratingSum; }
+}
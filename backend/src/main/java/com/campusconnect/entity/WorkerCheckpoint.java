@@ -0,0 +1,34 @@
+package com.campusconnect.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * How far a background worker is known to have got, kept across restarts. Written with plain JDBC
+ * by the worker that owns the row (e.g. ReviewDerivationWorker: the rating id its next start
+ * sweeps from).
+ */
+@Entity
+@Table(name = "worker_checkpoints")
+public class WorkerCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "resume_from", nullable = false)
+    private Long resumeFrom;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getResumeFrom() { return resumeFrom; }
+    public void setResumeFrom(Long resumeFrom) { this.resumeFrom = resumeFrom; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,21 @@
+package com.campusconnect.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the university, professor, course detail and course services after a create, update or delete.
+ * The catalog snapshot (and anything built from it) patches itself once the write commits.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogChangedEvent {
+
+    public enum Kind {
+        UNIVERSITY, PROFESSOR, COURSE_DETAIL, COURSE
+    }
+
+    private final Kind kind;
+    private final Long id;
+    private final boolean deleted;
+}
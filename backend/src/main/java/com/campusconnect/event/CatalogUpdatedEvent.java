@@ -0,0 +1,16 @@
+package com.campusconnect.event;
+
+import com.campusconnect.service.CatalogSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by CatalogService right after it swaps in a new snapshot, so indexes built from the
+ * catalog can follow along. change is null after a full reload.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogUpdatedEvent {
+    private final CatalogSnapshot snapshot;
+    private final CatalogChangedEvent change;
+}
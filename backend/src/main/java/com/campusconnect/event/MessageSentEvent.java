@@ -0,0 +1,15 @@
+package com.campusconnect.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a chat message is sent, once it has been broadcast.
+ */
+@Getter
+@AllArgsConstructor
+public class MessageSentEvent {
+    private final Long projectId;
+    private final Long messageId;
+    private final Long senderId;
+}
@@ -0,0 +1,16 @@
+package com.campusconnect.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a user joins or leaves a project (member added or removed, collaboration
+ * request approved, project created with its leader).
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectMembershipChangedEvent {
+    private final Long projectId;
+    private final Long userId;
+    private final boolean member;
+}
@@ -0,0 +1,41 @@
+package com.campusconnect.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by RatingServiceImpl whenever a rating is created, updated or deleted.
+ * Carries everything listeners need so they never have to reload the rating.
+ */
+@Getter
+@AllArgsConstructor
+public class RatingChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long ratingId;
+    private final Long userId;
+    private final String comment;
+
+    private final Long professorId;
+    private final String professorName;
+    private final Long professorUniversityId;
+
+    private final Long courseId;
+    private final String courseName;
+    private final Long courseUniversityId;
+    // CourseDetail the rating was submitted against, when known
+    private final Long courseDetailId;
+
+    // Rating value before / after the change (null for CREATED / DELETED respectively)
+    private final Integer oldValue;
+    private final Integer newValue;
+
+    // When the rating was originally made (places it in trend buckets)
+    private final LocalDateTime ratedAt;
+}
@@ -0,0 +1,17 @@
+package com.campusconnect.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a review is created or deleted.
+ * delta is +1 for a new review and -1 for a removed one.
+ */
+@Getter
+@AllArgsConstructor
+public class ReviewChangedEvent {
+    private final Long reviewId;
+    private final Long courseDetailId;
+    private final Long professorId;
+    private final int delta;
+}
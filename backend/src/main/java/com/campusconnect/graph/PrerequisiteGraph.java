@@ -0,0 +1,285 @@
+package com.campusconnect.graph;
+
+import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.search.TextNormalizer;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Prerequisite graph of one university, built from CourseDetail.prerequisites.
+ *
+ * Courses are numbered 0..n-1 and edges are stored as int adjacency arrays in both directions
+ * (course -> its prerequisites, course -> courses requiring it). Prerequisite strings are resolved
+ * to courses of the same university by code, ignoring case and spacing; anything that does not
+ * resolve is kept as text. Courses on a cycle are found once when the graph is built (Tarjan).
+ * Transitive closures are computed on first request and memoized, so a graph is immutable apart
+ * from that cache and is thrown away as a whole when a course of the university changes.
+ */
+public final class PrerequisiteGraph {
+
+    private final long[] courseIds;
+    private final Map<Long, Integer> indexById;
+    private final int[][] prerequisites;
+    private final int[][] dependents;
+    private final List<List<String>> unresolved;
+    private final BitSet cyclic;
+
+    private final AtomicReferenceArray<BitSet> prerequisiteClosures;
+    private final AtomicReferenceArray<BitSet> dependentClosures;
+
+    private PrerequisiteGraph(long[] courseIds, Map<Long, Integer> indexById, int[][] prerequisites,
+                              int[][] dependents, List<List<String>> unresolved) {
+        this.courseIds = courseIds;
+        this.indexById = indexById;
+        this.prerequisites = prerequisites;
+        this.dependents = dependents;
+        this.unresolved = unresolved;
+        this.cyclic = findCycles(prerequisites);
+        this.prerequisiteClosures = new AtomicReferenceArray<>(courseIds.length);
+        this.dependentClosures = new AtomicReferenceArray<>(courseIds.length);
+    }
+
+    public static PrerequisiteGraph build(List<CourseDetailDto> courseDetails) {
+        int n = courseDetails.size();
+        long[] courseIds = new long[n];
+        Map<Long, Integer> indexById = new HashMap<>(n * 2);
+        Map<String, Integer> indexByCode = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            CourseDetailDto courseDetail = courseDetails.get(i);
+            courseIds[i] = courseDetail.getCourseId();
+            indexById.put(courseDetail.getCourseId(), i);
+            indexByCode.putIfAbsent(codeKey(courseDetail.getCode()), i);
+        }
+
+        int[][] prerequisites = new int[n][];
+        int[] dependentCounts = new int[n];
+        List<List<String>> unresolved = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<String> codes = courseDetails.get(i).getPrerequisites();
+            int[] edges = new int[codes == null ? 0 : codes.size()];
+            int size = 0;
+            List<String> missing = List.of();
+            if (codes != null) {
+                for (String code : codes) {
+                    Integer target = indexByCode.get(codeKey(code));
+                    if (target == null) {
+                        if (missing.isEmpty()) {
+                            missing = new ArrayList<>();
+                        }
+                        missing.add(code);
+                    } else if (!contains(edges, size, target)) {
+                        edges[size++] = target;
+                        dependentCounts[target]++;
+                    }
+                }
+            }
+            prerequisites[i] = Arrays.copyOf(edges, size);
+            unresolved.add(missing);
+        }
+
+        int[][] dependents = new int[n][];
+        for (int i = 0; i < n; i++) {
+            dependents[i] = new int[dependentCounts[i]];
+        }
+        int[] filled = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int target : prerequisites[i]) {
+                dependents[target][filled[target]++] = i;
+            }
+        }
+        return new PrerequisiteGraph(courseIds, indexById, prerequisites, dependents, unresolved);
+    }
+
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String codeKey(String code) {
+        return TextNormalizer.normalize(code).replace(" ", "");
+    }
+
+    // -------------------------------
+    // QUERIES
+    // -------------------------------
+    public OptionalInt indexOf(Long courseId) {
+        Integer index = indexById.get(courseId);
+        return index == null ? OptionalInt.empty() : OptionalInt.of(index);
+    }
+
+    public long courseId(int index) {
+        return courseIds[index];
+    }
+
+    public int[] prerequisitesOf(int index) {
+        return prerequisites[index].clone();
+    }
+
+    public List<String> unresolvedOf(int index) {
+        return unresolved.get(index);
+    }
+
+    public boolean isCyclic(int index) {
+        return cyclic.get(index);
+    }
+
+    /**
+     * Every course reachable through prerequisite edges, excluding the course itself
+     * unless it sits on a cycle.
+     */
+    public BitSet prerequisiteClosure(int index) {
+        return (BitSet) closure(index, prerequisites, prerequisiteClosures).clone();
+    }
+
+    /**
+     * Every course that needs this one, directly or through other courses.
+     */
+    public BitSet dependentClosure(int index) {
+        return (BitSet) closure(index, dependents, dependentClosures).clone();
+    }
+
+    private static BitSet closure(int start, int[][] edges, AtomicReferenceArray<BitSet> cache) {
+        BitSet cached = cache.get(start);
+        if (cached != null) {
+            return cached;
+        }
+        BitSet seen = new BitSet();
+        // Each node is pushed once when first seen, plus the start
+        int[] stack = new int[edges.length + 1];
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int node = stack[--top];
+            for (int next : edges[node]) {
+                if (!seen.get(next)) {
+                    seen.set(next);
+                    BitSet known = cache.get(next);
+                    if (known != null) {
+                        // Reuse a closure computed earlier instead of walking it again
+                        seen.or(known);
+                    } else {
+                        stack[top++] = next;
+                    }
+                }
+            }
+        }
+        cache.compareAndSet(start, null, seen);
+        return cache.get(start);
+    }
+
+    /**
+     * Longest-path level of each course in the subgraph made of nodes, following prerequisite
+     * edges: 0 for courses with no prerequisite inside the set, otherwise one more than the
+     * highest of them. Courses on or after a cycle inside the set get -1. Sorting by level gives a
+     * study plan in which every course comes after its prerequisites.
+     */
+    public int[] levels(BitSet nodes) {
+        int[] level = new int[courseIds.length];
+        int[] pending = new int[courseIds.length];
+        Arrays.fill(level, -1);
+        int[] queue = new int[nodes.cardinality()];
+        int head = 0;
+        int tail = 0;
+        for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+            for (int prerequisite : prerequisites[node]) {
+                if (nodes.get(prerequisite)) {
+                    pending[node]++;
+                }
+            }
+            if (pending[node] == 0) {
+                level[node] = 0;
+                queue[tail++] = node;
+            }
+        }
+        // Kahn's algorithm restricted to the set; whatever never reaches zero pending is on a cycle
+        while (head < tail) {
+            int node = queue[head++];
+            for (int dependent : dependents[node]) {
+                if (nodes.get(dependent)) {
+                    level[dependent] = Math.max(level[dependent], level[node] + 1);
+                    if (--pending[dependent] == 0) {
+                        queue[tail++] = dependent;
+                    }
+                }
+            }
+        }
+        for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+            if (pending[node] > 0) {
+                level[node] = -1;
+            }
+        }
+        return level;
+    }
+
+    // Nodes in a strongly connected component of size > 1 or with a self edge (iterative Tarjan)
+    private static BitSet findCycles(int[][] edges) {
+        int n = edges.length;
+        BitSet result = new BitSet(n);
+        int[] index = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int stackTop = 0;
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int counter = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = 0;
+            index[root] = low[root] = counter++;
+            stack[stackTop++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int node = callNode[depth];
+                if (callEdge[depth] < edges[node].length) {
+                    int next = edges[node][callEdge[depth]++];
+                    if (next == node) {
+                        result.set(node);
+                    } else if (index[next] < 0) {
+                        index[next] = low[next] = counter++;
+                        stack[stackTop++] = next;
+                        onStack[next] = true;
+                        depth++;
+                        callNode[depth] = next;
+                        callEdge[depth] = 0;
+                    } else if (onStack[next]) {
+                        low[node] = Math.min(low[node], index[next]);
+                    }
+                    continue;
+                }
+                if (low[node] == index[node]) {
+                    int size = 0;
+                    int member;
+                    int first = stackTop;
+                    do {
+                        member = stack[--stackTop];
+                        onStack[member] = false;
+                        size++;
+                    } while (member != node);
+                    if (size > 1) {
+                        for (int i = stackTop; i < first; i++) {
+                            result.set(stack[i]);
+                        }
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.campusconnect.importer;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch inserts that hand back IDENTITY keys, which Hibernate cannot batch.
+ */
+public final class BatchInserts {
+
+    private BatchInserts() {
+    }
+
+    /**
+     * Runs one batched insert (a single multi-row statement with rewriteBatchedStatements) and
+     * returns the generated keys in row order. Must run inside the caller's transaction.
+     */
+    public static List<Long> insertReturningKeys(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows, int[] types) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        ps.setObject(i + 1, row[i], types[i]);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> keys = new ArrayList<>(rows.size());
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        keys.add(rs.getLong(1));
+                    }
+                }
+                return keys;
+            }
+        });
+        if (ids == null || ids.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated ids but got "
+                    + (ids == null ? 0 : ids.size()));
+        }
+        return ids;
+    }
+}
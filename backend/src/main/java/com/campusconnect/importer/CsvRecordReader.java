@@ -0,0 +1,107 @@
+package com.campusconnect.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV reader. The first record is the header; quoted fields may contain commas,
+ * doubled quotes and line breaks. Blank lines are skipped.
+ */
+public class CsvRecordReader implements ImportRecordReader {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long rowNumber;
+
+    public CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        List<String> columns = readFields();
+        if (columns == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        this.header = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            // Tolerate a UTF-8 byte order mark on the first column name
+            header.add(column.replace("\uFEFF", "").trim());
+        }
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        List<String> values = readFields();
+        if (values == null) {
+            return null;
+        }
+        rowNumber++;
+        if (values.size() > header.size()) {
+            return ImportRecord.malformed(rowNumber,
+                    "Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new ImportRecord(rowNumber, fields, null);
+    }
+
+    // Reads one record, or null at end of input
+    private List<String> readFields() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (fields.isEmpty() && field.isEmpty()) {
+                    // Blank line
+                    any = false;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
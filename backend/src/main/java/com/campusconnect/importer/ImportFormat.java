@@ -0,0 +1,34 @@
+package com.campusconnect.importer;
+
+import java.util.Locale;
+
+/**
+ * File formats accepted by the admin bulk-import endpoints.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * Picks the format from an explicit ?format= value, falling back to the request Content-Type.
+     */
+    public static ImportFormat resolve(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+            }
+        }
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                return NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("Send text/csv or application/x-ndjson, or pass ?format=csv|ndjson");
+    }
+}
@@ -0,0 +1,116 @@
+package com.campusconnect.importer;
+
+import com.campusconnect.dto.ImportJobDto;
+import com.campusconnect.dto.ImportRejectionDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import. Written by the import thread, read by status requests.
+ */
+public class ImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final String type;
+    private final ImportFormat format;
+    private final int maxRejectionsReported;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final List<ImportRejectionDto> rejections = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ImportJob(String jobId, String type, ImportFormat format, int maxRejectionsReported) {
+        this.jobId = jobId;
+        this.type = type;
+        this.format = format;
+        this.maxRejectionsReported = maxRejectionsReported;
+    }
+
+    public String getJobId() { return jobId; }
+    public String getType() { return type; }
+    public ImportFormat getFormat() { return format; }
+    public Status getStatus() { return status; }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public void rowsRead(long count) {
+        rowsRead.addAndGet(count);
+    }
+
+    public void imported(long count) {
+        imported.addAndGet(count);
+    }
+
+    /**
+     * Extra per-import totals, e.g. reviews created alongside ratings.
+     */
+    public void count(String counter, long delta) {
+        counters.computeIfAbsent(counter, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    /**
+     * Records a rejected row. Only the first maxRejectionsReported rows are kept for the report.
+     */
+    public void reject(long rowNumber, String reason) {
+        rejected.incrementAndGet();
+        synchronized (rejections) {
+            if (rejections.size() < maxRejectionsReported) {
+                rejections.add(new ImportRejectionDto(rowNumber, reason));
+            }
+        }
+    }
+
+    public ImportJobDto toDto() {
+        Map<String, Long> counterValues = new LinkedHashMap<>();
+        counters.forEach((name, value) -> counterValues.put(name, value.get()));
+        List<ImportRejectionDto> reported;
+        synchronized (rejections) {
+            reported = List.copyOf(rejections);
+        }
+        return ImportJobDto.builder()
+                .jobId(jobId)
+                .type(type)
+                .format(format.name())
+                .status(status.name())
+                .rowsRead(rowsRead.get())
+                .imported(imported.get())
+                .rejected(rejected.get())
+                .counters(counterValues)
+                .rejections(reported)
+                .error(error)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.campusconnect.importer;
+
+import com.campusconnect.dto.ImportJobDto;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Runs admin bulk imports in the background and keeps their progress for status requests.
+ *
+ * The upload is spooled to a temp file on the request thread (so the HTTP body is never held
+ * in memory) and then read record by record on a single import thread. Only a few imports may
+ * wait in line; beyond that new uploads are refused instead of piling up on disk.
+ */
+@Component
+public class ImportJobRegistry implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobRegistry.class);
+
+    /**
+     * Work done for one import, given its job (for progress) and a reader over the uploaded file.
+     */
+    @FunctionalInterface
+    public interface ImportTask {
+        void run(ImportJob job, ImportRecordReader reader) throws Exception;
+    }
+
+    private final ExecutorService executor;
+    private final int retainedJobs;
+    private final int maxRejectionsReported;
+
+    // Most recent jobs, oldest evicted first
+    private final Map<String, ImportJob> jobs;
+
+    public ImportJobRegistry(@Value("${import.queue-capacity:4}") int queueCapacity,
+                             @Value("${import.retained-jobs:50}") int retainedJobs,
+                             @Value("${import.max-rejections-reported:1000}") int maxRejectionsReported) {
+        this.retainedJobs = retainedJobs;
+        this.maxRejectionsReported = maxRejectionsReported;
+        this.jobs = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                return size() > ImportJobRegistry.this.retainedJobs;
+            }
+        };
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-import");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Spools the upload and queues the import. Returns the job as queued.
+     */
+    public ImportJobDto submit(String type, ImportFormat format, InputStream body, ImportTask task) {
+        Path file = spool(body);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), type, format, maxRejectionsReported);
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+        }
+        try {
+            executor.execute(() -> run(job, file, task));
+        } catch (RejectedExecutionException e) {
+            delete(file);
+            synchronized (jobs) {
+                jobs.remove(job.getJobId());
+            }
+            throw new IllegalStateException("Too many imports are queued, try again later");
+        }
+        return job.toDto();
+    }
+
+    public ImportJobDto getJob(String jobId) {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new EntityNotFoundException("Import job not found");
+        }
+        return job.toDto();
+    }
+
+    private void run(ImportJob job, Path file, ImportTask task) {
+        job.start();
+        logger.info("Import {} ({}) started", job.getJobId(), job.getType());
+        try (ImportRecordReader reader = ImportRecordReader.open(job.getFormat(),
+                Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            task.run(job, reader);
+            job.complete();
+            logger.info("Import {} finished: {}", job.getJobId(), job.toDto().getImported());
+        } catch (Exception e) {
+            logger.warn("Import {} failed", job.getJobId(), e);
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            delete(file);
+        }
+    }
+
+    private static Path spool(InputStream body) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("campusconnect-import-", ".tmp");
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            if (file != null) {
+                delete(file);
+            }
+            throw new UncheckedIOException("Could not read upload", e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,27 @@
+package com.campusconnect.importer;
+
+import java.util.Map;
+
+/**
+ * One row of an import file: its 1-based row number, its fields by column name, and a parse
+ * error if the row could not be read (the rest of the file is still processed).
+ */
+public record ImportRecord(long rowNumber, Map<String, String> fields, String error) {
+
+    public static ImportRecord malformed(long rowNumber, String error) {
+        return new ImportRecord(rowNumber, Map.of(), error);
+    }
+
+    /**
+     * Trimmed value of the first of the given columns that is present and not blank.
+     */
+    public String get(String... names) {
+        for (String name : names) {
+            String value = fields.get(name);
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.campusconnect.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streams records out of an import file one at a time, so files of any size run in constant memory.
+ */
+public interface ImportRecordReader extends Closeable {
+
+    /**
+     * Next record, or null at end of input.
+     */
+    ImportRecord next() throws IOException;
+
+    static ImportRecordReader open(ImportFormat format, Reader reader) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRecordReader(reader);
+            case NDJSON -> new NdjsonRecordReader(reader);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.campusconnect.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Newline-delimited JSON reader: one object per line, blank lines skipped.
+ * A line that is not a JSON object becomes a malformed record rather than failing the file.
+ */
+public class NdjsonRecordReader implements ImportRecordReader {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private long rowNumber;
+
+    public NdjsonRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return ImportRecord.malformed(rowNumber, "Invalid JSON: " + e.getOriginalMessage());
+            }
+            if (node == null || !node.isObject()) {
+                return ImportRecord.malformed(rowNumber, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                JsonNode value = field.getValue();
+                if (value.isNull()) {
+                    continue;
+                }
+                fields.put(field.getKey(), value.isValueNode() ? value.asText() : value.toString());
+            }
+            return new ImportRecord(rowNumber, fields, null);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -3,6 +3,8 @@ package com.campusconnect.mapper;
 import com.campusconnect.dto.MessageDto;
 import com.campusconnect.dto.MessageSummaryDto;
 import com.campusconnect.entity.Message;
+import com.campusconnect.repository.MessageSummaryView;
+import com.campusconnect.repository.MessageView;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -21,6 +23,19 @@ public class MessageMapper {
                 .build();
     }
 
+    public MessageDto toDto(MessageView message) {
+        if (message == null) return null;
+
+        return MessageDto.builder()
+                .messageId(message.getMessageId())
+                .projectId(message.getProjectId())
+                .senderId(message.getSenderId())
+                .senderName(message.getSenderName() != null ? message.getSenderName() : "Unknown")
+                .content(message.getContent())
+                .createdAt(message.getCreatedAt() != null ? message.getCreatedAt().toString() : null)
+                .build();
+    }
+
     public MessageSummaryDto toMessageSummaryDto(Message message) {
         if (message == null) return null;
 
@@ -33,4 +48,17 @@ public class MessageMapper {
                 .createdAt(message.getCreatedAt() != null ? message.getCreatedAt().toString() : null)
                 .build();
     }
+
+    public MessageSummaryDto toMessageSummaryDto(MessageSummaryView message) {
+        if (message == null) return null;
+
+        return MessageSummaryDto.builder()
+                .messageId(message.getMessageId())
+                .projectId(message.getProjectId())
+                .projectTitle(message.getProjectTitle() != null ? message.getProjectTitle() : "Untitled")
+                .lastMessage(message.getContent())
+                .senderName(message.getSenderName() != null ? message.getSenderName() : "Unknown")
+                .createdAt(message.getCreatedAt() != null ? message.getCreatedAt().toString() : null)
+                .build();
+    }
 }
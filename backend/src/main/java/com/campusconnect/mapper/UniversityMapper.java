@@ -0,0 +1,37 @@
+package com.campusconnect.mapper;
+
+import com.campusconnect.dto.UniversityDto;
+import com.campusconnect.entity.University;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UniversityMapper {
+
+    // Entity → DTO
+    public UniversityDto toDto(University university) {
+        if (university == null) return null;
+
+        return UniversityDto.builder()
+                .universityId(university.getUniversityId())
+                .name(university.getName())
+                .location(university.getLocation())
+                .city(university.getCity())
+                .state(university.getState())
+                .country(university.getCountry())
+                .build();
+    }
+
+    // DTO → Entity
+    public University toEntity(UniversityDto dto) {
+        if (dto == null) return null;
+
+        return University.builder()
+                .universityId(dto.getUniversityId())
+                .name(dto.getName())
+                .location(dto.getLocation())
+                .city(dto.getCity())
+                .state(dto.getState())
+                .country(dto.getCountry())
+                .build();
+    }
+}
@@ -3,7 +3,9 @@ package com.campusconnect.repository;
 import com.campusconnect.entity.CourseDetail;
 import com.campusconnect.entity.Professor;
 import com.campusconnect.entity.University;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -25,5 +27,23 @@ public interface CourseDetailRepository extends JpaRepository<CourseDetail, Long
     // Find by professor
     @Query("SELECT cd FROM CourseDetail cd WHERE cd.professor = :professor")
     List<CourseDetail> findByProfessorId(@Param("professor") Professor professor);
-}
 
+    // Difficulty plus review count per course, used to rebuild the "hardest courses" leaderboard
+    @Query("SELECT cd.courseId AS targetId, cd.name AS name, cd.university.universityId AS universityId, " +
+           "cd.difficulty AS difficulty, COUNT(rv) AS reviewCount " +
+           "FROM CourseDetail cd LEFT JOIN Review rv ON rv.courseDetail = cd " +
+           "WHERE cd.difficulty IS NOT NULL " +
+           "GROUP BY cd.courseId, cd.name, cd.university.universityId, cd.difficulty")
+    List<CourseDifficultyAggregate> aggregateDifficulty();
+
+    // Details not yet linked to a Course, used once at startup by CourseMappingService
+    @Query("SELECT cd.courseId AS id, cd.name AS name, p.professorId AS professorId " +
+           "FROM CourseDetail cd LEFT JOIN cd.professor p " +
+           "WHERE NOT EXISTS (SELECT m FROM CourseMapping m WHERE m.courseDetailId = cd.courseId)")
+    List<CourseLinkCandidate> findUnmappedLinkCandidates();
+
+    // Serializes linking a detail to its Course (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cd FROM CourseDetail cd WHERE cd.courseId = :id")
+    Optional<CourseDetail> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,14 @@
+package com.campusconnect.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Course difficulty together with the number of reviews written for the course.
+ */
+public interface CourseDifficultyAggregate {
+    Long getTargetId();
+    String getName();
+    Long getUniversityId();
+    BigDecimal getDifficulty();
+    Long getReviewCount();
+}
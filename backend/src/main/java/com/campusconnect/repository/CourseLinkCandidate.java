@@ -0,0 +1,10 @@
+package com.campusconnect.repository;
+
+/**
+ * Id, name and professor of a course or course detail, used to backfill course mappings.
+ */
+public interface CourseLinkCandidate {
+    Long getId();
+    String getName();
+    Long getProfessorId();
+}
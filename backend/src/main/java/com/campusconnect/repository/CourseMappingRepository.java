@@ -0,0 +1,18 @@
+package com.campusconnect.repository;
+
+import com.campusconnect.entity.CourseMapping;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CourseMappingRepository extends JpaRepository<CourseMapping, Long> {
+
+    // Locking read: sees a link committed after this transaction's snapshot was taken
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM CourseMapping m WHERE m.courseDetailId = :courseDetailId")
+    Optional<CourseMapping> findByIdForUpdate(@Param("courseDetailId") Long courseDetailId);
+}
@@ -0,0 +1,11 @@
+package com.campusconnect.repository;
+
+import com.campusconnect.entity.Course;
+
+/**
+ * Course a rating request points at, and the detail that course is linked to (if any).
+ */
+public interface CourseRatingTarget {
+    Course getCourse();
+    Long getCourseDetailId();
+}
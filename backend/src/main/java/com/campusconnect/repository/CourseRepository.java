@@ -2,13 +2,32 @@ package com.campusconnect.repository;
 
 import com.campusconnect.entity.Course;
 import com.campusconnect.entity.Professor;
+import com.campusconnect.entity.University;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByProfessor(Professor professor);
+    List<Course> findByUniversity(University university);
     List<Course> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description);
     boolean existsByNameIgnoreCaseAndProfessor(String name, Professor professor);
     Optional<Course> findByNameIgnoreCaseAndProfessor(String name, Professor professor);
+
+    // Courses not yet linked to a CourseDetail, used once at startup by CourseMappingService
+    @Query("SELECT c.courseId AS id, c.name AS name, p.professorId AS professorId " +
+           "FROM Course c LEFT JOIN c.professor p " +
+           "WHERE NOT EXISTS (SELECT m FROM CourseMapping m WHERE m.courseId = c.courseId)")
+    List<CourseLinkCandidate> findUnmappedLinkCandidates();
+
+    // The course a rating of id goes to in one statement: the course linked to detail id, else the
+    // legacy course id, unless id is a detail not linked yet (empty: the caller links it)
+    @Query("SELECT c AS course, m.courseDetailId AS courseDetailId " +
+           "FROM Course c LEFT JOIN CourseMapping m ON m.courseId = c.courseId " +
+           "WHERE c.courseId = COALESCE((SELECT dm.courseId FROM CourseMapping dm WHERE dm.courseDetailId = :id), :id) " +
+           "AND NOT EXISTS (SELECT d FROM CourseDetail d WHERE d.courseId = :id " +
+           "AND NOT EXISTS (SELECT um FROM CourseMapping um WHERE um.courseDetailId = :id))")
+    Optional<CourseRatingTarget> findRatingTarget(@Param("id") Long id);
 }
@@ -0,0 +1,24 @@
+package com.campusconnect.repository;
+
+import com.campusconnect.entity.MessageChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MessageChangeRepository extends JpaRepository<MessageChange, Long> {
+
+    // Changes of the given projects in (after, upTo], oldest first; one range per project on idx_message_changes_project_seq
+    @Query("SELECT c.seq AS seq, c.projectId AS projectId, c.kind AS kind, c.messageId AS messageId, " +
+           "s.userId AS senderId, s.name AS senderName, m.content AS content, m.createdAt AS createdAt " +
+           "FROM MessageChange c LEFT JOIN Message m ON m.messageId = c.messageId LEFT JOIN m.sender s " +
+           "WHERE c.projectId IN :projectIds AND c.seq > :after AND c.seq <= :upTo " +
+           "ORDER BY c.seq ASC")
+    List<MessageChangeView> findChanges(@Param("projectIds") Collection<Long> projectIds,
+                                        @Param("after") long after,
+                                        @Param("upTo") long upTo,
+                                        Pageable pageable);
+}
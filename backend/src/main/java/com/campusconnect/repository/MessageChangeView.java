@@ -0,0 +1,19 @@
+package com.campusconnect.repository;
+
+import com.campusconnect.entity.MessageChange;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change log entry with the message it created, if that message still exists.
+ */
+public interface MessageChangeView {
+    Long getSeq();
+    Long getProjectId();
+    MessageChange.Kind getKind();
+    Long getMessageId();
+    Long getSenderId();
+    String getSenderName();
+    String getContent();
+    LocalDateTime getCreatedAt();
+}
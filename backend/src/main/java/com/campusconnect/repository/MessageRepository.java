@@ -2,6 +2,7 @@ package com.campusconnect.repository;
 
 import com.campusconnect.entity.Message;
 import com.campusconnect.entity.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +15,39 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT m FROM Message m WHERE m.sender.userId = :userId ORDER BY m.createdAt DESC")
     List<Message> findRecentMessagesByUser(@Param("userId") Long userId);
 
-    
+    // Messages a user has sent, counted off the sender_id foreign key index
+    long countBySender_UserId(Long userId);
+
+    // Whole history, oldest first, sender name joined in
+    @Query("SELECT m.messageId AS messageId, m.project.projectId AS projectId, s.userId AS senderId, " +
+           "s.name AS senderName, m.content AS content, m.createdAt AS createdAt " +
+           "FROM Message m LEFT JOIN m.sender s WHERE m.project.projectId = :projectId " +
+           "ORDER BY m.messageId ASC")
+    List<MessageView> findViewsByProject(@Param("projectId") Long projectId);
+
+    // Newest messages first; walks idx_messages_project_message backwards and stops at the page size
+    @Query("SELECT m.messageId AS messageId, m.project.projectId AS projectId, s.userId AS senderId, " +
+           "s.name AS senderName, m.content AS content, m.createdAt AS createdAt " +
+           "FROM Message m LEFT JOIN m.sender s WHERE m.project.projectId = :projectId " +
+           "ORDER BY m.messageId DESC")
+    List<MessageView> findLatestViews(@Param("projectId") Long projectId, Pageable pageable);
+
+    // Same, starting just below a message id the client already has
+    @Query("SELECT m.messageId AS messageId, m.project.projectId AS projectId, s.userId AS senderId, " +
+           "s.name AS senderName, m.content AS content, m.createdAt AS createdAt " +
+           "FROM Message m LEFT JOIN m.sender s WHERE m.project.projectId = :projectId AND m.messageId < :before " +
+           "ORDER BY m.messageId DESC")
+    List<MessageView> findViewsBefore(@Param("projectId") Long projectId, @Param("before") Long before, Pageable pageable);
 
+    // Latest message of each of the user's projects, most recent first: one MAX(message_id) per
+    // project off idx_messages_project_message, then only those rows are read
+    @Query("SELECT m.messageId AS messageId, p.projectId AS projectId, p.title AS projectTitle, " +
+           "m.content AS content, s.name AS senderName, m.createdAt AS createdAt " +
+           "FROM Message m JOIN m.project p LEFT JOIN m.sender s " +
+           "WHERE m.messageId IN (SELECT MAX(latest.messageId) FROM Message latest " +
+           "WHERE latest.project.projectId IN " +
+           "(SELECT pm.project.projectId FROM ProjectMember pm WHERE pm.user.userId = :userId) " +
+           "GROUP BY latest.project.projectId) " +
+           "ORDER BY m.messageId DESC")
+    List<MessageSummaryView> findLatestPerProjectForUser(@Param("userId") Long userId, Pageable pageable);
 }
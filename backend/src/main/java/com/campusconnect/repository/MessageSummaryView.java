@@ -0,0 +1,15 @@
+package com.campusconnect.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A project's latest chat message with the project title and sender name, read in one query.
+ */
+public interface MessageSummaryView {
+    Long getMessageId();
+    Long getProjectId();
+    String getProjectTitle();
+    String getContent();
+    String getSenderName();
+    LocalDateTime getCreatedAt();
+}
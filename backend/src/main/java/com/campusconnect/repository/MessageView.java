@@ -0,0 +1,15 @@
+package com.campusconnect.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A chat message with its sender's name, read in one query (no entity, no lazy sender load).
+ */
+public interface MessageView {
+    Long getMessageId();
+    Long getProjectId();
+    Long getSenderId();
+    String getSenderName();
+    String getContent();
+    LocalDateTime getCreatedAt();
+}
@@ -1,6 +1,7 @@
 package com.campusconnect.repository;
 
 import com.campusconnect.entity.Professor;
+import com.campusconnect.entity.University;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +10,5 @@ public interface ProfessorRepository extends JpaRepository<Professor, Long> {
     Optional<Professor> findByEmail(String email);
     boolean existsByEmail(String email);
     List<Professor> findByNameIgnoreCase(String name);
+    List<Professor> findByUniversity(University university);
 }
@@ -5,6 +5,8 @@ import com.campusconnect.entity.ProjectMember;
 import com.campusconnect.entity.Project;
 import com.campusconnect.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,6 +27,10 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     // Find member by project and user
     Optional<ProjectMember> findByProjectAndUser(Project project, User user);
 
+    // Ids of the projects a user belongs to, without loading the projects (chat authorization)
+    @Query("SELECT pm.project.projectId FROM ProjectMember pm WHERE pm.user.userId = :userId")
+    List<Long> findProjectIdsByUserId(@Param("userId") Long userId);
+
     // Count projects for a user
     long countByUser_UserId(Long userId);
 }
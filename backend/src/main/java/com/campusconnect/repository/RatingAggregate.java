@@ -0,0 +1,12 @@
+package com.campusconnect.repository;
+
+/**
+ * Per-target rating totals returned by the GROUP BY queries in RatingRepository.
+ */
+public interface RatingAggregate {
+    Long getTargetId();
+    String getName();
+    Long getUniversityId();
+    Long getRatingCount();
+    Long getRatingSum();
+}
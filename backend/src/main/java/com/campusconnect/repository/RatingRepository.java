@@ -5,6 +5,8 @@ import com.campusconnect.entity.Course;
 import com.campusconnect.entity.Professor;
 import com.campusconnect.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface RatingRepository extends JpaRepository<Rating, Long> {
@@ -12,5 +14,39 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     List<Rating> findByProfessor(Professor professor);
     List<Rating> findByCourse(Course course);
     List<Rating> findByProfessorAndCourse(Professor professor, Course course);
+    List<Rating> findByCourse_CourseId(Long courseId);
+    boolean existsByUser_UserIdAndProfessor_ProfessorId(Long userId, Long professorId);
+    boolean existsByUser_UserIdAndCourse_CourseId(Long userId, Long courseId);
 
+    @Query("SELECT AVG(r.ratingValue) FROM Rating r WHERE r.course.courseId = :courseId")
+    Double averageForCourse(@Param("courseId") Long courseId);
+
+    // Rating count and sum per professor, used to rebuild leaderboards
+    @Query("SELECT p.professorId AS targetId, p.name AS name, u.universityId AS universityId, " +
+           "COUNT(r) AS ratingCount, SUM(r.ratingValue) AS ratingSum " +
+           "FROM Rating r JOIN r.professor p JOIN p.university u " +
+           "GROUP BY p.professorId, p.name, u.universityId")
+    List<RatingAggregate> aggregateByProfessor();
+
+    // Rating count and sum per course, used to rebuild leaderboards
+    @Query("SELECT c.courseId AS targetId, c.name AS name, u.universityId AS universityId, " +
+           "COUNT(r) AS ratingCount, SUM(r.ratingValue) AS ratingSum " +
+           "FROM Rating r JOIN r.course c JOIN c.university u " +
+           "GROUP BY c.courseId, c.name, u.universityId")
+    List<RatingAggregate> aggregateByCourse();
+
+    // How many ratings of each value (1-5) a professor has, for rating summaries
+    @Query("SELECT r.ratingValue AS ratingValue, COUNT(r) AS count " +
+           "FROM Rating r WHERE r.professor.professorId = :professorId GROUP BY r.ratingValue")
+    List<RatingValueCount> countByValueForProfessor(@Param("professorId") Long professorId);
+
+    // Same distribution for a course (the courses.course_id ratings are stored under)
+    @Query("SELECT r.ratingValue AS ratingValue, COUNT(r) AS count " +
+           "FROM Rating r WHERE r.course.courseId = :courseId GROUP BY r.ratingValue")
+    List<RatingValueCount> countByValueForCourse(@Param("courseId") Long courseId);
+
+    // Ratings per professor, used to rank professor search results
+    @Query("SELECT r.professor.professorId AS targetId, COUNT(r) AS count " +
+           "FROM Rating r WHERE r.professor IS NOT NULL GROUP BY r.professor.professorId")
+    List<TargetCount> countByProfessor();
 }
@@ -0,0 +1,11 @@
+package com.campusconnect.repository;
+
+import com.campusconnect.entity.RatingRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface RatingRollupRepository extends JpaRepository<RatingRollup, Long> {
+    List<RatingRollup> findByTargetTypeAndTargetIdAndBucketTypeAndRatingCountGreaterThanOrderByBucketStartAsc(
+            RatingRollup.TargetType targetType, Long targetId, RatingRollup.BucketType bucketType, long minCount);
+}
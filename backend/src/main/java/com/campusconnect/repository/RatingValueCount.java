@@ -0,0 +1,9 @@
+package com.campusconnect.repository;
+
+/**
+ * Number of ratings with one value, returned by the distribution queries in RatingRepository.
+ */
+public interface RatingValueCount {
+    Integer getRatingValue();
+    Long getCount();
+}
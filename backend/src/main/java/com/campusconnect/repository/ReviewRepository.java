@@ -4,6 +4,9 @@ import com.campusconnect.entity.Review;
 import com.campusconnect.entity.CourseDetail;
 import com.campusconnect.entity.Professor;
 import com.campusconnect.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +19,15 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByUser(User user);
     List<Review> findByRating_RatingId(Long ratingId);
     List<Review> findByCourseDetail_CourseId(Long courseDetailId);
+
+    // One page of a course's reviews with the associations the DTO reads, plus the total count
+    @EntityGraph(attributePaths = {"user", "rating", "courseDetail", "professor"})
+    Page<Review> findByCourseDetail_CourseId(Long courseDetailId, Pageable pageable);
     List<Review> findByProfessor_ProfessorId(Long professorId);
+    long countByProfessor_ProfessorId(Long professorId);
+
+    // Most helpful first, with the associations the DTO reads fetched in the same query
+    @EntityGraph(attributePaths = {"user", "rating", "courseDetail", "professor"})
+    List<Review> findByProfessor_ProfessorIdOrderByHelpfulCountDescCreatedAtDesc(Long professorId, Pageable pageable);
 }
 
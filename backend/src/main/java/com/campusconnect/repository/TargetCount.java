@@ -0,0 +1,9 @@
+package com.campusconnect.repository;
+
+/**
+ * Number of rows per target id (e.g. ratings per professor).
+ */
+public interface TargetCount {
+    Long getTargetId();
+    Long getCount();
+}
@@ -0,0 +1,282 @@
+package com.campusconnect.search;
+
+import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.CourseDto;
+import com.campusconnect.dto.ProfessorDto;
+import com.campusconnect.dto.SearchHitDto;
+import com.campusconnect.dto.SearchResultType;
+import com.campusconnect.event.CatalogChangedEvent;
+import com.campusconnect.event.CatalogUpdatedEvent;
+import com.campusconnect.service.CatalogService;
+import com.campusconnect.service.CatalogSnapshot;
+import com.campusconnect.service.CourseMappingService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One inverted index over course details, legacy courses and professors, for the site-wide search box.
+ *
+ * Documents are keyed by (type, id) and kept in step with the catalog snapshot the same way as
+ * ProfessorSearchIndex. A query is matched once against the shared index and the hits are split
+ * by type into bounded top-K heaps, so cost grows with the number of matches, not the catalog.
+ * A query equal to a course code (ignoring case and spacing, "cs 101" = "CS101") ranks that
+ * course detail first. Legacy courses already linked to a course detail are left out, since
+ * the detail stands for them.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private static final double CODE_WEIGHT = 1.5;
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double DEPARTMENT_WEIGHT = 0.5;
+    private static final double TAG_WEIGHT = 0.4;
+    private static final double DESCRIPTION_WEIGHT = 0.2;
+    private static final double CODE_EXACT_BONUS = 10.0;
+    private static final double NAME_PREFIX_BONUS = 2.0;
+    private static final double POPULARITY_WEIGHT = 0.5;
+
+    // Lowest score first, ties broken so that the heap drops names later in the alphabet
+    private static final Comparator<SearchHitDto> WORST_FIRST =
+            Comparator.comparingDouble(SearchHitDto::getScore)
+                    .thenComparing(SearchHitDto::getTitle, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER).reversed())
+                    .thenComparing(SearchHitDto::getId, Comparator.reverseOrder());
+
+    public record DocKey(SearchResultType type, long id) {
+    }
+
+    private final CatalogService catalogService;
+    private final CourseMappingService courseMappingService;
+    private final SearchIndex<DocKey> index = new SearchIndex<>();
+
+    // compact course code ("cs101") -> course detail ids
+    private final Map<String, Set<Long>> detailIdsByCode = new ConcurrentHashMap<>();
+    private final Map<Long, String> codeByDetailId = new ConcurrentHashMap<>();
+
+    // Catalog version the index reflects; 0 until first built
+    private volatile long indexedVersion;
+
+    public CatalogSearchIndex(CatalogService catalogService, CourseMappingService courseMappingService) {
+        this.catalogService = catalogService;
+        this.courseMappingService = courseMappingService;
+    }
+
+    // -------------------------------
+    // SEARCH
+    // -------------------------------
+    /**
+     * Best hits per type for the query, each list ordered best first and at most limit long.
+     * A blank query has no hits.
+     */
+    public Map<SearchResultType, List<SearchHitDto>> search(String query, Long universityId, int limit) {
+        Map<SearchResultType, List<SearchHitDto>> results = new EnumMap<>(SearchResultType.class);
+        for (SearchResultType type : SearchResultType.values()) {
+            results.put(type, List.of());
+        }
+        String normalizedQuery = TextNormalizer.normalize(query);
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return results;
+        }
+        CatalogSnapshot snapshot = catalogService.snapshot();
+        if (indexedVersion == 0) {
+            rebuild(snapshot);
+        }
+
+        Map<DocKey, Double> scores = new HashMap<>();
+        for (SearchIndex.Match<DocKey> match : index.search(query, key -> true)) {
+            scores.put(match.key(), match.score());
+        }
+        Set<Long> codeMatches = detailIdsByCode.getOrDefault(compact(normalizedQuery), Set.of());
+        for (Long detailId : codeMatches) {
+            scores.merge(new DocKey(SearchResultType.COURSE_DETAIL, detailId), CODE_EXACT_BONUS, Double::sum);
+        }
+
+        Map<SearchResultType, PriorityQueue<SearchHitDto>> heaps = new EnumMap<>(SearchResultType.class);
+        for (SearchResultType type : SearchResultType.values()) {
+            heaps.put(type, new PriorityQueue<>(limit + 1, WORST_FIRST));
+        }
+        for (Map.Entry<DocKey, Double> entry : scores.entrySet()) {
+            SearchHitDto hit = toHit(snapshot, entry.getKey(), entry.getValue(), normalizedQuery);
+            if (hit == null || (universityId != null && !universityId.equals(hit.getUniversityId()))) {
+                continue;
+            }
+            PriorityQueue<SearchHitDto> heap = heaps.get(hit.getType());
+            heap.offer(hit);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        heaps.forEach((type, heap) -> {
+            List<SearchHitDto> ranked = new ArrayList<>(heap);
+            ranked.sort(WORST_FIRST.reversed());
+            results.put(type, ranked);
+        });
+        return results;
+    }
+
+    private SearchHitDto toHit(CatalogSnapshot snapshot, DocKey key, double matchScore, String normalizedQuery) {
+        switch (key.type()) {
+            case COURSE_DETAIL -> {
+                CourseDetailDto detail = snapshot.getCourseDetail(key.id());
+                if (detail == null) {
+                    return null;
+                }
+                int reviews = detail.getReviews() != null ? detail.getReviews() : 0;
+                double score = matchScore + nameBonus(detail.getName(), normalizedQuery)
+                        + POPULARITY_WEIGHT * Math.log1p(Math.max(0, reviews));
+                return SearchHitDto.builder()
+                        .type(SearchResultType.COURSE_DETAIL)
+                        .id(detail.getCourseId())
+                        .title(detail.getName())
+                        .code(detail.getCode())
+                        .subtitle(detail.getProfessorName())
+                        .universityId(detail.getUniversityId())
+                        .universityName(detail.getUniversityName())
+                        .score(round(score))
+                        .build();
+            }
+            case COURSE -> {
+                CourseDto course = snapshot.getCourse(key.id());
+                if (course == null || courseMappingService.findCourseDetailId(course.getCourseId()) != null) {
+                    return null;
+                }
+                return SearchHitDto.builder()
+                        .type(SearchResultType.COURSE)
+                        .id(course.getCourseId())
+                        .title(course.getName())
+                        .subtitle(course.getProfessorName())
+                        .universityId(course.getUniversityId())
+                        .universityName(course.getUniversityName())
+                        .score(round(matchScore + nameBonus(course.getName(), normalizedQuery)))
+                        .build();
+            }
+            case PROFESSOR -> {
+                ProfessorDto professor = snapshot.getProfessor(key.id());
+                if (professor == null) {
+                    return null;
+                }
+                return SearchHitDto.builder()
+                        .type(SearchResultType.PROFESSOR)
+                        .id(professor.getProfessorId())
+                        .title(professor.getName())
+                        .subtitle(professor.getDepartment())
+                        .universityId(professor.getUniversityId())
+                        .universityName(professor.getUniversityName())
+                        .score(round(matchScore + nameBonus(professor.getName(), normalizedQuery)))
+                        .build();
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static double nameBonus(String name, String normalizedQuery) {
+        return TextNormalizer.normalize(name).startsWith(normalizedQuery) ? NAME_PREFIX_BONUS : 0.0;
+    }
+
+    private static double round(double score) {
+        return Math.round(score * 100.0) / 100.0;
+    }
+
+    private static String compact(String text) {
+        return TextNormalizer.normalize(text).replace(" ", "");
+    }
+
+    // -------------------------------
+    // MAINTENANCE
+    // -------------------------------
+    @EventListener
+    public synchronized void onCatalogUpdated(CatalogUpdatedEvent event) {
+        CatalogChangedEvent change = event.getChange();
+        if (change == null || indexedVersion == 0) {
+            rebuild(event.getSnapshot());
+            return;
+        }
+        // University renames need nothing here: names shown in hits are read from the snapshot
+        CatalogSnapshot snapshot = event.getSnapshot();
+        switch (change.getKind()) {
+            case COURSE_DETAIL -> putCourseDetail(change.getId(), snapshot.getCourseDetail(change.getId()));
+            case COURSE -> putCourse(change.getId(), snapshot.getCourse(change.getId()));
+            case PROFESSOR -> putProfessor(change.getId(), snapshot.getProfessor(change.getId()));
+            default -> { }
+        }
+        indexedVersion = snapshot.getVersion();
+    }
+
+    private synchronized void rebuild(CatalogSnapshot snapshot) {
+        if (indexedVersion >= snapshot.getVersion() && indexedVersion != 0) {
+            return;
+        }
+        index.clear();
+        detailIdsByCode.clear();
+        codeByDetailId.clear();
+        for (CourseDetailDto detail : snapshot.getCourseDetails()) {
+            putCourseDetail(detail.getCourseId(), detail);
+        }
+        for (CourseDto course : snapshot.getCourses()) {
+            putCourse(course.getCourseId(), course);
+        }
+        for (ProfessorDto professor : snapshot.getProfessors()) {
+            putProfessor(professor.getProfessorId(), professor);
+        }
+        indexedVersion = snapshot.getVersion();
+    }
+
+    // A null document removes the entry
+    private void putCourseDetail(Long id, CourseDetailDto detail) {
+        DocKey key = new DocKey(SearchResultType.COURSE_DETAIL, id);
+        String previousCode = codeByDetailId.remove(id);
+        if (previousCode != null) {
+            detailIdsByCode.computeIfPresent(previousCode, (code, ids) -> {
+                Set<Long> remaining = new HashSet<>(ids);
+                remaining.remove(id);
+                return remaining.isEmpty() ? null : Set.copyOf(remaining);
+            });
+        }
+        if (detail == null) {
+            index.remove(key);
+            return;
+        }
+        String code = compact(detail.getCode());
+        List<SearchIndex.Field> fields = new ArrayList<>();
+        fields.add(new SearchIndex.Field(detail.getCode(), CODE_WEIGHT));
+        fields.add(new SearchIndex.Field(code, CODE_WEIGHT));
+        fields.add(new SearchIndex.Field(detail.getName(), NAME_WEIGHT));
+        if (detail.getTags() != null) {
+            fields.add(new SearchIndex.Field(String.join(" ", detail.getTags()), TAG_WEIGHT));
+        }
+        fields.add(new SearchIndex.Field(detail.getDescription(), DESCRIPTION_WEIGHT));
+        index.put(key, fields);
+        if (!code.isEmpty()) {
+            codeByDetailId.put(id, code);
+            detailIdsByCode.merge(code, Set.of(id), (ids, added) -> {
+                Set<Long> merged = new HashSet<>(ids);
+                merged.addAll(added);
+                return Set.copyOf(merged);
+            });
+        }
+    }
+
+    private void putCourse(Long id, CourseDto course) {
+        DocKey key = new DocKey(SearchResultType.COURSE, id);
+        if (course == null) {
+            index.remove(key);
+            return;
+        }
+        index.put(key, List.of(new SearchIndex.Field(course.getName(), NAME_WEIGHT),
+                new SearchIndex.Field(course.getDescription(), DESCRIPTION_WEIGHT)));
+    }
+
+    private void putProfessor(Long id, ProfessorDto professor) {
+        DocKey key = new DocKey(SearchResultType.PROFESSOR, id);
+        if (professor == null) {
+            index.remove(key);
+            return;
+        }
+        index.put(key, List.of(new SearchIndex.Field(professor.getName(), NAME_WEIGHT),
+                new SearchIndex.Field(professor.getDepartment(), DEPARTMENT_WEIGHT)));
+    }
+}
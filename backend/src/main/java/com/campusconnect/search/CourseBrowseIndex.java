@@ -0,0 +1,225 @@
+package com.campusconnect.search;
+
+import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.CourseSort;
+import com.campusconnect.event.CatalogChangedEvent;
+import com.campusconnect.event.CatalogUpdatedEvent;
+import com.campusconnect.service.CatalogSnapshot;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sorted orderings of each university's course details, the in-memory counterpart of an index on
+ * (university_id, sort key, course_id).
+ *
+ * An ordering is built the first time a (university, sort, direction) is browsed and kept until a
+ * course detail of that university changes. Courses without a value for the sort key come last in
+ * either direction; ties are broken by id, so every position is unique and a page can resume from
+ * an opaque cursor holding the last (value, id) seen, found again by binary search. Only ids and
+ * sort values are kept here; callers read names from the current snapshot.
+ */
+@Component
+public class CourseBrowseIndex {
+
+    private static final String CURSOR_VERSION = "c1";
+
+    /**
+     * Ids in browse order plus their sort keys, for one university, sort and direction.
+     */
+    public static final class Ordering {
+        private final long version;
+        private final long[] ids;
+        private final Comparable<?>[] values;
+        private final Comparator<Object> valueOrder;
+
+        private Ordering(long version, long[] ids, Comparable<?>[] values, Comparator<Object> valueOrder) {
+            this.version = version;
+            this.ids = ids;
+            this.values = values;
+            this.valueOrder = valueOrder;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public long idAt(int position) {
+            return ids[position];
+        }
+
+        /**
+         * First position after the given key, i.e. where the next page starts.
+         */
+        int positionAfter(Comparable<?> value, long id) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compareKeys(valueOrder, values[middle], ids[middle], value, id) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    private record Key(Long universityId, CourseSort sort, boolean descending) {
+    }
+
+    private final Map<Key, Ordering> orderings = new ConcurrentHashMap<>();
+
+    // University -> catalog version of the last change to its courses; orderings built before it are stale
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+    private volatile long clearedAt;
+
+    // -------------------------------
+    // READS
+    // -------------------------------
+    public Ordering ordering(CatalogSnapshot snapshot, Long universityId, CourseSort sort, boolean descending) {
+        Key key = new Key(universityId, sort, descending);
+        Ordering ordering = orderings.get(key);
+        if (ordering == null || isStale(ordering, universityId)) {
+            ordering = build(snapshot, universityId, sort, descending);
+            orderings.put(key, ordering);
+        }
+        return ordering;
+    }
+
+    private boolean isStale(Ordering ordering, Long universityId) {
+        return ordering.version < clearedAt || ordering.version < changedAt.getOrDefault(universityId, 0L);
+    }
+
+    private static Ordering build(CatalogSnapshot snapshot, Long universityId, CourseSort sort, boolean descending) {
+        List<CourseDetailDto> courseDetails = new ArrayList<>(snapshot.getCourseDetailsByUniversity(universityId));
+        Comparator<Object> valueOrder = valueOrder(sort, descending);
+        courseDetails.sort((left, right) -> compareKeys(valueOrder,
+                value(left, sort), left.getCourseId(), value(right, sort), right.getCourseId()));
+        long[] ids = new long[courseDetails.size()];
+        Comparable<?>[] values = new Comparable<?>[courseDetails.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = courseDetails.get(i).getCourseId();
+            values[i] = value(courseDetails.get(i), sort);
+        }
+        return new Ordering(snapshot.getVersion(), ids, values, valueOrder);
+    }
+
+    private static int compareKeys(Comparator<Object> valueOrder, Object leftValue, long leftId,
+                                   Object rightValue, long rightId) {
+        // Missing values last, whatever the direction
+        if (leftValue == null || rightValue == null) {
+            if (leftValue != rightValue) {
+                return leftValue == null ? 1 : -1;
+            }
+        } else {
+            int byValue = valueOrder.compare(leftValue, rightValue);
+            if (byValue != 0) {
+                return byValue;
+            }
+        }
+        return Long.compare(leftId, rightId);
+    }
+
+    private static Comparable<?> value(CourseDetailDto courseDetail, CourseSort sort) {
+        return switch (sort) {
+            case RATING -> courseDetail.getRating();
+            case DIFFICULTY -> courseDetail.getDifficulty();
+            case ENROLLED -> courseDetail.getEnrolled();
+            case CODE -> courseDetail.getCode();
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<Object> valueOrder(CourseSort sort, boolean descending) {
+        Comparator<Object> ascending = sort == CourseSort.CODE
+                ? (left, right) -> String.CASE_INSENSITIVE_ORDER.compare((String) left, (String) right)
+                : (left, right) -> ((Comparable) left).compareTo(right);
+        return descending ? ascending.reversed() : ascending;
+    }
+
+    // -------------------------------
+    // CURSORS
+    // -------------------------------
+    /**
+     * Cursor pointing just after the given position.
+     */
+    public String cursorAfter(Ordering ordering, int position, CourseSort sort, boolean descending) {
+        Comparable<?> value = ordering.values[position];
+        String text = String.join("|", CURSOR_VERSION, sort.name(), descending ? "d" : "a",
+                Long.toString(ordering.ids[position]), value == null ? "" : "v" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Position a page starts at when resuming from cursor. Throws IllegalArgumentException for a
+     * cursor that is malformed or was issued for another sort.
+     */
+    public int resume(Ordering ordering, String cursor, CourseSort sort, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 5);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 5 || !CURSOR_VERSION.equals(parts[0])
+                || !sort.name().equals(parts[1]) || !(descending ? "d" : "a").equals(parts[2])) {
+            throw new IllegalArgumentException("Cursor does not match this sort");
+        }
+        try {
+            long id = Long.parseLong(parts[3]);
+            Comparable<?> value = parts[4].isEmpty() ? null : parseValue(sort, parts[4].substring(1));
+            return ordering.positionAfter(value, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Comparable<?> parseValue(CourseSort sort, String text) {
+        return switch (sort) {
+            case RATING, DIFFICULTY -> new BigDecimal(text);
+            case ENROLLED -> Integer.valueOf(text);
+            case CODE -> text;
+        };
+    }
+
+    // -------------------------------
+    // INVALIDATION
+    // -------------------------------
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        CatalogChangedEvent change = event.getChange();
+        long version = event.getSnapshot().getVersion();
+        if (change == null) {
+            clearedAt = version;
+            orderings.clear();
+            return;
+        }
+        if (change.getKind() != CatalogChangedEvent.Kind.COURSE_DETAIL) {
+            return;
+        }
+        // The course may have moved: drop the orderings that hold it and those of its university now
+        Set<Long> affected = new HashSet<>();
+        orderings.forEach((key, ordering) -> {
+            for (long id : ordering.ids) {
+                if (id == change.getId()) {
+                    affected.add(key.universityId());
+                    break;
+                }
+            }
+        });
+        CourseDetailDto courseDetail = event.getSnapshot().getCourseDetail(change.getId());
+        if (courseDetail != null) {
+            affected.add(courseDetail.getUniversityId());
+        }
+        for (Long universityId : affected) {
+            changedAt.put(universityId, version);
+            orderings.keySet().removeIf(key -> key.universityId().equals(universityId));
+        }
+    }
+}
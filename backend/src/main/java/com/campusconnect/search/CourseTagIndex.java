@@ -0,0 +1,261 @@
+package com.campusconnect.search;
+
+import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.TagMatch;
+import com.campusconnect.event.CatalogChangedEvent;
+import com.campusconnect.event.CatalogUpdatedEvent;
+import com.campusconnect.service.CatalogService;
+import com.campusconnect.service.CatalogSnapshot;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Posting lists over the CourseDetail JSON columns: tag -> course detail ids, prerequisite code ->
+ * ids of the courses that require it, and university -> ids for scoping.
+ *
+ * Each list is a sorted long[] replaced copy-on-write, so a filter such as "tagged
+ * machine-learning AND python at university 3" is a merge of a few sorted arrays instead of a
+ * scan over every course. Tags are matched after TextNormalizer ("Machine Learning" =
+ * "machine-learning"), prerequisite codes also ignoring spacing ("CS 101" = "cs101").
+ * Kept in step with the catalog snapshot like the search indexes.
+ */
+@Component
+public class CourseTagIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final CatalogService catalogService;
+
+    private final Map<String, long[]> byTag = new ConcurrentHashMap<>();
+    private final Map<String, long[]> byPrerequisite = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> byUniversity = new ConcurrentHashMap<>();
+
+    // What each course was last indexed under, to take it out again
+    private final Map<Long, Indexed> indexed = new HashMap<>();
+
+    // Catalog version the index reflects; 0 until first built
+    private volatile long indexedVersion;
+
+    private record Indexed(Set<String> tags, Set<String> prerequisites, Long universityId) {
+    }
+
+    public CourseTagIndex(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    // -------------------------------
+    // QUERIES
+    // -------------------------------
+    /**
+     * Ids of course details carrying all (or any) of the tags, optionally narrowed to one
+     * university and/or to courses that list a prerequisite. Ascending id order.
+     */
+    public long[] find(Collection<String> tags, TagMatch match, Long universityId, String prerequisite) {
+        if (indexedVersion == 0) {
+            rebuild(catalogService.snapshot());
+        }
+        List<long[]> required = new ArrayList<>();
+        if (tags != null && !tags.isEmpty()) {
+            List<long[]> tagLists = new ArrayList<>();
+            for (String tag : tags) {
+                tagLists.add(byTag.getOrDefault(tagKey(tag), EMPTY));
+            }
+            required.add(match == TagMatch.ANY ? union(tagLists) : intersect(tagLists));
+        }
+        if (universityId != null) {
+            required.add(byUniversity.getOrDefault(universityId, EMPTY));
+        }
+        if (prerequisite != null && !prerequisite.isBlank()) {
+            required.add(byPrerequisite.getOrDefault(codeKey(prerequisite), EMPTY));
+        }
+        return intersect(required);
+    }
+
+    // Smallest list first, so each step costs at most the size of the running result
+    static long[] intersect(List<long[]> lists) {
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        List<long[]> sorted = new ArrayList<>(lists);
+        sorted.sort(Comparator.comparingInt(list -> list.length));
+        long[] result = sorted.get(0);
+        for (int k = 1; k < sorted.size() && result.length > 0; k++) {
+            long[] other = sorted.get(k);
+            long[] next = new long[result.length];
+            int size = 0;
+            int j = 0;
+            for (long id : result) {
+                // Gallop: the other list is usually much longer
+                j = lowerBound(other, j, id);
+                if (j == other.length) {
+                    break;
+                }
+                if (other[j] == id) {
+                    next[size++] = id;
+                }
+            }
+            result = Arrays.copyOf(next, size);
+        }
+        return result;
+    }
+
+    static long[] union(List<long[]> lists) {
+        int total = 0;
+        for (long[] list : lists) {
+            total += list.length;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] list : lists) {
+            System.arraycopy(list, 0, all, offset, list.length);
+            offset += list.length;
+        }
+        Arrays.sort(all);
+        int size = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (size == 0 || all[size - 1] != all[i]) {
+                all[size++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, size);
+    }
+
+    // First index >= from holding a value >= id
+    private static int lowerBound(long[] list, int from, long id) {
+        int step = 1;
+        int high = from;
+        while (high < list.length && list[high] < id) {
+            from = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(list, from, Math.min(high + 1, list.length), id);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    // -------------------------------
+    // MAINTENANCE
+    // -------------------------------
+    @EventListener
+    public synchronized void onCatalogUpdated(CatalogUpdatedEvent event) {
+        CatalogChangedEvent change = event.getChange();
+        if (change == null || indexedVersion == 0) {
+            rebuild(event.getSnapshot());
+            return;
+        }
+        if (change.getKind() == CatalogChangedEvent.Kind.COURSE_DETAIL) {
+            Long id = change.getId();
+            Indexed previous = indexed.remove(id);
+            if (previous != null) {
+                previous.tags().forEach(tag -> byTag.computeIfPresent(tag, (key, ids) -> without(ids, id)));
+                previous.prerequisites().forEach(code -> byPrerequisite.computeIfPresent(code, (key, ids) -> without(ids, id)));
+                if (previous.universityId() != null) {
+                    byUniversity.computeIfPresent(previous.universityId(), (key, ids) -> without(ids, id));
+                }
+            }
+            CourseDetailDto courseDetail = event.getSnapshot().getCourseDetail(id);
+            if (courseDetail != null) {
+                Indexed current = keys(courseDetail);
+                current.tags().forEach(tag -> byTag.merge(tag, new long[]{id}, CourseTagIndex::with));
+                current.prerequisites().forEach(code -> byPrerequisite.merge(code, new long[]{id}, CourseTagIndex::with));
+                if (current.universityId() != null) {
+                    byUniversity.merge(current.universityId(), new long[]{id}, CourseTagIndex::with);
+                }
+                indexed.put(id, current);
+            }
+        }
+        indexedVersion = event.getSnapshot().getVersion();
+    }
+
+    private synchronized void rebuild(CatalogSnapshot snapshot) {
+        if (indexedVersion >= snapshot.getVersion() && indexedVersion != 0) {
+            return;
+        }
+        Map<String, List<Long>> tags = new HashMap<>();
+        Map<String, List<Long>> prerequisites = new HashMap<>();
+        Map<Long, List<Long>> universities = new HashMap<>();
+        indexed.clear();
+        // Snapshot lists are in ascending id order, so the postings come out sorted
+        for (CourseDetailDto courseDetail : snapshot.getCourseDetails()) {
+            Long id = courseDetail.getCourseId();
+            Indexed keys = keys(courseDetail);
+            keys.tags().forEach(tag -> tags.computeIfAbsent(tag, k -> new ArrayList<>()).add(id));
+            keys.prerequisites().forEach(code -> prerequisites.computeIfAbsent(code, k -> new ArrayList<>()).add(id));
+            if (keys.universityId() != null) {
+                universities.computeIfAbsent(keys.universityId(), k -> new ArrayList<>()).add(id);
+            }
+            indexed.put(id, keys);
+        }
+        replace(byTag, tags);
+        replace(byPrerequisite, prerequisites);
+        replace(byUniversity, universities);
+        indexedVersion = snapshot.getVersion();
+    }
+
+    private static <K> void replace(Map<K, long[]> target, Map<K, List<Long>> source) {
+        target.keySet().retainAll(source.keySet());
+        source.forEach((key, ids) -> target.put(key, ids.stream().mapToLong(Long::longValue).toArray()));
+    }
+
+    private static Indexed keys(CourseDetailDto courseDetail) {
+        Set<String> tags = new HashSet<>();
+        if (courseDetail.getTags() != null) {
+            for (String tag : courseDetail.getTags()) {
+                String key = tagKey(tag);
+                if (!key.isEmpty()) {
+                    tags.add(key);
+                }
+            }
+        }
+        Set<String> prerequisites = new HashSet<>();
+        if (courseDetail.getPrerequisites() != null) {
+            for (String code : courseDetail.getPrerequisites()) {
+                String key = codeKey(code);
+                if (!key.isEmpty()) {
+                    prerequisites.add(key);
+                }
+            }
+        }
+        return new Indexed(tags, prerequisites, courseDetail.getUniversityId());
+    }
+
+    static String tagKey(String tag) {
+        return TextNormalizer.normalize(tag);
+    }
+
+    static String codeKey(String code) {
+        return TextNormalizer.normalize(code).replace(" ", "");
+    }
+
+    private static long[] with(long[] ids, long[] added) {
+        long id = added[0];
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        long[] next = new long[ids.length + 1];
+        System.arraycopy(ids, 0, next, 0, insertAt);
+        next[insertAt] = id;
+        System.arraycopy(ids, insertAt, next, insertAt + 1, ids.length - insertAt);
+        return next;
+    }
+
+    // null drops the posting list once it is empty
+    private static long[] without(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] next = new long[ids.length - 1];
+        System.arraycopy(ids, 0, next, 0, index);
+        System.arraycopy(ids, index + 1, next, index, ids.length - index - 1);
+        return next;
+    }
+}
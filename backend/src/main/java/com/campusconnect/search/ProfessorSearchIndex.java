@@ -0,0 +1,169 @@
+package com.campusconnect.search;
+
+import com.campusconnect.dto.ProfessorDto;
+import com.campusconnect.event.CatalogChangedEvent;
+import com.campusconnect.event.CatalogUpdatedEvent;
+import com.campusconnect.event.RatingChangedEvent;
+import com.campusconnect.repository.RatingRepository;
+import com.campusconnect.repository.TargetCount;
+import com.campusconnect.service.CatalogService;
+import com.campusconnect.service.CatalogSnapshot;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Professor search over name and department.
+ *
+ * Tokens live in a SearchIndex kept in step with the catalog snapshot: a professor saved or
+ * deleted through ProfessorService is re-indexed when its CatalogUpdatedEvent arrives. Results
+ * are read back from the snapshot, so they always show current names. Ranking combines match
+ * quality with the professor's rating volume, which follows rating events and is recounted
+ * periodically.
+ */
+@Component
+public class ProfessorSearchIndex {
+
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double DEPARTMENT_WEIGHT = 0.5;
+    private static final double NAME_PREFIX_BONUS = 2.0;
+    private static final double POPULARITY_WEIGHT = 0.5;
+
+    private static final Comparator<ProfessorDto> BY_NAME =
+            Comparator.comparing(ProfessorDto::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private final CatalogService catalogService;
+    private final RatingRepository ratingRepository;
+    private final SearchIndex<Long> index = new SearchIndex<>();
+    private final Map<Long, Long> ratingCounts = new ConcurrentHashMap<>();
+
+    // Catalog version the index reflects; 0 until first built
+    private volatile long indexedVersion;
+
+    public ProfessorSearchIndex(CatalogService catalogService, RatingRepository ratingRepository) {
+        this.catalogService = catalogService;
+        this.ratingRepository = ratingRepository;
+    }
+
+    // -------------------------------
+    // SEARCH
+    // -------------------------------
+    /**
+     * Professors matching the query, best first. A blank query lists the filtered professors by rating volume.
+     */
+    public List<ProfessorDto> search(String query, Long universityId, String department, int limit) {
+        CatalogSnapshot snapshot = catalogService.snapshot();
+        if (indexedVersion == 0) {
+            rebuild(snapshot);
+        }
+        String departmentFilter = department == null || department.isBlank() ? null : TextNormalizer.normalize(department);
+
+        if (query == null || query.isBlank()) {
+            return snapshot.getProfessors().stream()
+                    .filter(p -> accepts(p, universityId, departmentFilter))
+                    .sorted(Comparator.comparingLong((ProfessorDto p) -> ratingCount(p.getProfessorId()))
+                            .reversed().thenComparing(BY_NAME))
+                    .limit(limit)
+                    .toList();
+        }
+
+        String normalizedQuery = TextNormalizer.normalize(query);
+        record Ranked(ProfessorDto professor, double score) {
+        }
+        List<Ranked> ranked = new ArrayList<>();
+        for (SearchIndex.Match<Long> match : index.search(query, id -> true)) {
+            ProfessorDto professor = snapshot.getProfessor(match.key());
+            if (professor == null || !accepts(professor, universityId, departmentFilter)) {
+                continue;
+            }
+            double score = match.score();
+            if (TextNormalizer.normalize(professor.getName()).startsWith(normalizedQuery)) {
+                score += NAME_PREFIX_BONUS;
+            }
+            score += POPULARITY_WEIGHT * Math.log1p(ratingCount(professor.getProfessorId()));
+            ranked.add(new Ranked(professor, score));
+        }
+        return ranked.stream()
+                .sorted(Comparator.comparingDouble(Ranked::score).reversed()
+                        .thenComparing(Ranked::professor, BY_NAME))
+                .limit(limit)
+                .map(Ranked::professor)
+                .toList();
+    }
+
+    private static boolean accepts(ProfessorDto professor, Long universityId, String department) {
+        if (universityId != null && !universityId.equals(professor.getUniversityId())) {
+            return false;
+        }
+        return department == null || department.equals(TextNormalizer.normalize(professor.getDepartment()));
+    }
+
+    private long ratingCount(Long professorId) {
+        return ratingCounts.getOrDefault(professorId, 0L);
+    }
+
+    // -------------------------------
+    // MAINTENANCE
+    // -------------------------------
+    @EventListener
+    public synchronized void onCatalogUpdated(CatalogUpdatedEvent event) {
+        CatalogChangedEvent change = event.getChange();
+        if (change == null || indexedVersion == 0) {
+            rebuild(event.getSnapshot());
+            return;
+        }
+        if (change.getKind() == CatalogChangedEvent.Kind.PROFESSOR) {
+            ProfessorDto professor = event.getSnapshot().getProfessor(change.getId());
+            if (professor == null) {
+                index.remove(change.getId());
+                ratingCounts.remove(change.getId());
+            } else {
+                index.put(professor.getProfessorId(), fields(professor));
+            }
+        }
+        indexedVersion = event.getSnapshot().getVersion();
+    }
+
+    private synchronized void rebuild(CatalogSnapshot snapshot) {
+        if (indexedVersion >= snapshot.getVersion() && indexedVersion != 0) {
+            return;
+        }
+        index.clear();
+        for (ProfessorDto professor : snapshot.getProfessors()) {
+            index.put(professor.getProfessorId(), fields(professor));
+        }
+        indexedVersion = snapshot.getVersion();
+    }
+
+    private static List<SearchIndex.Field> fields(ProfessorDto professor) {
+        return List.of(new SearchIndex.Field(professor.getName(), NAME_WEIGHT),
+                new SearchIndex.Field(professor.getDepartment(), DEPARTMENT_WEIGHT));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        if (event.getProfessorId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED -> ratingCounts.merge(event.getProfessorId(), 1L, Long::sum);
+            case DELETED -> ratingCounts.computeIfPresent(event.getProfessorId(), (id, count) -> count > 1 ? count - 1 : null);
+            default -> { }
+        }
+    }
+
+    // Also picks up bulk imports, which bypass rating events
+    @Scheduled(fixedDelayString = "${search.popularity-refresh-interval-ms:900000}")
+    public void recountRatings() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (TargetCount count : ratingRepository.countByProfessor()) {
+            counts.put(count.getTargetId(), count.getCount());
+        }
+        ratingCounts.keySet().retainAll(counts.keySet());
+        ratingCounts.putAll(counts);
+    }
+}
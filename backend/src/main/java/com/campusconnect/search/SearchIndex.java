@@ -0,0 +1,213 @@
+package com.campusconnect.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index from normalized tokens to document keys.
+ *
+ * Each document is a set of weighted text fields (e.g. name 1.0, department 0.5). A query
+ * matches a document when every query token matches one of its tokens, exactly, as a prefix,
+ * or, when neither finds anything, within a small edit distance (typos and swapped letters).
+ * The returned score sums the best match per query token times the field weight; callers add
+ * their own ranking signals.
+ *
+ * Updates replace one document at a time under a write lock; searches share a read lock.
+ */
+public class SearchIndex<K> {
+
+    private static final double EXACT = 3.0;
+    private static final double PREFIX = 2.0;
+    private static final double FUZZY = 1.0;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    /**
+     * A text field of a document and how much a match in it counts.
+     */
+    public record Field(String text, double weight) {
+    }
+
+    public record Match<K>(K key, double score) {
+    }
+
+    // token -> document -> best field weight; sorted for prefix lookups
+    private final NavigableMap<String, Map<K, Double>> postings = new TreeMap<>();
+    private final Map<K, Set<String>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(K key, List<Field> fields) {
+        Map<String, Double> tokens = new HashMap<>();
+        for (Field field : fields) {
+            for (String token : TextNormalizer.tokenize(field.text())) {
+                tokens.merge(token, field.weight(), Math::max);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            tokens.forEach((token, weight) -> postings.computeIfAbsent(token, t -> new HashMap<>()).put(key, weight));
+            documents.put(key, tokens.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(K key) {
+        Set<String> tokens = documents.remove(key);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<K, Double> docs = postings.get(token);
+            if (docs != null) {
+                docs.remove(key);
+                if (docs.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Documents matching every token of the query and accepted by the filter, unordered.
+     * An empty query returns no matches.
+     */
+    public List<Match<K>> search(String query, Predicate<K> filter) {
+        List<String> queryTokens = TextNormalizer.tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<K, Double> scores = null;
+            for (String queryToken : queryTokens) {
+                Map<K, Double> tokenScores = matchToken(queryToken);
+                if (scores == null) {
+                    scores = new HashMap<>();
+                    for (Map.Entry<K, Double> entry : tokenScores.entrySet()) {
+                        if (filter.test(entry.getKey())) {
+                            scores.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                } else {
+                    // AND: keep documents that also match this token
+                    Iterator<Map.Entry<K, Double>> it = scores.entrySet().iterator();
+                    while (it.hasNext()) {
+                        Map.Entry<K, Double> entry = it.next();
+                        Double score = tokenScores.get(entry.getKey());
+                        if (score == null) {
+                            it.remove();
+                        } else {
+                            entry.setValue(entry.getValue() + score);
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Match<K>> matches = new ArrayList<>(scores.size());
+            scores.forEach((key, score) -> matches.add(new Match<>(key, score)));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per document for one query token
+    private Map<K, Double> matchToken(String queryToken) {
+        Map<K, Double> scores = new HashMap<>();
+        Map<K, Double> exact = postings.get(queryToken);
+        if (exact != null) {
+            exact.forEach((key, weight) -> scores.merge(key, EXACT * weight, Math::max));
+        }
+        if (queryToken.length() >= MIN_PREFIX_LENGTH) {
+            for (Map.Entry<String, Map<K, Double>> term
+                    : postings.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false).entrySet()) {
+                // Closer to a whole-word match scores higher
+                double closeness = (double) queryToken.length() / term.getKey().length();
+                term.getValue().forEach((key, weight) ->
+                        scores.merge(key, (PREFIX + closeness * 0.5) * weight, Math::max));
+            }
+        }
+        if (scores.isEmpty() && queryToken.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = queryToken.length() >= 8 ? 2 : 1;
+            for (Map.Entry<String, Map<K, Double>> term : postings.entrySet()) {
+                int distance = boundedDistance(queryToken, term.getKey(), maxEdits);
+                if (distance <= maxEdits) {
+                    double quality = FUZZY - 0.25 * (distance - 1);
+                    term.getValue().forEach((key, weight) -> scores.merge(key, quality * weight, Math::max));
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Edit distance counting insertions, deletions, substitutions and adjacent swaps
+     * (optimal string alignment), or max + 1 as soon as it must exceed max.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, beforePrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
@@ -10,12 +10,14 @@ import java.util.List;
 public class UserPrincipal implements UserDetails {
     private final Long id;
     private final String email;
+    private final String name;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
 
-    public UserPrincipal(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+    public UserPrincipal(Long id, String email, String name, String password, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.email = email;
+        this.name = name;
         this.password = password;
         this.authorities = authorities;
     }
@@ -24,6 +26,7 @@ public class UserPrincipal implements UserDetails {
         return new UserPrincipal(
                 user.getUserId(),
                 user.getEmail(),
+                user.getName(),
                 user.getPasswordHash(),
                 List.of(() -> "ROLE_" + user.getRole().name())
         );
@@ -33,6 +36,11 @@ public class UserPrincipal implements UserDetails {
         return id;
     }
 
+    // Display name as of this request, so chat can label messages without reloading the user
+    public String getName() {
+        return name;
+    }
+
     @Override
     public String getUsername() {
         return email;
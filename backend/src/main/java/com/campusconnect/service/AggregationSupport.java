@@ -0,0 +1,39 @@
+package com.campusconnect.service;
+
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Helpers shared by the aggregate read services, which run a few queries concurrently and wait
+ * for them against one deadline.
+ */
+final class AggregationSupport {
+
+    private AggregationSupport() {
+    }
+
+    /**
+     * Result of future if it completes before deadline (System.nanoTime()); otherwise fallback,
+     * with section added to unavailable.
+     */
+    static <T> T await(CompletableFuture<T> future, long deadline, String section,
+                       List<String> unavailable, T fallback, Logger logger) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Section {} timed out", section);
+        } catch (ExecutionException e) {
+            logger.warn("Section {} failed", section, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(section);
+        return fallback;
+    }
+}
@@ -0,0 +1,16 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.ImportJobDto;
+import com.campusconnect.importer.ImportFormat;
+
+import java.io.InputStream;
+
+public interface CatalogImportService {
+
+    /**
+     * Queue a bulk upsert of universities, professors and course details. Rows say what they are
+     * in a type column; defaultType (may be null) applies to rows without one.
+     * Progress and rejected rows are available from the returned job.
+     */
+    ImportJobDto startImport(InputStream body, ImportFormat format, String defaultType);
+}
@@ -0,0 +1,581 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.ImportJobDto;
+import com.campusconnect.entity.StringListConverter;
+import com.campusconnect.importer.BatchInserts;
+import com.campusconnect.importer.ImportFormat;
+import com.campusconnect.importer.ImportJob;
+import com.campusconnect.importer.ImportJobRegistry;
+import com.campusconnect.importer.ImportRecord;
+import com.campusconnect.importer.ImportRecordReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Bulk upsert of the catalog (universities, professors, course details) from CSV or NDJSON.
+ *
+ * Each row has a type column (university, professor or course) unless the whole file is of one
+ * type. Natural keys decide insert versus update: university name, professor email, and
+ * (university, course code) for course details, all ignoring case. Existing keys are loaded
+ * into maps once per job and a key seen twice in the file is rejected, so no per-row exists
+ * checks are issued. Columns:
+ *  - university: name; optional location, city, state, country
+ *  - professor: email, name; universityId or universityName; optional department
+ *  - course: code, name; universityId or universityName; optional professorEmail or professorId,
+ *    credits, description, workload, tags, prerequisites (JSON array or values separated by ';')
+ *
+ * Rows are written per chunk in one transaction: universities first, then professors, then
+ * course details, so a row may refer to one earlier in the same chunk or in an earlier chunk.
+ * Inserts and updates each go out as one JDBC batch; updates only overwrite the columns a row
+ * provides. The catalog snapshot (and every index built on it) is reloaded once at the end.
+ */
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportServiceImpl.class);
+
+    private static final String INSERT_UNIVERSITY =
+            "INSERT INTO universities (name, location, city, state, country) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_UNIVERSITY =
+            "UPDATE universities SET location = COALESCE(?, location), city = COALESCE(?, city), " +
+            "state = COALESCE(?, state), country = COALESCE(?, country) WHERE university_id = ?";
+    private static final String INSERT_PROFESSOR =
+            "INSERT INTO professors (email, name, department, university_id) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_PROFESSOR =
+            "UPDATE professors SET name = COALESCE(?, name), department = COALESCE(?, department), " +
+            "university_id = COALESCE(?, university_id) WHERE professor_id = ?";
+    private static final String INSERT_COURSE_DETAIL =
+            "INSERT INTO course_details (university_id, code, name, professor_id, credits, description, " +
+            "workload, tags, prerequisites, reviews, enrolled) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
+    private static final String UPDATE_COURSE_DETAIL =
+            "UPDATE course_details SET name = COALESCE(?, name), professor_id = COALESCE(?, professor_id), " +
+            "credits = COALESCE(?, credits), description = COALESCE(?, description), " +
+            "workload = COALESCE(?, workload), tags = COALESCE(?, tags), " +
+            "prerequisites = COALESCE(?, prerequisites) WHERE course_id = ?";
+
+    private static final int[] UNIVERSITY_INSERT_TYPES = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR };
+    private static final int[] UNIVERSITY_UPDATE_TYPES = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT };
+    private static final int[] PROFESSOR_INSERT_TYPES = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT };
+    private static final int[] PROFESSOR_UPDATE_TYPES = { Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.BIGINT };
+    private static final int[] COURSE_INSERT_TYPES = { Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.BIGINT,
+            Types.TINYINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR };
+    private static final int[] COURSE_UPDATE_TYPES = { Types.VARCHAR, Types.BIGINT, Types.TINYINT, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT };
+
+    private static final StringListConverter LIST_CONVERTER = new StringListConverter();
+
+    private enum RowType { UNIVERSITY, PROFESSOR, COURSE }
+
+    private final ImportJobRegistry importJobRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogService catalogService;
+    private final int chunkSize;
+
+    public CatalogImportServiceImpl(ImportJobRegistry importJobRegistry,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    CatalogService catalogService,
+                                    @Value("${import.chunk-size:500}") int chunkSize) {
+        this.importJobRegistry = importJobRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogService = catalogService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportJobDto startImport(InputStream body, ImportFormat format, String defaultType) {
+        RowType fileType = defaultType == null || defaultType.isBlank() ? null : parseType(defaultType);
+        return importJobRegistry.submit("catalog", format, body, (job, reader) -> runImport(job, reader, fileType));
+    }
+
+    // -------------------------------
+    // IMPORT LOOP
+    // -------------------------------
+    private void runImport(ImportJob job, ImportRecordReader reader, RowType fileType) throws IOException {
+        Lookups lookups = loadLookups();
+        Chunk chunk = new Chunk();
+        int read = 0;
+        ImportRecord record;
+        try {
+            while ((record = reader.next()) != null) {
+                read++;
+                validate(record, fileType, lookups, chunk, job);
+                if (read == chunkSize) {
+                    write(chunk, lookups, job);
+                    job.rowsRead(read);
+                    read = 0;
+                }
+            }
+            write(chunk, lookups, job);
+            job.rowsRead(read);
+        } catch (IOException | RuntimeException e) {
+            // Chunks committed before the failure stay imported and must become visible too
+            try {
+                catalogService.reload();
+            } catch (RuntimeException reloadFailure) {
+                e.addSuppressed(reloadFailure);
+            }
+            throw e;
+        }
+
+        // Writes went around the services, so caches and indexes are refreshed once here
+        catalogService.reload();
+    }
+
+    private void validate(ImportRecord record, RowType fileType, Lookups lookups, Chunk chunk, ImportJob job) {
+        long row = record.rowNumber();
+        if (record.error() != null) {
+            job.reject(row, record.error());
+            return;
+        }
+        try {
+            String typeText = record.get("type", "recordType");
+            RowType type = typeText != null ? parseType(typeText) : fileType;
+            if (type == null) {
+                throw new IllegalArgumentException("type is required (university, professor or course)");
+            }
+            switch (type) {
+                case UNIVERSITY -> {
+                    String name = required(record, "name", "universityName");
+                    claim(lookups.seenUniversities, name.toLowerCase(Locale.ROOT), row, "university " + name);
+                    chunk.universities.add(new UniversityRow(row, name, record.get("location"), record.get("city"),
+                            record.get("state"), record.get("country")));
+                }
+                case PROFESSOR -> {
+                    String email = required(record, "email", "professorEmail");
+                    claim(lookups.seenProfessors, email.toLowerCase(Locale.ROOT), row, "professor " + email);
+                    chunk.professors.add(new ProfessorRow(row, email, record.get("name", "professorName"),
+                            record.get("department"), universityRef(record)));
+                }
+                case COURSE -> {
+                    String code = required(record, "code", "courseCode");
+                    UniversityRef university = universityRef(record);
+                    if (university == null) {
+                        throw new IllegalArgumentException("universityId or universityName is required");
+                    }
+                    // Claimed once its university id is resolved, see writeCourses
+                    String credits = record.get("credits");
+                    chunk.courses.add(new CourseRow(row, university, code, record.get("name", "courseName"),
+                            record.get("professorEmail"), optionalLong(record.get("professorId"), "professorId"),
+                            credits != null ? parseCredits(credits) : null, record.get("description"),
+                            record.get("workload"), parseList(record.get("tags")), parseList(record.get("prerequisites"))));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            job.reject(row, e.getMessage());
+        }
+    }
+
+    // A natural key may appear once per file; later rows would silently overwrite earlier ones
+    private static void claim(Map<String, Long> seen, String key, long row, String label) {
+        Long first = seen.putIfAbsent(key, row);
+        if (first != null) {
+            throw new IllegalArgumentException("Duplicate " + label + " (first seen on row " + first + ")");
+        }
+    }
+
+    // -------------------------------
+    // WRITES
+    // -------------------------------
+    private void write(Chunk chunk, Lookups lookups, ImportJob job) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            record(writeChunk(chunk, lookups), lookups, job);
+        } catch (Exception e) {
+            logger.warn("Import {}: chunk of {} rows failed, retrying row by row: {}",
+                    job.getJobId(), chunk.size(), e.getMessage());
+            // Same phase order, one row per transaction, so references to rows before it still resolve
+            for (Chunk single : chunk.split()) {
+                try {
+                    record(writeChunk(single, lookups), lookups, job);
+                } catch (Exception rowFailure) {
+                    job.reject(single.firstRow(), "Write failed: " + rootMessage(rowFailure));
+                }
+            }
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    // Applies the new keys and counters once the chunk has committed
+    private void record(ChunkResult result, Lookups lookups, ImportJob job) {
+        lookups.universityIdByName.putAll(result.newUniversities);
+        lookups.universityIds.addAll(result.newUniversities.values());
+        lookups.professorIdByEmail.putAll(result.newProfessors);
+        lookups.professorIds.addAll(result.newProfessors.values());
+        lookups.courseDetailIdByKey.putAll(result.newCourses);
+        lookups.seenCourses.putAll(result.claimedCourses);
+        result.rejections.forEach(job::reject);
+        job.imported(result.written);
+        result.counters.forEach(job::count);
+    }
+
+    private ChunkResult writeChunk(Chunk chunk, Lookups lookups) {
+        return transactionTemplate.execute(status -> {
+            ChunkResult result = new ChunkResult();
+            writeUniversities(chunk.universities, lookups, result);
+            writeProfessors(chunk.professors, lookups, result);
+            writeCourses(chunk.courses, lookups, result);
+            return result;
+        });
+    }
+
+    private void writeUniversities(List<UniversityRow> rows, Lookups lookups, ChunkResult result) {
+        List<UniversityRow> inserted = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (UniversityRow row : rows) {
+            Long id = lookups.universityIdByName.get(row.name().toLowerCase(Locale.ROOT));
+            if (id == null) {
+                inserted.add(row);
+                inserts.add(new Object[] { row.name(), row.location(), row.city(), row.state(), row.country() });
+            } else {
+                updates.add(new Object[] { row.location(), row.city(), row.state(), row.country(), id });
+            }
+        }
+        List<Long> ids = BatchInserts.insertReturningKeys(jdbcTemplate, INSERT_UNIVERSITY, inserts, UNIVERSITY_INSERT_TYPES);
+        for (int i = 0; i < ids.size(); i++) {
+            result.newUniversities.put(inserted.get(i).name().toLowerCase(Locale.ROOT), ids.get(i));
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_UNIVERSITY, updates, UNIVERSITY_UPDATE_TYPES);
+        }
+        result.written(inserts.size() + updates.size());
+        result.count("universitiesCreated", inserts.size());
+        result.count("universitiesUpdated", updates.size());
+    }
+
+    private void writeProfessors(List<ProfessorRow> rows, Lookups lookups, ChunkResult result) {
+        List<ProfessorRow> inserted = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (ProfessorRow row : rows) {
+            String email = row.email().toLowerCase(Locale.ROOT);
+            Long id = lookups.professorIdByEmail.get(email);
+            Long universityId;
+            try {
+                universityId = row.university() == null ? null : resolveUniversity(row.university(), lookups, result);
+            } catch (IllegalArgumentException e) {
+                result.rejections.put(row.rowNumber(), e.getMessage());
+                continue;
+            }
+            if (id == null) {
+                if (row.name() == null) {
+                    result.rejections.put(row.rowNumber(), "name is required for a new professor");
+                    continue;
+                }
+                inserted.add(row);
+                inserts.add(new Object[] { row.email(), row.name(), row.department(), universityId });
+            } else {
+                updates.add(new Object[] { row.name(), row.department(), universityId, id });
+            }
+        }
+        List<Long> ids = BatchInserts.insertReturningKeys(jdbcTemplate, INSERT_PROFESSOR, inserts, PROFESSOR_INSERT_TYPES);
+        for (int i = 0; i < ids.size(); i++) {
+            result.newProfessors.put(inserted.get(i).email().toLowerCase(Locale.ROOT), ids.get(i));
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PROFESSOR, updates, PROFESSOR_UPDATE_TYPES);
+        }
+        result.written(inserts.size() + updates.size());
+        result.count("professorsCreated", inserts.size());
+        result.count("professorsUpdated", updates.size());
+    }
+
+    private void writeCourses(List<CourseRow> rows, Lookups lookups, ChunkResult result) {
+        List<String> insertedKeys = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (CourseRow row : rows) {
+            long universityId;
+            Long professorId;
+            try {
+                universityId = resolveUniversity(row.university(), lookups, result);
+                professorId = resolveProfessor(row, lookups, result);
+            } catch (IllegalArgumentException e) {
+                result.rejections.put(row.rowNumber(), e.getMessage());
+                continue;
+            }
+            String key = courseKey(universityId, row.code());
+            // By id or by name the university is the same, so duplicates are only known here
+            Long first = lookups.seenCourses.getOrDefault(key, result.claimedCourses.get(key));
+            if (first != null) {
+                result.rejections.put(row.rowNumber(),
+                        "Duplicate course " + row.code() + " (first seen on row " + first + ")");
+                continue;
+            }
+            Long id = lookups.courseDetailIdByKey.get(key);
+            String tags = row.tags() == null ? null : LIST_CONVERTER.convertToDatabaseColumn(row.tags());
+            String prerequisites = row.prerequisites() == null ? null
+                    : LIST_CONVERTER.convertToDatabaseColumn(row.prerequisites());
+            if (id == null) {
+                if (row.name() == null) {
+                    result.rejections.put(row.rowNumber(), "name is required for a new course");
+                    continue;
+                }
+                result.claimedCourses.put(key, row.rowNumber());
+                insertedKeys.add(key);
+                inserts.add(new Object[] { universityId, row.code(), row.name(), professorId, row.credits(),
+                        row.description(), row.workload(), tags, prerequisites });
+            } else {
+                result.claimedCourses.put(key, row.rowNumber());
+                updates.add(new Object[] { row.name(), professorId, row.credits(), row.description(),
+                        row.workload(), tags, prerequisites, id });
+            }
+        }
+        List<Long> ids = BatchInserts.insertReturningKeys(jdbcTemplate, INSERT_COURSE_DETAIL, inserts, COURSE_INSERT_TYPES);
+        for (int i = 0; i < ids.size(); i++) {
+            result.newCourses.put(insertedKeys.get(i), ids.get(i));
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_COURSE_DETAIL, updates, COURSE_UPDATE_TYPES);
+        }
+        result.written(inserts.size() + updates.size());
+        result.count("courseDetailsCreated", inserts.size());
+        result.count("courseDetailsUpdated", updates.size());
+    }
+
+    // Universities of this chunk are written first, so both maps are consulted
+    private long resolveUniversity(UniversityRef ref, Lookups lookups, ChunkResult result) {
+        if (ref.id() != null) {
+            if (!lookups.universityIds.contains(ref.id())) {
+                throw new IllegalArgumentException("Unknown university " + ref.id());
+            }
+            return ref.id();
+        }
+        String name = ref.name().toLowerCase(Locale.ROOT);
+        Long id = result.newUniversities.getOrDefault(name, lookups.universityIdByName.get(name));
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown university " + ref.name());
+        }
+        return id;
+    }
+
+    private Long resolveProfessor(CourseRow row, Lookups lookups, ChunkResult result) {
+        if (row.professorId() != null) {
+            if (!lookups.professorIds.contains(row.professorId())) {
+                throw new IllegalArgumentException("Unknown professor " + row.professorId());
+            }
+            return row.professorId();
+        }
+        if (row.professorEmail() == null) {
+            return null;
+        }
+        String email = row.professorEmail().toLowerCase(Locale.ROOT);
+        Long id = result.newProfessors.getOrDefault(email, lookups.professorIdByEmail.get(email));
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown professor " + row.professorEmail());
+        }
+        return id;
+    }
+
+    // -------------------------------
+    // LOOKUPS
+    // -------------------------------
+    private Lookups loadLookups() {
+        Lookups lookups = new Lookups();
+        jdbcTemplate.query("SELECT university_id, name FROM universities", rs -> {
+            lookups.universityIds.add(rs.getLong(1));
+            lookups.universityIdByName.putIfAbsent(rs.getString(2).toLowerCase(Locale.ROOT), rs.getLong(1));
+        });
+        jdbcTemplate.query("SELECT professor_id, email FROM professors", rs -> {
+            lookups.professorIds.add(rs.getLong(1));
+            String email = rs.getString(2);
+            if (email != null) {
+                lookups.professorIdByEmail.put(email.toLowerCase(Locale.ROOT), rs.getLong(1));
+            }
+        });
+        jdbcTemplate.query("SELECT course_id, university_id, code FROM course_details", rs -> {
+            lookups.courseDetailIdByKey.put(courseKey(rs.getLong(2), rs.getString(3)), rs.getLong(1));
+        });
+        return lookups;
+    }
+
+    private static String courseKey(long universityId, String code) {
+        return universityId + ":" + code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // -------------------------------
+    // PARSING
+    // -------------------------------
+    private static RowType parseType(String text) {
+        return switch (text.trim().toLowerCase(Locale.ROOT)) {
+            case "university", "universities" -> RowType.UNIVERSITY;
+            case "professor", "professors" -> RowType.PROFESSOR;
+            case "course", "courses", "course-detail", "course-details", "course_detail" -> RowType.COURSE;
+            default -> throw new IllegalArgumentException("Unknown type " + text + " (university, professor or course)");
+        };
+    }
+
+    private static String required(ImportRecord record, String... columns) {
+        String value = record.get(columns);
+        if (value == null) {
+            throw new IllegalArgumentException(columns[0] + " is required");
+        }
+        return value;
+    }
+
+    private static UniversityRef universityRef(ImportRecord record) {
+        Long id = optionalLong(record.get("universityId"), "universityId");
+        String name = record.get("universityName", "university");
+        if (id == null && name == null) {
+            return null;
+        }
+        return new UniversityRef(id, name);
+    }
+
+    private static Long optionalLong(String text, String column) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + text);
+        }
+    }
+
+    private static Byte parseCredits(String text) {
+        Long credits = optionalLong(text, "credits");
+        if (credits < 0 || credits > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("credits is out of range: " + text);
+        }
+        return credits.byteValue();
+    }
+
+    // JSON array (NDJSON, or quoted in CSV) or "a; b; c"
+    private static List<String> parseList(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (text.startsWith("[")) {
+            try {
+                return LIST_CONVERTER.convertToEntityAttribute(text);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Not a JSON list: " + text);
+            }
+        }
+        List<String> values = new ArrayList<>();
+        for (String value : text.split(";")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    // -------------------------------
+    // STATE
+    // -------------------------------
+    private static final class Lookups {
+        final Set<Long> universityIds = new HashSet<>();
+        final Map<String, Long> universityIdByName = new HashMap<>();
+        final Set<Long> professorIds = new HashSet<>();
+        final Map<String, Long> professorIdByEmail = new HashMap<>();
+        final Map<String, Long> courseDetailIdByKey = new HashMap<>();
+        // Natural keys already seen in this file -> first row
+        final Map<String, Long> seenUniversities = new HashMap<>();
+        final Map<String, Long> seenProfessors = new HashMap<>();
+        // Keyed like courseDetailIdByKey, and only for rows written
+        final Map<String, Long> seenCourses = new HashMap<>();
+    }
+
+    private static final class Chunk {
+        final List<UniversityRow> universities = new ArrayList<>();
+        final List<ProfessorRow> professors = new ArrayList<>();
+        final List<CourseRow> courses = new ArrayList<>();
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        int size() {
+            return universities.size() + professors.size() + courses.size();
+        }
+
+        long firstRow() {
+            if (!universities.isEmpty()) {
+                return universities.get(0).rowNumber();
+            }
+            return !professors.isEmpty() ? professors.get(0).rowNumber() : courses.get(0).rowNumber();
+        }
+
+        List<Chunk> split() {
+            List<Chunk> singles = new ArrayList<>(size());
+            universities.forEach(row -> singles.add(single(chunk -> chunk.universities.add(row))));
+            professors.forEach(row -> singles.add(single(chunk -> chunk.professors.add(row))));
+            courses.forEach(row -> singles.add(single(chunk -> chunk.courses.add(row))));
+            return singles;
+        }
+
+        private static Chunk single(Consumer<Chunk> add) {
+            Chunk chunk = new Chunk();
+            add.accept(chunk);
+            return chunk;
+        }
+
+        void clear() {
+            universities.clear();
+            professors.clear();
+            courses.clear();
+        }
+    }
+
+    private static final class ChunkResult {
+        final Map<String, Long> newUniversities = new HashMap<>();
+        final Map<String, Long> newProfessors = new HashMap<>();
+        final Map<String, Long> newCourses = new HashMap<>();
+        final Map<String, Long> claimedCourses = new HashMap<>();
+        final Map<Long, String> rejections = new TreeMap<>();
+        final Map<String, Long> counters = new LinkedHashMap<>();
+        long written;
+
+        void written(long rows) {
+            written += rows;
+        }
+
+        void count(String counter, long delta) {
+            if (delta > 0) {
+                counters.merge(counter, delta, Long::sum);
+            }
+        }
+    }
+
+    private record UniversityRef(Long id, String name) {
+    }
+
+    private record UniversityRow(long rowNumber, String name, String location, String city, String state,
+                                 String country) {
+    }
+
+    private record ProfessorRow(long rowNumber, String email, String name, String department, UniversityRef university) {
+    }
+
+    private record CourseRow(long rowNumber, UniversityRef university, String code, String name, String professorEmail,
+                             Long professorId, Byte credits, String description, String workload, List<String> tags,
+                             List<String> prerequisites) {
+    }
+}
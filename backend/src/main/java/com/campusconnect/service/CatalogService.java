@@ -0,0 +1,244 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.CourseDto;
+import com.campusconnect.dto.ProfessorDto;
+import com.campusconnect.dto.UniversityDto;
+import com.campusconnect.entity.Course;
+import com.campusconnect.entity.CourseDetail;
+import com.campusconnect.entity.Professor;
+import com.campusconnect.entity.University;
+import com.campusconnect.event.CatalogChangedEvent;
+import com.campusconnect.event.CatalogUpdatedEvent;
+import com.campusconnect.mapper.CourseDetailMapper;
+import com.campusconnect.mapper.CourseMapper;
+import com.campusconnect.mapper.ProfessorMapper;
+import com.campusconnect.mapper.UniversityMapper;
+import com.campusconnect.repository.CourseDetailRepository;
+import com.campusconnect.repository.CourseRepository;
+import com.campusconnect.repository.ProfessorRepository;
+import com.campusconnect.repository.UniversityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current CatalogSnapshot and swaps in a new one whenever a catalog write commits.
+ *
+ * Reads take the snapshot reference and never touch the database. Writers publish a
+ * CatalogChangedEvent; after commit only the changed row is reloaded and patched into a copy
+ * (plus, when a university or professor is renamed or moved, the rows that show its name).
+ * A periodic full reload corrects anything written around the services. Every swap is followed
+ * by a CatalogUpdatedEvent for indexes derived from the catalog.
+ *
+ * Legacy courses created by CourseMappingService to back a CourseDetail are not published one by
+ * one (an import can create thousands); they only shadow their detail and arrive with the next reload.
+ */
+@Service
+public class CatalogService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogService.class);
+
+    private final UniversityRepository universityRepository;
+    private final ProfessorRepository professorRepository;
+    private final CourseDetailRepository courseDetailRepository;
+    private final CourseRepository courseRepository;
+    private final UniversityMapper universityMapper;
+    private final ProfessorMapper professorMapper;
+    private final CourseDetailMapper courseDetailMapper;
+    private final CourseMapper courseMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>(CatalogSnapshot.empty());
+
+    public CatalogService(UniversityRepository universityRepository,
+                          ProfessorRepository professorRepository,
+                          CourseDetailRepository courseDetailRepository,
+                          CourseRepository courseRepository,
+                          UniversityMapper universityMapper,
+                          ProfessorMapper professorMapper,
+                          CourseDetailMapper courseDetailMapper,
+                          CourseMapper courseMapper,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher) {
+        this.universityRepository = universityRepository;
+        this.professorRepository = professorRepository;
+        this.courseDetailRepository = courseDetailRepository;
+        this.courseRepository = courseRepository;
+        this.universityMapper = universityMapper;
+        this.professorMapper = professorMapper;
+        this.courseDetailMapper = courseDetailMapper;
+        this.courseMapper = courseMapper;
+        // Patches run after the writer's commit, so they read in a fresh transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Current catalog. Cheap enough to call per request; hold on to it for consistent multi-part reads.
+     */
+    public CatalogSnapshot snapshot() {
+        return current.get();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    // -------------------------------
+    // FULL RELOAD
+    // -------------------------------
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval-ms:3600000}",
+               initialDelayString = "${catalog.refresh-interval-ms:3600000}")
+    public synchronized void reload() {
+        long started = System.currentTimeMillis();
+        CatalogSnapshot next = transactionTemplate.execute(status -> {
+            SortedMap<Long, UniversityDto> universities = new TreeMap<>();
+            for (University university : universityRepository.findAll()) {
+                universities.put(university.getUniversityId(), universityMapper.toDto(university));
+            }
+            SortedMap<Long, ProfessorDto> professors = new TreeMap<>();
+            for (Professor professor : professorRepository.findAll()) {
+                professors.put(professor.getProfessorId(), professorMapper.toDto(professor));
+            }
+            SortedMap<Long, CourseDetailDto> courseDetails = new TreeMap<>();
+            for (CourseDetail courseDetail : courseDetailRepository.findAll()) {
+                courseDetails.put(courseDetail.getCourseId(), courseDetailMapper.toDto(courseDetail));
+            }
+            SortedMap<Long, CourseDto> courses = new TreeMap<>();
+            for (Course course : courseRepository.findAll()) {
+                courses.put(course.getCourseId(), courseMapper.toDto(course));
+            }
+            return new CatalogSnapshot(current.get().getVersion() + 1, universities, professors, courseDetails, courses);
+        });
+        current.set(next);
+        eventPublisher.publishEvent(new CatalogUpdatedEvent(next, null));
+        logger.info("Loaded catalog v{}: {} universities, {} professors, {} course details, {} courses in {} ms",
+                next.getVersion(), next.getUniversities().size(), next.getProfessors().size(),
+                next.getCourseDetails().size(), next.getCourses().size(), System.currentTimeMillis() - started);
+    }
+
+    // -------------------------------
+    // INCREMENTAL PATCHES
+    // -------------------------------
+    // Some writers are not transactional, hence fallbackExecution
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        CatalogSnapshot base = current.get();
+        CatalogSnapshot next = transactionTemplate.execute(status -> switch (event.getKind()) {
+            case UNIVERSITY -> patchUniversity(base, event);
+            case PROFESSOR -> patchProfessor(base, event);
+            case COURSE_DETAIL -> patchCourseDetail(base, event);
+            case COURSE -> patchCourse(base, event);
+        });
+        current.set(next);
+        eventPublisher.publishEvent(new CatalogUpdatedEvent(next, event));
+    }
+
+    private CatalogSnapshot patchUniversity(CatalogSnapshot base, CatalogChangedEvent event) {
+        SortedMap<Long, UniversityDto> universities = base.universityMap();
+        SortedMap<Long, ProfessorDto> professors = base.professorMap();
+        SortedMap<Long, CourseDetailDto> courseDetails = base.courseDetailMap();
+        SortedMap<Long, CourseDto> courses = base.courseMap();
+
+        UniversityDto previous = universities.get(event.getId());
+        University university = event.isDeleted() ? null : universityRepository.findById(event.getId()).orElse(null);
+        if (university == null) {
+            universities.remove(event.getId());
+        } else {
+            universities.put(university.getUniversityId(), universityMapper.toDto(university));
+            // Professors, course details and courses carry the university name
+            if (previous != null && !Objects.equals(previous.getName(), university.getName())) {
+                for (Professor professor : professorRepository.findByUniversity(university)) {
+                    professors.put(professor.getProfessorId(), professorMapper.toDto(professor));
+                }
+                for (CourseDetail courseDetail : courseDetailRepository.findByUniversity(university)) {
+                    courseDetails.put(courseDetail.getCourseId(), courseDetailMapper.toDto(courseDetail));
+                }
+                for (Course course : courseRepository.findByUniversity(university)) {
+                    courses.put(course.getCourseId(), courseMapper.toDto(course));
+                }
+            }
+        }
+        return new CatalogSnapshot(base.getVersion() + 1, universities, professors, courseDetails, courses);
+    }
+
+    private CatalogSnapshot patchProfessor(CatalogSnapshot base, CatalogChangedEvent event) {
+        SortedMap<Long, ProfessorDto> professors = base.professorMap();
+        SortedMap<Long, CourseDetailDto> courseDetails = base.courseDetailMap();
+        SortedMap<Long, CourseDto> courses = base.courseMap();
+
+        ProfessorDto previous = professors.get(event.getId());
+        Professor professor = event.isDeleted() ? null : professorRepository.findById(event.getId()).orElse(null);
+        if (professor == null) {
+            professors.remove(event.getId());
+            // Reload the course details that pointed at the professor
+            List<Long> affected = base.getCourseDetailsByProfessor(event.getId()).stream()
+                    .map(CourseDetailDto::getCourseId)
+                    .toList();
+            affected.forEach(courseDetails::remove);
+            for (CourseDetail courseDetail : courseDetailRepository.findAllById(affected)) {
+                courseDetails.put(courseDetail.getCourseId(), courseDetailMapper.toDto(courseDetail));
+            }
+            List<Long> affectedCourses = base.getCourses().stream()
+                    .filter(course -> event.getId().equals(course.getProfessorId()))
+                    .map(CourseDto::getCourseId)
+                    .toList();
+            affectedCourses.forEach(courses::remove);
+            for (Course course : courseRepository.findAllById(affectedCourses)) {
+                courses.put(course.getCourseId(), courseMapper.toDto(course));
+            }
+        } else {
+            ProfessorDto dto = professorMapper.toDto(professor);
+            professors.put(professor.getProfessorId(), dto);
+            // Course details and courses carry the professor name
+            if (previous != null && !Objects.equals(previous.getName(), dto.getName())) {
+                for (CourseDetail courseDetail : courseDetailRepository.findByProfessor(professor)) {
+                    courseDetails.put(courseDetail.getCourseId(), courseDetailMapper.toDto(courseDetail));
+                }
+                for (Course course : courseRepository.findByProfessor(professor)) {
+                    courses.put(course.getCourseId(), courseMapper.toDto(course));
+                }
+            }
+        }
+        return new CatalogSnapshot(base.getVersion() + 1, base.universityMap(), professors, courseDetails, courses);
+    }
+
+    private CatalogSnapshot patchCourseDetail(CatalogSnapshot base, CatalogChangedEvent event) {
+        SortedMap<Long, CourseDetailDto> courseDetails = base.courseDetailMap();
+        CourseDetail courseDetail = event.isDeleted() ? null : courseDetailRepository.findById(event.getId()).orElse(null);
+        if (courseDetail == null) {
+            courseDetails.remove(event.getId());
+        } else {
+            courseDetails.put(courseDetail.getCourseId(), courseDetailMapper.toDto(courseDetail));
+        }
+        return new CatalogSnapshot(base.getVersion() + 1, base.universityMap(), base.professorMap(), courseDetails,
+                base.courseMap());
+    }
+
+    private CatalogSnapshot patchCourse(CatalogSnapshot base, CatalogChangedEvent event) {
+        SortedMap<Long, CourseDto> courses = base.courseMap();
+        Course course = event.isDeleted() ? null : courseRepository.findById(event.getId()).orElse(null);
+        if (course == null) {
+            courses.remove(event.getId());
+        } else {
+            courses.put(course.getCourseId(), courseMapper.toDto(course));
+        }
+        return new CatalogSnapshot(base.getVersion() + 1, base.universityMap(), base.professorMap(),
+                base.courseDetailMap(), courses);
+    }
+}
@@ -0,0 +1,166 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.CourseDetailSummaryDto;
+import com.campusconnect.dto.CourseDto;
+import com.campusconnect.dto.ProfessorDto;
+import com.campusconnect.dto.UniversityDto;
+
+import java.util.*;
+
+/**
+ * Immutable view of the catalog (universities, professors, course details and legacy courses)
+ * at one version.
+ *
+ * Built once per change and shared by every request, so the DTOs it hands out are read-only by
+ * contract: callers must copy before modifying. Lists are in id order. Course detail summaries
+ * for list endpoints are derived on first use and then shared like the rest.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final Map<Long, UniversityDto> universities;
+    private final Map<Long, ProfessorDto> professors;
+    private final Map<Long, CourseDetailDto> courseDetails;
+    private final Map<Long, CourseDto> courses;
+
+    private final List<UniversityDto> universityList;
+    private final List<ProfessorDto> professorList;
+    private final List<CourseDetailDto> courseDetailList;
+    private final List<CourseDto> courseList;
+    private final Map<Long, List<CourseDetailDto>> courseDetailsByUniversity;
+    private final Map<Long, List<CourseDetailDto>> courseDetailsByProfessor;
+
+    // Built on first use; most snapshots are replaced before anyone lists them
+    private volatile Summaries summaries;
+
+    private record Summaries(Map<Long, CourseDetailSummaryDto> byId,
+                             List<CourseDetailSummaryDto> all,
+                             Map<Long, List<CourseDetailSummaryDto>> byUniversity,
+                             Map<Long, List<CourseDetailSummaryDto>> byProfessor) {
+    }
+
+    CatalogSnapshot(long version,
+                    SortedMap<Long, UniversityDto> universities,
+                    SortedMap<Long, ProfessorDto> professors,
+                    SortedMap<Long, CourseDetailDto> courseDetails,
+                    SortedMap<Long, CourseDto> courses) {
+        this.version = version;
+        this.universities = Collections.unmodifiableSortedMap(universities);
+        this.professors = Collections.unmodifiableSortedMap(professors);
+        this.courseDetails = Collections.unmodifiableSortedMap(courseDetails);
+        this.courses = Collections.unmodifiableSortedMap(courses);
+        this.universityList = List.copyOf(universities.values());
+        this.professorList = List.copyOf(professors.values());
+        this.courseDetailList = List.copyOf(courseDetails.values());
+        this.courseList = List.copyOf(courses.values());
+
+        Map<Long, List<CourseDetailDto>> byUniversity = new HashMap<>();
+        Map<Long, List<CourseDetailDto>> byProfessor = new HashMap<>();
+        for (CourseDetailDto courseDetail : courseDetailList) {
+            if (courseDetail.getUniversityId() != null) {
+                byUniversity.computeIfAbsent(courseDetail.getUniversityId(), id -> new ArrayList<>()).add(courseDetail);
+            }
+            if (courseDetail.getProfessorId() != null) {
+                byProfessor.computeIfAbsent(courseDetail.getProfessorId(), id -> new ArrayList<>()).add(courseDetail);
+            }
+        }
+        this.courseDetailsByUniversity = freeze(byUniversity);
+        this.courseDetailsByProfessor = freeze(byProfessor);
+    }
+
+    static CatalogSnapshot empty() {
+        return new CatalogSnapshot(0, new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+    }
+
+    private static <T> Map<Long, List<T>> freeze(Map<Long, List<T>> groups) {
+        Map<Long, List<T>> frozen = new HashMap<>(groups.size() * 2);
+        groups.forEach((id, list) -> frozen.put(id, List.copyOf(list)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    // Incremented on every swap
+    public long getVersion() { return version; }
+
+    public List<UniversityDto> getUniversities() { return universityList; }
+    public List<ProfessorDto> getProfessors() { return professorList; }
+    public List<CourseDetailDto> getCourseDetails() { return courseDetailList; }
+    public List<CourseDto> getCourses() { return courseList; }
+
+    public UniversityDto getUniversity(Long id) { return universities.get(id); }
+    public ProfessorDto getProfessor(Long id) { return professors.get(id); }
+    public CourseDetailDto getCourseDetail(Long id) { return courseDetails.get(id); }
+    public CourseDto getCourse(Long id) { return courses.get(id); }
+
+    public List<CourseDetailDto> getCourseDetailsByUniversity(Long universityId) {
+        return courseDetailsByUniversity.getOrDefault(universityId, List.of());
+    }
+
+    public List<CourseDetailDto> getCourseDetailsByProfessor(Long professorId) {
+        return courseDetailsByProfessor.getOrDefault(professorId, List.of());
+    }
+
+    public CourseDetailSummaryDto getCourseDetailSummary(Long id) {
+        return summaries().byId().get(id);
+    }
+
+    public List<CourseDetailSummaryDto> getCourseDetailSummaries() {
+        return summaries().all();
+    }
+
+    public List<CourseDetailSummaryDto> getCourseDetailSummariesByUniversity(Long universityId) {
+        return summaries().byUniversity().getOrDefault(universityId, List.of());
+    }
+
+    public List<CourseDetailSummaryDto> getCourseDetailSummariesByProfessor(Long professorId) {
+        return summaries().byProfessor().getOrDefault(professorId, List.of());
+    }
+
+    private Summaries summaries() {
+        Summaries built = summaries;
+        if (built == null) {
+            // Racing threads build equal copies; either may win
+            Map<Long, CourseDetailSummaryDto> byId = new HashMap<>(courseDetails.size() * 2);
+            List<CourseDetailSummaryDto> all = new ArrayList<>(courseDetailList.size());
+            for (CourseDetailDto courseDetail : courseDetailList) {
+                CourseDetailSummaryDto summary = summarize(courseDetail);
+                byId.put(summary.getCourseId(), summary);
+                all.add(summary);
+            }
+            built = new Summaries(Collections.unmodifiableMap(byId), List.copyOf(all),
+                    regroup(courseDetailsByUniversity, byId), regroup(courseDetailsByProfessor, byId));
+            summaries = built;
+        }
+        return built;
+    }
+
+    private static Map<Long, List<CourseDetailSummaryDto>> regroup(Map<Long, List<CourseDetailDto>> groups,
+                                                                  Map<Long, CourseDetailSummaryDto> byId) {
+        Map<Long, List<CourseDetailSummaryDto>> result = new HashMap<>(groups.size() * 2);
+        groups.forEach((id, list) -> result.put(id,
+                list.stream().map(courseDetail -> byId.get(courseDetail.getCourseId())).toList()));
+        return freeze(result);
+    }
+
+    private static CourseDetailSummaryDto summarize(CourseDetailDto courseDetail) {
+        return CourseDetailSummaryDto.builder()
+                .courseId(courseDetail.getCourseId())
+                .code(courseDetail.getCode())
+                .name(courseDetail.getName())
+                .credits(courseDetail.getCredits())
+                .rating(courseDetail.getRating())
+                .difficulty(courseDetail.getDifficulty())
+                .enrolled(courseDetail.getEnrolled())
+                .professorId(courseDetail.getProfessorId())
+                .professorName(courseDetail.getProfessorName())
+                .universityId(courseDetail.getUniversityId())
+                .universityName(courseDetail.getUniversityName())
+                .build();
+    }
+
+    // Package-private: CatalogService copies these to build the next version
+    SortedMap<Long, UniversityDto> universityMap() { return new TreeMap<>(universities); }
+    SortedMap<Long, ProfessorDto> professorMap() { return new TreeMap<>(professors); }
+    SortedMap<Long, CourseDetailDto> courseDetailMap() { return new TreeMap<>(courseDetails); }
+    SortedMap<Long, CourseDto> courseMap() { return new TreeMap<>(courses); }
+}
@@ -3,6 +3,7 @@ package com.campusconnect.service;
 import com.campusconnect.dto.CollaborationRequestDto;
 import com.campusconnect.dto.NotificationDto;
 import com.campusconnect.entity.*;
+import com.campusconnect.event.ProjectMembershipChangedEvent;
 import com.campusconnect.exception.ResourceNotFoundException;
 import com.campusconnect.mapper.CollaborationRequestMapper;
 import com.campusconnect.repository.CollaborationRequestRepository;
@@ -11,6 +12,7 @@ import com.campusconnect.repository.ProjectRepository;
 import com.campusconnect.repository.UserRepository;
 import com.campusconnect.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -34,6 +36,9 @@ public class CollaborationRequestServiceImpl implements CollaborationRequestServ
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public CollaborationRequestDto sendRequest(Long projectId, Long studentId) {
         Project project = projectRepository.findById(projectId)
@@ -106,6 +111,8 @@ public class CollaborationRequestServiceImpl implements CollaborationRequestServ
                 member.setUser(request.getStudent());
                 member.setRole(ProjectMember.Role.MEMBER); // Default role
                 projectMemberRepository.save(member);
+                eventPublisher.publishEvent(new ProjectMembershipChangedEvent(
+                        project.getProjectId(), request.getStudent().getUserId(), true));
             }
 
             // Notify student that their request was approved
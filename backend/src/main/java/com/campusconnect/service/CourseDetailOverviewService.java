@@ -0,0 +1,184 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.*;
+import com.campusconnect.event.CatalogChangedEvent;
+import com.campusconnect.event.CatalogUpdatedEvent;
+import com.campusconnect.event.RatingChangedEvent;
+import com.campusconnect.event.ReviewChangedEvent;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the course detail page in one call, from a fixed plan: course info and category ratings
+ * from the catalog snapshot, then two queries run concurrently on the aggregation executor, the
+ * rating histogram (one GROUP BY on the resolved course id) and the first page of reviews.
+ *
+ * Complete overviews are cached per course detail as a unit, for a bounded time and until a
+ * rating, review or catalog change touches that course.
+ */
+@Service
+public class CourseDetailOverviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseDetailOverviewService.class);
+
+    static final int REVIEW_PAGE_SIZE = 10;
+
+    private record Cached(CourseDetailOverviewDto overview, long createdAt) {
+    }
+
+    private final CatalogService catalogService;
+    private final RatingService ratingService;
+    private final ReviewService reviewService;
+    private final CourseMappingService courseMappingService;
+    private final ExecutorService executor;
+    private final long timeoutMs;
+    private final long ttlMillis;
+    private final int cacheSize;
+
+    // Access-ordered, guarded by itself
+    private final LinkedHashMap<Long, Cached> cache;
+
+    // Stamps from changes: an overview loaded before its course's last stamp is not stored
+    private final AtomicLong stamps = new AtomicLong();
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+    private volatile long clearedAt;
+
+    public CourseDetailOverviewService(CatalogService catalogService,
+                                       RatingService ratingService,
+                                       ReviewService reviewService,
+                                       CourseMappingService courseMappingService,
+                                       @Qualifier("aggregationExecutor") ExecutorService executor,
+                                       @Value("${aggregation.timeout-ms:2000}") long timeoutMs,
+                                       @Value("${course-overview.cache-ttl-seconds:300}") long ttlSeconds,
+                                       @Value("${course-overview.cache-size:1000}") int cacheSize) {
+        this.catalogService = catalogService;
+        this.ratingService = ratingService;
+        this.reviewService = reviewService;
+        this.courseMappingService = courseMappingService;
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+                return size() > CourseDetailOverviewService.this.cacheSize;
+            }
+        };
+    }
+
+    public CourseDetailOverviewDto getOverview(Long courseDetailId) {
+        Cached cached;
+        synchronized (cache) {
+            cached = cache.get(courseDetailId);
+        }
+        if (cached != null && System.currentTimeMillis() - cached.createdAt() < ttlMillis) {
+            return cached.overview();
+        }
+
+        long stamp = stamps.get();
+        CourseDetailOverviewDto overview = load(courseDetailId);
+        if (overview.getUnavailable().isEmpty() && stamp >= clearedAt
+                && stamp >= changedAt.getOrDefault(courseDetailId, 0L)) {
+            synchronized (cache) {
+                cache.put(courseDetailId, new Cached(overview, System.currentTimeMillis()));
+            }
+        }
+        return overview;
+    }
+
+    private CourseDetailOverviewDto load(Long courseDetailId) {
+        CourseDetailDto courseDetail = catalogService.snapshot().getCourseDetail(courseDetailId);
+        if (courseDetail == null) {
+            throw new EntityNotFoundException("Course detail not found");
+        }
+
+        // Resolved once here; a detail nobody has rated yet has no Course and so no ratings to count
+        Long courseId = courseMappingService.findCourseId(courseDetailId).orElse(null);
+        CompletableFuture<RatingSummaryDto> ratings = courseId == null
+                ? CompletableFuture.completedFuture(emptySummary())
+                : CompletableFuture.supplyAsync(() -> ratingService.getRatingSummaryForCourse(courseId), executor);
+        CompletableFuture<PageDto<ReviewDto>> reviews = CompletableFuture.supplyAsync(
+                () -> reviewService.getReviewPageByCourseDetail(courseDetailId, 0, REVIEW_PAGE_SIZE), executor);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<String> unavailable = new ArrayList<>();
+        return CourseDetailOverviewDto.builder()
+                .courseDetail(courseDetail)
+                .categoryRatings(CategoryRatingsDto.builder()
+                        .content(courseDetail.getRatingContent())
+                        .teaching(courseDetail.getRatingTeaching())
+                        .assignments(courseDetail.getRatingAssignments())
+                        .exams(courseDetail.getRatingExams())
+                        .build())
+                .ratings(AggregationSupport.await(ratings, deadline, "ratings", unavailable, null, logger))
+                .reviews(AggregationSupport.await(reviews, deadline, "reviews", unavailable, null, logger))
+                .unavailable(unavailable)
+                .build();
+    }
+
+    private static RatingSummaryDto emptySummary() {
+        return RatingSummaryDto.builder()
+                .count(0)
+                .distribution(List.of(0L, 0L, 0L, 0L, 0L))
+                .build();
+    }
+
+    // -------------------------------
+    // INVALIDATION
+    // -------------------------------
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        Long courseDetailId = event.getCourseDetailId();
+        if (courseDetailId == null && event.getCourseId() != null) {
+            courseDetailId = courseMappingService.findCourseDetailId(event.getCourseId());
+        }
+        if (courseDetailId != null) {
+            evict(courseDetailId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.getCourseDetailId() != null) {
+            evict(event.getCourseDetailId());
+        }
+    }
+
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        CatalogChangedEvent change = event.getChange();
+        if (change == null) {
+            clearedAt = stamps.incrementAndGet();
+            synchronized (cache) {
+                cache.clear();
+            }
+        } else if (change.getKind() == CatalogChangedEvent.Kind.COURSE_DETAIL) {
+            evict(change.getId());
+        }
+        // Professor and university renames reach the page through the TTL
+    }
+
+    private void evict(Long courseDetailId) {
+        changedAt.put(courseDetailId, stamps.incrementAndGet());
+        synchronized (cache) {
+            cache.remove(courseDetailId);
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.campusconnect.service;
 
 import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.CourseDetailSummaryDto;
+import com.campusconnect.dto.CourseSort;
+import com.campusconnect.dto.PageDto;
+import com.campusconnect.dto.TagMatch;
 import java.util.List;
 
 public interface CourseDetailService {
     CourseDetailDto createCourseDetail(CourseDetailDto courseDetailDto);
     List<CourseDetailDto> getAllCourseDetails();
+    List<CourseDetailSummaryDto> getCourseDetailSummaries();
     CourseDetailDto getCourseDetailById(Long id);
-    List<CourseDetailDto> getCourseDetailsByProfessor(Long professorId);
-    List<CourseDetailDto> getCourseDetailsByUniversity(Long universityId);
-    List<CourseDetailDto> searchCourseDetails(String query);
+    List<CourseDetailSummaryDto> getCourseDetailsByProfessor(Long professorId);
+    List<CourseDetailSummaryDto> getCourseDetailsByUniversity(Long universityId);
+    PageDto<CourseDetailSummaryDto> browseCourseDetailsByUniversity(Long universityId, CourseSort sort, boolean descending,
+                                                             String cursor, int page, int size);
+    List<CourseDetailSummaryDto> searchCourseDetails(String query);
+    PageDto<CourseDetailSummaryDto> findCourseDetailsByTags(List<String> tags, TagMatch match, Long universityId,
+                                                     String prerequisite, int page, int size);
     CourseDetailDto updateCourseDetail(Long id, CourseDetailDto courseDetailDto);
     void deleteCourseDetail(Long id);
 }
@@ -1,17 +1,27 @@
 package com.campusconnect.service;
 
 import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.CourseDetailSummaryDto;
+import com.campusconnect.dto.CourseSort;
+import com.campusconnect.dto.PageDto;
+import com.campusconnect.dto.TagMatch;
 import com.campusconnect.entity.CourseDetail;
 import com.campusconnect.entity.Professor;
 import com.campusconnect.entity.University;
+import com.campusconnect.event.CatalogChangedEvent;
 import com.campusconnect.mapper.CourseDetailMapper;
 import com.campusconnect.repository.CourseDetailRepository;
 import com.campusconnect.repository.ProfessorRepository;
 import com.campusconnect.repository.UniversityRepository;
+import com.campusconnect.search.CourseBrowseIndex;
+import com.campusconnect.search.CourseTagIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +29,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class CourseDetailServiceImpl implements CourseDetailService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private CourseDetailRepository courseDetailRepository;
 
@@ -31,6 +43,21 @@ public class CourseDetailServiceImpl implements CourseDetailService {
     @Autowired
     private CourseDetailMapper courseDetailMapper;
 
+    @Autowired
+    private CourseMappingService courseMappingService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CourseTagIndex courseTagIndex;
+
+    @Autowired
+    private CourseBrowseIndex courseBrowseIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public CourseDetailDto createCourseDetail(CourseDetailDto courseDetailDto) {
         if (courseDetailDto.getCode() == null || courseDetailDto.getCode().trim().isEmpty()) {
@@ -67,55 +94,117 @@ public class CourseDetailServiceImpl implements CourseDetailService {
         // Note: We don't create a Course entry here anymore
         // RatingService will create it on-demand when needed
         // This avoids AUTO_INCREMENT issues and ID conflicts
-        
+
+        publishChange(saved.getCourseId(), false);
         return courseDetailMapper.toDto(saved);
     }
 
+    // Reads are served from the catalog snapshot, without opening a transaction.
+    // Lists hand out summaries; the full detail (description, tags, prerequisites) only comes by id.
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CourseDetailDto> getAllCourseDetails() {
-        return courseDetailRepository.findAll().stream()
-                .map(courseDetailMapper::toDto)
-                .collect(Collectors.toList());
+        return catalogService.snapshot().getCourseDetails();
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public CourseDetailDto getCourseDetailById(Long id) {
-        return courseDetailRepository.findById(id)
-                .map(courseDetailMapper::toDto)
-                .orElse(null);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CourseDetailSummaryDto> getCourseDetailSummaries() {
+        return catalogService.snapshot().getCourseDetailSummaries();
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<CourseDetailDto> getCourseDetailsByProfessor(Long professorId) {
-        Professor professor = professorRepository.findById(professorId).orElse(null);
-        if (professor == null) return List.of();
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CourseDetailDto getCourseDetailById(Long id) {
+        return catalogService.snapshot().getCourseDetail(id);
+    }
 
-        return courseDetailRepository.findByProfessor(professor).stream()
-                .map(courseDetailMapper::toDto)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CourseDetailSummaryDto> getCourseDetailsByProfessor(Long professorId) {
+        return catalogService.snapshot().getCourseDetailSummariesByProfessor(professorId);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<CourseDetailDto> getCourseDetailsByUniversity(Long universityId) {
-        University university = universityRepository.findById(universityId).orElse(null);
-        if (university == null) return List.of();
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CourseDetailSummaryDto> getCourseDetailsByUniversity(Long universityId) {
+        return catalogService.snapshot().getCourseDetailSummariesByUniversity(universityId);
+    }
 
-        return courseDetailRepository.findByUniversity(university).stream()
-                .map(courseDetailMapper::toDto)
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CourseDetailSummaryDto> searchCourseDetails(String query) {
+        String needle = query.toLowerCase();
+        CatalogSnapshot snapshot = catalogService.snapshot();
+        return snapshot.getCourseDetails().stream()
+                .filter(cd -> cd.getName().toLowerCase().contains(needle)
+                        || (cd.getDescription() != null && cd.getDescription().toLowerCase().contains(needle)))
+                .map(cd -> snapshot.getCourseDetailSummary(cd.getCourseId()))
                 .collect(Collectors.toList());
     }
 
+    // Tags and prerequisites are answered from posting lists, then only the requested page is read
     @Override
-    @Transactional(readOnly = true)
-    public List<CourseDetailDto> searchCourseDetails(String query) {
-        return courseDetailRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query, query)
-                .stream()
-                .map(courseDetailMapper::toDto)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PageDto<CourseDetailSummaryDto> findCourseDetailsByTags(List<String> tags, TagMatch match, Long universityId,
+                                                            String prerequisite, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        CatalogSnapshot snapshot = catalogService.snapshot();
+        long[] ids = courseTagIndex.find(tags, match, universityId, prerequisite);
+        List<CourseDetailSummaryDto> content = new ArrayList<>(size);
+        long from = (long) page * size;
+        for (long i = from; i < ids.length && i < from + size; i++) {
+            CourseDetailSummaryDto summary = snapshot.getCourseDetailSummary(ids[(int) i]);
+            if (summary != null) {
+                content.add(summary);
+            }
+        }
+        return PageDto.<CourseDetailSummaryDto>builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .totalElements(ids.length)
+                .totalPages((ids.length + size - 1) / size)
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageDto<CourseDetailSummaryDto> browseCourseDetailsByUniversity(Long universityId, CourseSort sort, boolean descending,
+                                                                    String cursor, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        CatalogSnapshot snapshot = catalogService.snapshot();
+        CourseBrowseIndex.Ordering ordering = courseBrowseIndex.ordering(snapshot, universityId, sort, descending);
+        // A cursor seeks to the row after the last one seen, so deep pages cost the same as the first
+        long from = cursor != null && !cursor.isBlank()
+                ? courseBrowseIndex.resume(ordering, cursor, sort, descending)
+                : (long) page * size;
+        int end = (int) Math.min(ordering.size(), from + size);
+        List<CourseDetailSummaryDto> content = new ArrayList<>(size);
+        for (int i = (int) Math.min(from, end); i < end; i++) {
+            CourseDetailSummaryDto summary = snapshot.getCourseDetailSummary(ordering.idAt(i));
+            if (summary != null) {
+                content.add(summary);
+            }
+        }
+        return PageDto.<CourseDetailSummaryDto>builder()
+                .content(content)
+                .page((int) (from / size))
+                .size(size)
+                .totalElements(ordering.size())
+                .totalPages((ordering.size() + size - 1) / size)
+                .nextCursor(end < ordering.size() ? courseBrowseIndex.cursorAfter(ordering, end - 1, sort, descending) : null)
+                .build();
     }
 
     @Override
@@ -201,6 +290,7 @@ public class CourseDetailServiceImpl implements CourseDetailService {
         existing.setProfessor(professor);
 
         CourseDetail updated = courseDetailRepository.save(existing);
+        publishChange(id, false);
         return courseDetailMapper.toDto(updated);
     }
 
@@ -209,7 +299,13 @@ public class CourseDetailServiceImpl implements CourseDetailService {
         if (!courseDetailRepository.existsById(id)) {
             throw new IllegalArgumentException("Course detail not found");
         }
+        courseMappingService.unlink(id);
         courseDetailRepository.deleteById(id);
+        publishChange(id, true);
+    }
+
+    private void publishChange(Long id, boolean deleted) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.COURSE_DETAIL, id, deleted));
     }
 }
 
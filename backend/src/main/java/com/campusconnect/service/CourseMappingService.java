@@ -0,0 +1,230 @@
+package com.campusconnect.service;
+
+import com.campusconnect.entity.Course;
+import com.campusconnect.entity.CourseDetail;
+import com.campusconnect.entity.CourseMapping;
+import com.campusconnect.repository.CourseDetailRepository;
+import com.campusconnect.repository.CourseLinkCandidate;
+import com.campusconnect.repository.CourseMappingRepository;
+import com.campusconnect.repository.CourseRatingTarget;
+import com.campusconnect.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a CourseDetail id (what the frontend shows and rates) to the Course id ratings are stored under.
+ *
+ * The mapping lives in course_detail_course_map and is loaded into memory once at startup, so a rating
+ * path resolves its course from memory or, on a miss, with a single primary-key lookup. Details that
+ * were never linked are matched at startup with the old rules (same id, then exact name and professor);
+ * anything still unlinked gets its Course the first time someone rates it. That creation locks the
+ * detail row, so concurrent first ratings (or an import) of the same detail share one Course.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseMappingService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseMappingService.class);
+
+    private final CourseMappingRepository courseMappingRepository;
+    private final CourseDetailRepository courseDetailRepository;
+    private final CourseRepository courseRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, Long> courseIdByDetailId = new ConcurrentHashMap<>();
+    private final Map<Long, Long> detailIdByCourseId = new ConcurrentHashMap<>();
+
+    // -------------------------------
+    // STARTUP
+    // -------------------------------
+    // Runs before scheduled jobs start, so the first leaderboard build already sees the mapping
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer linked = new TransactionTemplate(transactionManager).execute(status -> {
+            int created = backfill();
+            for (CourseMapping mapping : courseMappingRepository.findAll()) {
+                remember(mapping.getCourseDetailId(), mapping.getCourseId());
+            }
+            return created;
+        });
+        logger.info("Loaded {} course mappings ({} new)", courseIdByDetailId.size(), linked);
+    }
+
+    // Links every unmapped detail that already has a matching Course, using the rules
+    // rating used to apply on each request: a Course with the same id wins, then an exact
+    // name + professor match. Each Course is linked to at most one detail.
+    private int backfill() {
+        List<CourseLinkCandidate> details = courseDetailRepository.findUnmappedLinkCandidates();
+        if (details.isEmpty()) {
+            return 0;
+        }
+        Map<Long, CourseLinkCandidate> coursesById = new HashMap<>();
+        Map<String, Long> courseIdByNameAndProfessor = new HashMap<>();
+        for (CourseLinkCandidate course : courseRepository.findUnmappedLinkCandidates()) {
+            coursesById.put(course.getId(), course);
+            if (course.getProfessorId() != null) {
+                courseIdByNameAndProfessor.putIfAbsent(nameAndProfessor(course), course.getId());
+            }
+        }
+
+        Set<Long> claimed = new HashSet<>();
+        List<CourseMapping> mappings = new ArrayList<>();
+        for (CourseLinkCandidate detail : details) {
+            Long courseId = coursesById.containsKey(detail.getId()) ? detail.getId() : null;
+            if ((courseId == null || claimed.contains(courseId)) && detail.getProfessorId() != null) {
+                courseId = courseIdByNameAndProfessor.get(nameAndProfessor(detail));
+            }
+            if (courseId != null && claimed.add(courseId)) {
+                mappings.add(new CourseMapping(detail.getId(), courseId));
+            }
+        }
+        mappings.forEach(entityManager::persist);
+        return mappings.size();
+    }
+
+    private static String nameAndProfessor(CourseLinkCandidate candidate) {
+        return candidate.getName() + '\u0000' + candidate.getProfessorId();
+    }
+
+    // -------------------------------
+    // LOOKUPS
+    // -------------------------------
+    /**
+     * Course id ratings for this detail are stored under, if the detail has been linked.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findCourseId(Long courseDetailId) {
+        Long courseId = courseIdByDetailId.get(courseDetailId);
+        if (courseId != null) {
+            return Optional.of(courseId);
+        }
+        // Not in memory: another instance may have linked it since we loaded
+        Optional<CourseMapping> mapping = courseMappingRepository.findById(courseDetailId);
+        mapping.ifPresent(m -> remember(m.getCourseDetailId(), m.getCourseId()));
+        return mapping.map(CourseMapping::getCourseId);
+    }
+
+    /**
+     * Course id to read ratings from for an id the client sent. Detail ids are translated;
+     * anything else is treated as a legacy Course id.
+     */
+    public Long resolveCourseId(Long requestedId) {
+        return findCourseId(requestedId).orElse(requestedId);
+    }
+
+    /**
+     * Detail a Course is linked to, from memory only (used on hot read paths such as leaderboards).
+     */
+    public Long findCourseDetailId(Long courseId) {
+        return detailIdByCourseId.get(courseId);
+    }
+
+    /**
+     * Course a new rating of requestedId is stored under, plus the detail it belongs to. A linked
+     * detail is resolved from memory; otherwise a single query finds a detail linked elsewhere or a
+     * legacy Course, and only a detail rated for the first time is linked here.
+     */
+    @Transactional
+    public RatingTarget resolveForRating(Long requestedId) {
+        Long mappedCourseId = courseIdByDetailId.get(requestedId);
+        if (mappedCourseId != null) {
+            Course course = courseRepository.findById(mappedCourseId)
+                    .orElseThrow(() -> new EntityNotFoundException("Course not found"));
+            return new RatingTarget(course, requestedId);
+        }
+        Optional<CourseRatingTarget> target = courseRepository.findRatingTarget(requestedId);
+        if (target.isPresent()) {
+            Course course = target.get().getCourse();
+            Long courseDetailId = target.get().getCourseDetailId();
+            if (courseDetailId != null) {
+                remember(courseDetailId, course.getCourseId());
+            }
+            return new RatingTarget(course, courseDetailId);
+        }
+        return new RatingTarget(linkCourseFor(requestedId), requestedId);
+    }
+
+    public record RatingTarget(Course course, Long courseDetailId) {
+    }
+
+    // -------------------------------
+    // WRITES
+    // -------------------------------
+    /**
+     * Course ratings of this detail point at, creating it (and the link) unless another
+     * transaction linked the detail first. Must run inside the caller's transaction, which holds
+     * the detail row lock until it ends; memory is only updated once it commits.
+     */
+    @Transactional
+    public Course linkCourseFor(Long courseDetailId) {
+        CourseDetail courseDetail = courseDetailRepository.findByIdForUpdate(courseDetailId)
+                .orElseThrow(() -> new EntityNotFoundException("Course not found"));
+        Optional<CourseMapping> linked = courseMappingRepository.findByIdForUpdate(courseDetailId);
+        if (linked.isPresent()) {
+            Long courseId = linked.get().getCourseId();
+            afterCommit(() -> remember(courseDetailId, courseId));
+            return courseRepository.findById(courseId)
+                    .orElseThrow(() -> new EntityNotFoundException("Course not found"));
+        }
+
+        Course course = new Course();
+        course.setName(courseDetail.getName());
+        course.setDescription(courseDetail.getDescription());
+        course.setProfessor(courseDetail.getProfessor());
+        course.setUniversity(courseDetail.getUniversity());
+        course = courseRepository.save(course);
+
+        Long courseId = course.getCourseId();
+        entityManager.persist(new CourseMapping(courseDetailId, courseId));
+        afterCommit(() -> remember(courseDetailId, courseId));
+        return course;
+    }
+
+    /**
+     * Drops the link of a deleted detail. The Course and its ratings are kept.
+     */
+    @Transactional
+    public void unlink(Long courseDetailId) {
+        if (courseMappingRepository.existsById(courseDetailId)) {
+            courseMappingRepository.deleteById(courseDetailId);
+        }
+        afterCommit(() -> {
+            Long courseId = courseIdByDetailId.remove(courseDetailId);
+            if (courseId != null) {
+                detailIdByCourseId.remove(courseId);
+            }
+        });
+    }
+
+    private void remember(Long courseDetailId, Long courseId) {
+        courseIdByDetailId.put(courseDetailId, courseId);
+        detailIdByCourseId.put(courseId, courseDetailId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
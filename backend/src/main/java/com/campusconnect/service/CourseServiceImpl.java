@@ -4,11 +4,13 @@ import com.campusconnect.dto.CourseDto;
 import com.campusconnect.entity.Course;
 import com.campusconnect.entity.Professor;
 import com.campusconnect.entity.University;
+import com.campusconnect.event.CatalogChangedEvent;
 import com.campusconnect.mapper.CourseMapper;
 import com.campusconnect.repository.CourseRepository;
 import com.campusconnect.repository.ProfessorRepository;
 import com.campusconnect.repository.UniversityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -29,6 +31,9 @@ public class CourseServiceImpl implements CourseService {
     @Autowired
     private CourseMapper courseMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public CourseDto createCourse(CourseDto courseDto) {
         if (courseDto.getName() == null || courseDto.getName().trim().isEmpty()) {
@@ -60,6 +65,7 @@ public class CourseServiceImpl implements CourseService {
         course.setName(courseDto.getName().trim());
         course.setUniversity(university);
         Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.COURSE, saved.getCourseId(), false));
         return courseMapper.toDto(saved);
     }
 
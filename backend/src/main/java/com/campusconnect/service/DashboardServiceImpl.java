@@ -6,12 +6,16 @@ import com.campusconnect.mapper.ProjectMapper;
 import com.campusconnect.mapper.TaskMapper;
 import com.campusconnect.mapper.MessageMapper;
 import com.campusconnect.repository.*;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import java.util.stream.Collectors;
 
 @Service
 public class DashboardServiceImpl implements DashboardService {
 
+    // Projects shown in the dashboard's recent chat preview
+    private static final int RECENT_MESSAGES = 5;
+
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final CollaborationRequestRepository collaborationRequestRepository;
@@ -66,12 +70,14 @@ public class DashboardServiceImpl implements DashboardService {
                         .collect(Collectors.toList())
         );
 
+        // Latest message from each of the user's projects
         dto.setRecentMessages(
-                messageRepository.findRecentMessagesByUser(userId)
+                messageRepository.findLatestPerProjectForUser(userId, PageRequest.of(0, RECENT_MESSAGES))
                         .stream()
                         .map(messageMapper::toMessageSummaryDto)
                         .collect(Collectors.toList())
         );
+        dto.setSentMessageCount(messageRepository.countBySender_UserId(userId));
 
         return dto;
     }
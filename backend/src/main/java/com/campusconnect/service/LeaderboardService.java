@@ -0,0 +1,23 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.LeaderboardDto;
+import com.campusconnect.dto.LeaderboardMetric;
+import java.util.List;
+
+public interface LeaderboardService {
+
+    /**
+     * Top entries of one metric for a university, served from memory.
+     */
+    LeaderboardDto getLeaderboard(Long universityId, LeaderboardMetric metric, int limit);
+
+    /**
+     * All metrics for a university.
+     */
+    List<LeaderboardDto> getLeaderboards(Long universityId, int limit);
+
+    /**
+     * Rebuild every leaderboard from the database.
+     */
+    void recompute();
+}
@@ -0,0 +1,374 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.LeaderboardDto;
+import com.campusconnect.dto.LeaderboardEntryDto;
+import com.campusconnect.dto.LeaderboardMetric;
+import com.campusconnect.event.RatingChangedEvent;
+import com.campusconnect.event.ReviewChangedEvent;
+import com.campusconnect.repository.CourseDetailRepository;
+import com.campusconnect.repository.CourseDifficultyAggregate;
+import com.campusconnect.repository.RatingAggregate;
+import com.campusconnect.repository.RatingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a bounded top-K list per (university, metric) in memory.
+ *
+ * Per-target totals are updated from rating/review events after commit and the affected
+ * board is patched in place; reads just copy at most K entries. A scheduled full recompute
+ * from the database corrects any drift (missed events, renamed professors, edited difficulty).
+ * Its queries run without the lock, so events arriving after a query started are kept and
+ * applied again on top of the totals it returned.
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    private static final Comparator<LeaderboardEntryDto> BY_SCORE =
+            Comparator.comparingDouble(LeaderboardEntryDto::getScore).reversed()
+                    .thenComparing(Comparator.comparingLong(LeaderboardEntryDto::getReviewCount).reversed())
+                    .thenComparing(LeaderboardEntryDto::getTargetId);
+
+    private final RatingRepository ratingRepository;
+    private final CourseDetailRepository courseDetailRepository;
+    private final CourseMappingService courseMappingService;
+    private final int boardSize;
+    private final int minReviews;
+
+    // metric -> targetId -> running totals
+    private final Map<LeaderboardMetric, Map<Long, TargetStats>> stats = new EnumMap<>(LeaderboardMetric.class);
+
+    // (university, metric) -> immutable ranked list of at most boardSize entries
+    private final Map<BoardKey, List<LeaderboardEntryDto>> boards = new ConcurrentHashMap<>();
+
+    // One recompute at a time (scheduled, or after an import)
+    private final Object recomputeLock = new Object();
+    // Numbers events as they are applied, and keeps them while a recompute is reading the
+    // database (null otherwise); both guarded by this
+    private long eventSeq;
+    private List<MissedEvent> missedEvents;
+
+    public LeaderboardServiceImpl(RatingRepository ratingRepository,
+                                  CourseDetailRepository courseDetailRepository,
+                                  CourseMappingService courseMappingService,
+                                  @Value("${leaderboard.size:20}") int boardSize,
+                                  @Value("${leaderboard.min-reviews:3}") int minReviews) {
+        this.ratingRepository = ratingRepository;
+        this.courseDetailRepository = courseDetailRepository;
+        this.courseMappingService = courseMappingService;
+        this.boardSize = boardSize;
+        this.minReviews = minReviews;
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            stats.put(metric, new HashMap<>());
+        }
+    }
+
+    // -------------------------------
+    // READS
+    // -------------------------------
+    @Override
+    public LeaderboardDto getLeaderboard(Long universityId, LeaderboardMetric metric, int limit) {
+        List<LeaderboardEntryDto> board = boards.getOrDefault(new BoardKey(universityId, metric), List.of());
+        int size = Math.max(0, Math.min(limit, board.size()));
+        return LeaderboardDto.builder()
+                .universityId(universityId)
+                .metric(metric)
+                .minReviews(minReviews)
+                .entries(List.copyOf(board.subList(0, size)))
+                .build();
+    }
+
+    @Override
+    public List<LeaderboardDto> getLeaderboards(Long universityId, int limit) {
+        List<LeaderboardDto> result = new ArrayList<>();
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            result.add(getLeaderboard(universityId, metric, limit));
+        }
+        return result;
+    }
+
+    // -------------------------------
+    // FULL RECOMPUTE
+    // -------------------------------
+    @Override
+    @Scheduled(fixedDelayString = "${leaderboard.recompute-interval-ms:900000}")
+    public void recompute() {
+        synchronized (recomputeLock) {
+            recomputeFromDatabase();
+        }
+    }
+
+    private void recomputeFromDatabase() {
+        synchronized (this) {
+            missedEvents = new ArrayList<>();
+        }
+        Map<LeaderboardMetric, Map<Long, TargetStats>> fresh = new EnumMap<>(LeaderboardMetric.class);
+        // Last event applied before each metric's query started
+        Map<LeaderboardMetric, Long> queriedAfter = new EnumMap<>(LeaderboardMetric.class);
+        try {
+            queriedAfter.put(LeaderboardMetric.TOP_PROFESSORS, currentEventSeq());
+            fresh.put(LeaderboardMetric.TOP_PROFESSORS, fromRatings(ratingRepository.aggregateByProfessor()));
+            queriedAfter.put(LeaderboardMetric.TOP_COURSES, currentEventSeq());
+            fresh.put(LeaderboardMetric.TOP_COURSES, fromRatings(ratingRepository.aggregateByCourse()));
+
+            queriedAfter.put(LeaderboardMetric.HARDEST_COURSES, currentEventSeq());
+            Map<Long, TargetStats> difficulty = new HashMap<>();
+            for (CourseDifficultyAggregate row : courseDetailRepository.aggregateDifficulty()) {
+                difficulty.put(row.getTargetId(), new TargetStats(row.getTargetId(), row.getName(),
+                        row.getUniversityId(), row.getReviewCount(), row.getDifficulty().doubleValue()));
+            }
+            fresh.put(LeaderboardMetric.HARDEST_COURSES, difficulty);
+        } catch (Exception e) {
+            logger.warn("Leaderboard recompute failed: {}", e.getMessage());
+            synchronized (this) {
+                missedEvents = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            stats.putAll(fresh);
+            boards.clear();
+            for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                Set<Long> universities = new HashSet<>();
+                for (TargetStats target : stats.get(metric).values()) {
+                    universities.add(target.universityId);
+                }
+                for (Long universityId : universities) {
+                    rebuildBoard(new BoardKey(universityId, metric));
+                }
+            }
+            // The query may have run before these events' transactions committed; only one whose
+            // commit just preceded the query while its listener ran just after is counted twice
+            // (until the next recompute)
+            List<MissedEvent> missed = missedEvents;
+            missedEvents = null;
+            for (MissedEvent missedEvent : missed) {
+                Set<LeaderboardMetric> metrics = EnumSet.noneOf(LeaderboardMetric.class);
+                queriedAfter.forEach((metric, seq) -> {
+                    if (missedEvent.seq() > seq) {
+                        metrics.add(metric);
+                    }
+                });
+                if (missedEvent.event() instanceof RatingChangedEvent rating) {
+                    applyRatingEvent(rating, metrics);
+                } else if (metrics.contains(LeaderboardMetric.HARDEST_COURSES)) {
+                    applyReviewEvent((ReviewChangedEvent) missedEvent.event());
+                }
+            }
+        }
+        logger.info("Leaderboards recomputed: {} boards", boards.size());
+    }
+
+    private synchronized long currentEventSeq() {
+        return eventSeq;
+    }
+
+    private Map<Long, TargetStats> fromRatings(List<RatingAggregate> rows) {
+        Map<Long, TargetStats> result = new HashMap<>();
+        for (RatingAggregate row : rows) {
+            result.put(row.getTargetId(), new TargetStats(row.getTargetId(), row.getName(),
+                    row.getUniversityId(), row.getRatingCount(), row.getRatingSum()));
+        }
+        return result;
+    }
+
+    // -------------------------------
+    // INCREMENTAL UPDATES
+    // -------------------------------
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRatingChanged(RatingChangedEvent event) {
+        keepIfRecomputing(event);
+        applyRatingEvent(event, EnumSet.allOf(LeaderboardMetric.class));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onReviewChanged(ReviewChangedEvent event) {
+        keepIfRecomputing(event);
+        applyReviewEvent(event);
+    }
+
+    private void keepIfRecomputing(Object event) {
+        eventSeq++;
+        if (missedEvents != null) {
+            missedEvents.add(new MissedEvent(eventSeq, event));
+        }
+    }
+
+    private void applyRatingEvent(RatingChangedEvent event, Set<LeaderboardMetric> metrics) {
+        if (metrics.contains(LeaderboardMetric.TOP_PROFESSORS)
+                && event.getProfessorId() != null && event.getProfessorUniversityId() != null) {
+            applyRating(LeaderboardMetric.TOP_PROFESSORS, event.getProfessorId(), event.getProfessorName(),
+                    event.getProfessorUniversityId(), event.getOldValue(), event.getNewValue());
+        }
+        if (metrics.contains(LeaderboardMetric.TOP_COURSES)
+                && event.getCourseId() != null && event.getCourseUniversityId() != null) {
+            applyRating(LeaderboardMetric.TOP_COURSES, event.getCourseId(), event.getCourseName(),
+                    event.getCourseUniversityId(), event.getOldValue(), event.getNewValue());
+        }
+    }
+
+    private void applyReviewEvent(ReviewChangedEvent event) {
+        if (event.getCourseDetailId() == null) {
+            return;
+        }
+        // Only courses with a known difficulty are ranked; new ones are picked up by the next recompute
+        TargetStats target = stats.get(LeaderboardMetric.HARDEST_COURSES).get(event.getCourseDetailId());
+        if (target != null) {
+            double previousScore = target.score(LeaderboardMetric.HARDEST_COURSES);
+            target.count = Math.max(0, target.count + event.getDelta());
+            updateBoard(LeaderboardMetric.HARDEST_COURSES, target, previousScore);
+        }
+    }
+
+    private void applyRating(LeaderboardMetric metric, Long targetId, String name, Long universityId,
+                             Integer oldValue, Integer newValue) {
+        TargetStats target = stats.get(metric)
+                .computeIfAbsent(targetId, id -> new TargetStats(id, name, universityId, 0, 0));
+        double previousScore = target.count > 0 ? target.score(metric) : 0.0;
+        if (oldValue != null) {
+            target.count--;
+            target.total -= oldValue;
+        }
+        if (newValue != null) {
+            target.count++;
+            target.total += newValue;
+        }
+        if (target.count <= 0) {
+            target.count = 0;
+            target.total = 0;
+        }
+        updateBoard(metric, target, previousScore);
+    }
+
+    /**
+     * Patch a single board after one target changed. Falls back to rebuilding the board
+     * from the stats map only when an entry drops, since a replacement may come from
+     * outside the current top-K.
+     */
+    private void updateBoard(LeaderboardMetric metric, TargetStats target, double previousScore) {
+        BoardKey key = new BoardKey(target.universityId, metric);
+        List<LeaderboardEntryDto> current = boards.getOrDefault(key, List.of());
+        boolean present = current.stream().anyMatch(e -> e.getTargetId().equals(target.targetId));
+        boolean qualifies = qualifies(target);
+        double score = qualifies ? target.score(metric) : 0.0;
+
+        if (!present) {
+            if (!qualifies) {
+                return;
+            }
+            if (current.size() >= boardSize && score < current.get(current.size() - 1).getScore()) {
+                return;
+            }
+        } else if (current.size() >= boardSize && (!qualifies || score < previousScore)) {
+            rebuildBoard(key);
+            return;
+        }
+
+        List<LeaderboardEntryDto> next = new ArrayList<>(current.size() + 1);
+        for (LeaderboardEntryDto entry : current) {
+            if (!entry.getTargetId().equals(target.targetId)) {
+                next.add(entry);
+            }
+        }
+        if (qualifies) {
+            next.add(toEntry(metric, target));
+        }
+        publish(key, next);
+    }
+
+    private void rebuildBoard(BoardKey key) {
+        List<LeaderboardEntryDto> candidates = new ArrayList<>();
+        for (TargetStats target : stats.get(key.metric()).values()) {
+            if (key.universityId().equals(target.universityId) && qualifies(target)) {
+                candidates.add(toEntry(key.metric(), target));
+            }
+        }
+        publish(key, candidates);
+    }
+
+    private void publish(BoardKey key, List<LeaderboardEntryDto> entries) {
+        entries.sort(BY_SCORE);
+        List<LeaderboardEntryDto> ranked = new ArrayList<>(Math.min(entries.size(), boardSize));
+        for (int i = 0; i < entries.size() && i < boardSize; i++) {
+            LeaderboardEntryDto entry = entries.get(i);
+            ranked.add(LeaderboardEntryDto.builder()
+                    .rank(i + 1)
+                    .targetId(entry.getTargetId())
+                    .courseDetailId(entry.getCourseDetailId())
+                    .name(entry.getName())
+                    .score(entry.getScore())
+                    .reviewCount(entry.getReviewCount())
+                    .build());
+        }
+        if (ranked.isEmpty()) {
+            boards.remove(key);
+        } else {
+            boards.put(key, List.copyOf(ranked));
+        }
+    }
+
+    private boolean qualifies(TargetStats target) {
+        return target.count > 0 && target.count >= minReviews;
+    }
+
+    private LeaderboardEntryDto toEntry(LeaderboardMetric metric, TargetStats target) {
+        return LeaderboardEntryDto.builder()
+                .targetId(target.targetId)
+                .courseDetailId(courseDetailIdFor(metric, target.targetId))
+                .name(target.name)
+                .score(Math.round(target.score(metric) * 100.0) / 100.0)
+                .reviewCount(target.count)
+                .build();
+    }
+
+    private Long courseDetailIdFor(LeaderboardMetric metric, Long targetId) {
+        return switch (metric) {
+            case TOP_COURSES -> courseMappingService.findCourseDetailId(targetId);
+            case HARDEST_COURSES -> targetId;
+            default -> null;
+        };
+    }
+
+    private record BoardKey(Long universityId, LeaderboardMetric metric) {
+    }
+
+    private record MissedEvent(long seq, Object event) {
+    }
+
+    /**
+     * Running totals for one professor or course. For averaged metrics total is the
+     * sum of rating values; otherwise it is the stored score (e.g. difficulty).
+     */
+    private static final class TargetStats {
+        private final Long targetId;
+        private final String name;
+        private final Long universityId;
+        private long count;
+        private double total;
+
+        private TargetStats(Long targetId, String name, Long universityId, long count, double total) {
+            this.targetId = targetId;
+            this.name = name;
+            this.universityId = universityId;
+            this.count = count;
+            this.total = total;
+        }
+
+        private double score(LeaderboardMetric metric) {
+            if (!metric.isAveraged()) {
+                return total;
+            }
+            return count == 0 ? 0.0 : total / count;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.campusconnect.service;
 
 import com.campusconnect.dto.MessageDto;
+import com.campusconnect.dto.MessageSyncDto;
+import com.campusconnect.security.UserPrincipal;
+import java.util.Collection;
 import java.util.List;
 
 public interface MessageService {
@@ -10,11 +13,34 @@ public interface MessageService {
      */
     MessageDto sendMessage(Long projectId, String content);
 
+    /**
+     * Send a message as the given sender, whose membership the caller has checked (STOMP sends).
+     * clientMessageId, when given, is echoed in the broadcast and the result.
+     */
+    MessageDto sendMessage(Long projectId, UserPrincipal sender, String content, String clientMessageId);
+
     /**
      * Fetch all messages for a specific project.
      */
     List<MessageDto> getMessagesByProject(Long projectId);
 
+    /**
+     * Fetch one page of a project's history: the latest limit messages, or those just older than
+     * before (a message id). Oldest first within the page.
+     */
+    List<MessageDto> getMessagePage(Long projectId, Long before, int limit);
+
+    /**
+     * Changes (new and deleted messages) after the since cursor in the user's projects, or in
+     * projectId only, whose membership the caller has checked. See MessageSyncDto.
+     */
+    MessageSyncDto getChangesForUser(Long userId, Long projectId, Long since);
+
+    /**
+     * Same, for projects already known to be the user's (STOMP sessions).
+     */
+    MessageSyncDto getChangesSince(Collection<Long> projectIds, Long since);
+
     /**
      * Delete a message (only sender or project leader/mentor can delete).
      */
@@ -1,40 +1,96 @@
 package com.campusconnect.service;
 
-import com.campusconnect.controller.WebSocketMessageController;
+import com.campusconnect.chat.ChatDurability;
+import com.campusconnect.chat.ChatFanout;
+import com.campusconnect.chat.ChatMessageWriter;
+import com.campusconnect.chat.MessageChangeLog;
+import com.campusconnect.chat.MessageIdGenerator;
 import com.campusconnect.dto.MessageDto;
+import com.campusconnect.dto.MessageSyncDto;
 import com.campusconnect.entity.Message;
 import com.campusconnect.entity.Project;
 import com.campusconnect.entity.User;
+import com.campusconnect.event.MessageSentEvent;
 import com.campusconnect.mapper.MessageMapper;
 import com.campusconnect.repository.MessageRepository;
+import com.campusconnect.repository.ProjectMemberRepository;
 import com.campusconnect.repository.ProjectRepository;
 import com.campusconnect.repository.UserRepository;
+import com.campusconnect.repository.MessageView;
+import com.campusconnect.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MessageServiceImpl implements MessageService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final MessageRepository messageRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final MessageMapper messageMapper;
-    private final WebSocketMessageController webSocketController;
+    private final ChatFanout chatFanout;
+    private final MessageIdGenerator messageIdGenerator;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MessageChangeLog messageChangeLog;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Write-behind: id from MessageIdGenerator, row written later in a batch by ChatMessageWriter
+    @Value("${chat.write-behind.enabled:false}")
+    private boolean writeBehind;
+
+    @Value("${chat.write-behind.durability:FLUSH_BEFORE_ACK}")
+    private ChatDurability durability;
 
+    @Value("${chat.write-behind.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
 
     @Override
     public MessageDto sendMessage(Long projectId, String content) {
         Authentication auth = org.springframework.security.core.context.SecurityContextHolder
                 .getContext().getAuthentication();
+        if (writeBehind && auth.getPrincipal() instanceof UserPrincipal principal) {
+            return sendWriteBehind(projectId, principal, content, null);
+        }
         String email = auth.getName();
 
         User sender = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        return saveAndBroadcast(projectId, sender, content, null);
+    }
+
+    @Override
+    public MessageDto sendMessage(Long projectId, UserPrincipal sender, String content, String clientMessageId) {
+        if (writeBehind) {
+            return sendWriteBehind(projectId, sender, content, clientMessageId);
+        }
+        User user = userRepository.findById(sender.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return saveAndBroadcast(projectId, user, content, clientMessageId);
+    }
+
+    private MessageDto saveAndBroadcast(Long projectId, User sender, String content, String clientMessageId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
@@ -42,30 +98,117 @@ public class MessageServiceImpl implements MessageService {
                 .project(project)
                 .sender(sender)
                 .content(content)
+                .createdAt(LocalDateTime.now())
                 .build();
 
-        messageRepository.save(msg);
+        // The row and its change log entry commit together, before anyone is told about the message
+        long seq = transactionTemplate.execute(status -> {
+            messageRepository.save(msg);
+            return messageChangeLog.appendCreated(projectId, msg.getMessageId());
+        });
         MessageDto messageDto = messageMapper.toDto(msg);
+        messageDto.setClientMessageId(clientMessageId);
+        messageDto.setSeq(seq);
         
         // Broadcast message via WebSocket to all subscribers of this project
-        webSocketController.broadcastMessage(messageDto);
+        chatFanout.publish(ChatFanout.projectTopic(projectId), messageDto);
+        eventPublisher.publishEvent(new MessageSentEvent(projectId, msg.getMessageId(), sender.getUserId()));
         
         return messageDto;
 
     }
 
+    // Project membership was checked by the caller and the FK guards the rest, so nothing is read here
+    private MessageDto sendWriteBehind(Long projectId, UserPrincipal sender, String content, String clientMessageId) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        ChatMessageWriter.PendingMessage pending = new ChatMessageWriter.PendingMessage(
+                messageIdGenerator.nextId(), projectId, sender.getId(), content, createdAt);
+        MessageDto messageDto = MessageDto.builder()
+                .messageId(pending.messageId())
+                .projectId(projectId)
+                .senderId(sender.getId())
+                .senderName(sender.getName())
+                .content(content)
+                .createdAt(createdAt.toString())
+                .clientMessageId(clientMessageId)
+                // Logged by the writer with the message id as seq
+                .seq(pending.messageId())
+                .build();
+        Runnable deliver = () -> {
+            chatFanout.publish(ChatFanout.projectTopic(projectId), messageDto);
+            eventPublisher.publishEvent(new MessageSentEvent(projectId, pending.messageId(), sender.getId()));
+        };
+
+        CompletableFuture<Void> written = chatMessageWriter.submit(pending);
+        if (durability == ChatDurability.FLUSH_BEFORE_ACK) {
+            awaitWritten(written, pending.messageId(), deliver);
+        }
+        deliver.run();
+        return messageDto;
+    }
+
+    private void awaitWritten(CompletableFuture<Void> written, long messageId, Runnable deliver) {
+        try {
+            written.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Message could not be saved", e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued: deliver it once written, so members (and the sender, by clientMessageId) see it
+            // then and a retry is not needed
+            written.thenRun(deliver);
+            throw new IllegalStateException("Message " + messageId + " is still being saved and will be delivered once it is");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            written.thenRun(deliver);
+            throw new IllegalStateException("Interrupted while saving message");
+        }
+    }
+
     @Override
     public List<MessageDto> getMessagesByProject(Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found");
+        }
 
-        return messageRepository.findByProjectOrderByCreatedAtAsc(project)
+        return messageRepository.findViewsByProject(projectId)
                 .stream()
                 .map(messageMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    public List<MessageDto> getMessagePage(Long projectId, Long before, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        List<MessageView> newestFirst = before == null
+                ? messageRepository.findLatestViews(projectId, page)
+                : messageRepository.findViewsBefore(projectId, before, page);
+
+        List<MessageDto> messages = new ArrayList<>(newestFirst.size());
+        for (MessageView view : newestFirst) {
+            messages.add(messageMapper.toDto(view));
+        }
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    @Override
+    public MessageSyncDto getChangesForUser(Long userId, Long projectId, Long since) {
+        Collection<Long> projectIds = projectId != null
+                ? List.of(projectId)
+                : projectMemberRepository.findProjectIdsByUserId(userId);
+        return messageChangeLog.changesSince(projectIds, since);
+    }
+
+    @Override
+    public MessageSyncDto getChangesSince(Collection<Long> projectIds, Long since) {
+        return messageChangeLog.changesSince(projectIds, since);
+    }
+
+    @Override
+    @Transactional
     public void deleteMessage(Long messageId, Long requesterId) {
         Message msg = messageRepository.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
@@ -79,6 +222,7 @@ public class MessageServiceImpl implements MessageService {
         }
 
         messageRepository.delete(msg);
+        messageChangeLog.appendDeleted(msg.getProject().getProjectId(), messageId);
     }
 
     @Override
@@ -0,0 +1,189 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.PrerequisiteGraphDto;
+import com.campusconnect.dto.PrerequisiteNodeDto;
+import com.campusconnect.event.CatalogChangedEvent;
+import com.campusconnect.event.CatalogUpdatedEvent;
+import com.campusconnect.graph.PrerequisiteGraph;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prerequisite trees and dependents of course details, from one cached PrerequisiteGraph per university.
+ *
+ * A graph is built from the catalog snapshot the first time its university is asked for and
+ * dropped when a course detail of that university is created, updated or deleted (its code or
+ * prerequisites may have changed), or on a full catalog reload. Each graph keeps the snapshot
+ * version it was built from, so one built from an older snapshot by a slow request is not served
+ * after a later change, as in CourseBrowseIndex.
+ */
+@Service
+@RequiredArgsConstructor
+public class PrerequisiteGraphService {
+
+    private static final Comparator<PrerequisiteNodeDto> STUDY_ORDER =
+            Comparator.comparingInt((PrerequisiteNodeDto node) -> node.getLevel() < 0 ? Integer.MAX_VALUE : node.getLevel())
+                    .thenComparing(PrerequisiteNodeDto::getCode, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(PrerequisiteNodeDto::getCourseId);
+
+    private final CatalogService catalogService;
+
+    private record VersionedGraph(long version, PrerequisiteGraph graph) {
+    }
+
+    private final Map<Long, VersionedGraph> graphs = new ConcurrentHashMap<>();
+
+    // University -> catalog version of the last change to its courses; graphs built before it are stale
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+    private volatile long clearedAt;
+
+    // -------------------------------
+    // QUERIES
+    // -------------------------------
+    // ✅ Everything a course needs, in the order it can be taken
+    public PrerequisiteGraphDto getPrerequisiteTree(Long courseDetailId) {
+        CatalogSnapshot snapshot = catalogService.snapshot();
+        CourseDetailDto root = requireCourseDetail(snapshot, courseDetailId);
+        PrerequisiteGraph graph = graphFor(snapshot, root);
+        int rootIndex = graph.indexOf(courseDetailId).orElseThrow();
+
+        BitSet closure = graph.prerequisiteClosure(rootIndex);
+        closure.clear(rootIndex);
+        List<String> unresolved = new ArrayList<>(graph.unresolvedOf(rootIndex));
+        for (int node = closure.nextSetBit(0); node >= 0; node = closure.nextSetBit(node + 1)) {
+            unresolved.addAll(graph.unresolvedOf(node));
+        }
+        return toDto(snapshot, graph, root, rootIndex, closure, graph.prerequisitesOf(rootIndex),
+                unresolved.stream().distinct().toList());
+    }
+
+    // ✅ Every course that needs this one, nearest first
+    public PrerequisiteGraphDto getDependents(Long courseDetailId) {
+        CatalogSnapshot snapshot = catalogService.snapshot();
+        CourseDetailDto root = requireCourseDetail(snapshot, courseDetailId);
+        PrerequisiteGraph graph = graphFor(snapshot, root);
+        int rootIndex = graph.indexOf(courseDetailId).orElseThrow();
+
+        BitSet closure = graph.dependentClosure(rootIndex);
+        closure.clear(rootIndex);
+        List<Integer> direct = new ArrayList<>();
+        for (int node = closure.nextSetBit(0); node >= 0; node = closure.nextSetBit(node + 1)) {
+            for (int prerequisite : graph.prerequisitesOf(node)) {
+                if (prerequisite == rootIndex) {
+                    direct.add(node);
+                    break;
+                }
+            }
+        }
+        return toDto(snapshot, graph, root, rootIndex, closure,
+                direct.stream().mapToInt(Integer::intValue).toArray(), List.of());
+    }
+
+    private static CourseDetailDto requireCourseDetail(CatalogSnapshot snapshot, Long courseDetailId) {
+        CourseDetailDto courseDetail = snapshot.getCourseDetail(courseDetailId);
+        if (courseDetail == null) {
+            throw new EntityNotFoundException("Course detail not found");
+        }
+        return courseDetail;
+    }
+
+    private PrerequisiteGraphDto toDto(CatalogSnapshot snapshot, PrerequisiteGraph graph, CourseDetailDto root,
+                                       int rootIndex, BitSet closure, int[] direct, List<String> unresolved) {
+        // The root takes part in level numbering so dependents count their distance from it
+        BitSet withRoot = (BitSet) closure.clone();
+        withRoot.set(rootIndex);
+        int[] levels = graph.levels(withRoot);
+        boolean cyclic = graph.isCyclic(rootIndex);
+
+        List<PrerequisiteNodeDto> nodes = new ArrayList<>(closure.cardinality());
+        for (int node = closure.nextSetBit(0); node >= 0; node = closure.nextSetBit(node + 1)) {
+            CourseDetailDto courseDetail = snapshot.getCourseDetail(graph.courseId(node));
+            List<Long> prerequisiteIds = new ArrayList<>();
+            for (int prerequisite : graph.prerequisitesOf(node)) {
+                if (closure.get(prerequisite)) {
+                    prerequisiteIds.add(graph.courseId(prerequisite));
+                }
+            }
+            cyclic |= graph.isCyclic(node);
+            nodes.add(PrerequisiteNodeDto.builder()
+                    .courseId(graph.courseId(node))
+                    .code(courseDetail != null ? courseDetail.getCode() : null)
+                    .name(courseDetail != null ? courseDetail.getName() : null)
+                    .level(levels[node])
+                    .prerequisiteIds(prerequisiteIds)
+                    .cyclic(graph.isCyclic(node))
+                    .build());
+        }
+        nodes.sort(STUDY_ORDER);
+
+        List<Long> directIds = new ArrayList<>(direct.length);
+        for (int node : direct) {
+            directIds.add(graph.courseId(node));
+        }
+        return PrerequisiteGraphDto.builder()
+                .courseId(root.getCourseId())
+                .code(root.getCode())
+                .name(root.getName())
+                .directIds(directIds)
+                .courses(nodes)
+                .unresolved(unresolved)
+                .cyclic(cyclic)
+                .build();
+    }
+
+    // The graph of root's university, always one that contains root
+    private PrerequisiteGraph graphFor(CatalogSnapshot snapshot, CourseDetailDto root) {
+        Long universityId = root.getUniversityId();
+        VersionedGraph cached = graphs.get(universityId);
+        if (cached != null && !isStale(cached, universityId) && cached.graph().indexOf(root.getCourseId()).isPresent()) {
+            return cached.graph();
+        }
+        // Missing, stale, or older than this snapshot (read before its change was applied here)
+        VersionedGraph built = new VersionedGraph(snapshot.getVersion(),
+                PrerequisiteGraph.build(snapshot.getCourseDetailsByUniversity(universityId)));
+        graphs.merge(universityId, built, (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        return built.graph();
+    }
+
+    private boolean isStale(VersionedGraph graph, Long universityId) {
+        return graph.version() < clearedAt || graph.version() < changedAt.getOrDefault(universityId, 0L);
+    }
+
+    // -------------------------------
+    // INVALIDATION
+    // -------------------------------
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        CatalogChangedEvent change = event.getChange();
+        long version = event.getSnapshot().getVersion();
+        if (change == null) {
+            clearedAt = version;
+            graphs.clear();
+            return;
+        }
+        if (change.getKind() != CatalogChangedEvent.Kind.COURSE_DETAIL) {
+            return;
+        }
+        // Drop the graph that held the course before (it may have moved university) and the one holding it now
+        Set<Long> affected = new HashSet<>();
+        graphs.forEach((universityId, graph) -> {
+            if (graph.graph().indexOf(change.getId()).isPresent()) {
+                affected.add(universityId);
+            }
+        });
+        CourseDetailDto courseDetail = event.getSnapshot().getCourseDetail(change.getId());
+        if (courseDetail != null) {
+            affected.add(courseDetail.getUniversityId());
+        }
+        for (Long universityId : affected) {
+            changedAt.put(universityId, version);
+            graphs.remove(universityId);
+        }
+    }
+}
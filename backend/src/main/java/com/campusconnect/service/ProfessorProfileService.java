@@ -0,0 +1,81 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.ProfessorDto;
+import com.campusconnect.dto.ProfessorProfileDto;
+import com.campusconnect.dto.RatingSummaryDto;
+import com.campusconnect.dto.ReviewDto;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a professor page in one call.
+ *
+ * The professor and their courses come from the catalog snapshot; the rating summary (one GROUP
+ * BY), the review count and the top reviews are three small queries run concurrently on the
+ * aggregation executor. Whatever is not back within the timeout is left empty and listed in
+ * ProfessorProfileDto.unavailable, so a slow query degrades the page instead of failing it.
+ */
+@Service
+public class ProfessorProfileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfessorProfileService.class);
+
+    private static final int MAX_REVIEWS = 50;
+
+    private final CatalogService catalogService;
+    private final RatingService ratingService;
+    private final ReviewService reviewService;
+    private final ExecutorService executor;
+    private final long timeoutMs;
+
+    public ProfessorProfileService(CatalogService catalogService,
+                                   RatingService ratingService,
+                                   ReviewService reviewService,
+                                   @Qualifier("aggregationExecutor") ExecutorService executor,
+                                   @Value("${aggregation.timeout-ms:2000}") long timeoutMs) {
+        this.catalogService = catalogService;
+        this.ratingService = ratingService;
+        this.reviewService = reviewService;
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public ProfessorProfileDto getProfile(Long professorId, int reviewLimit) {
+        if (reviewLimit < 0 || reviewLimit > MAX_REVIEWS) {
+            throw new IllegalArgumentException("Review limit must be between 0 and " + MAX_REVIEWS);
+        }
+        ProfessorDto professor = catalogService.snapshot().getProfessor(professorId);
+        if (professor == null) {
+            throw new EntityNotFoundException("Professor not found");
+        }
+
+        CompletableFuture<RatingSummaryDto> ratings = CompletableFuture.supplyAsync(
+                () -> ratingService.getRatingSummaryForProfessor(professorId), executor);
+        CompletableFuture<Long> reviewCount = CompletableFuture.supplyAsync(
+                () -> reviewService.countReviewsByProfessor(professorId), executor);
+        CompletableFuture<List<ReviewDto>> topReviews = reviewLimit == 0
+                ? CompletableFuture.completedFuture(List.of())
+                : CompletableFuture.supplyAsync(() -> reviewService.getTopReviewsByProfessor(professorId, reviewLimit), executor);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<String> unavailable = new ArrayList<>();
+        return ProfessorProfileDto.builder()
+                .professor(professor)
+                .courses(catalogService.snapshot().getCourseDetailSummariesByProfessor(professorId))
+                .ratings(AggregationSupport.await(ratings, deadline, "ratings", unavailable, null, logger))
+                .reviewCount(AggregationSupport.await(reviewCount, deadline, "reviewCount", unavailable, 0L, logger))
+                .topReviews(AggregationSupport.await(topReviews, deadline, "topReviews", unavailable, List.of(), logger))
+                .unavailable(unavailable)
+                .build();
+    }
+}
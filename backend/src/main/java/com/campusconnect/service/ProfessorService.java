@@ -3,18 +3,23 @@ package com.campusconnect.service;
 import com.campusconnect.dto.ProfessorDto;
 import com.campusconnect.entity.Professor;
 import com.campusconnect.entity.University;
+import com.campusconnect.event.CatalogChangedEvent;
 import com.campusconnect.mapper.ProfessorMapper;
 import com.campusconnect.repository.ProfessorRepository;
 import com.campusconnect.repository.UniversityRepository;
+import com.campusconnect.search.ProfessorSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProfessorService {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int MAX_SEARCH_LIMIT = 200;
+
     @Autowired
     private ProfessorRepository professorRepository;
 
@@ -24,6 +29,15 @@ public class ProfessorService {
     @Autowired
     private UniversityRepository universityRepository;
 
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private ProfessorSearchIndex professorSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ✅ Create or update a professor
     public ProfessorDto saveProfessor(ProfessorDto dto) {
         if (dto.getName() == null || dto.getName().trim().isEmpty()) {
@@ -71,31 +85,33 @@ public class ProfessorService {
         }
 
         Professor saved = professorRepository.save(professor);
+        publishChange(saved.getProfessorId(), false);
         return professorMapper.toDto(saved);
     }
 
-    // ✅ Fetch all professors
+    // ✅ Fetch all professors (served from the catalog snapshot)
     public List<ProfessorDto> getAllProfessors() {
-        return professorRepository.findAll()
-                .stream()
-                .map(professorMapper::toDto)
-                .collect(Collectors.toList());
+        return catalogService.snapshot().getProfessors();
     }
 
     // ✅ Get professor by ID
     public ProfessorDto getProfessorById(Long id) {
-        Professor professor = professorRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Professor not found"));
-        return professorMapper.toDto(professor);
+        ProfessorDto professor = catalogService.snapshot().getProfessor(id);
+        if (professor == null) {
+            throw new IllegalArgumentException("Professor not found");
+        }
+        return professor;
     }
 
     // ✅ Search professors (public endpoint)
     public List<ProfessorDto> searchProfessors(String query) {
-        return professorRepository.findAll().stream()
-                .filter(p -> p.getName().toLowerCase().contains(query.toLowerCase()) ||
-                        (p.getDepartment() != null && p.getDepartment().toLowerCase().contains(query.toLowerCase())))
-                .map(professorMapper::toDto)
-                .collect(Collectors.toList());
+        return searchProfessors(query, null, null, DEFAULT_SEARCH_LIMIT);
+    }
+
+    // ✅ Search professors by name/department with optional university and department filters
+    public List<ProfessorDto> searchProfessors(String query, Long universityId, String department, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return professorSearchIndex.search(query, universityId, department, boundedLimit);
     }
 
     // ✅ Delete professor
@@ -104,5 +120,10 @@ public class ProfessorService {
             throw new IllegalArgumentException("Professor not found");
         }
         professorRepository.deleteById(id);
+        publishChange(id, true);
+    }
+
+    private void publishChange(Long id, boolean deleted) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.PROFESSOR, id, deleted));
     }
 }
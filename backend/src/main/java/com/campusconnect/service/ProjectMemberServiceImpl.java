@@ -4,12 +4,14 @@ import com.campusconnect.dto.ProjectMemberDto;
 import com.campusconnect.entity.Project;
 import com.campusconnect.entity.ProjectMember;
 import com.campusconnect.entity.User;
+import com.campusconnect.event.ProjectMembershipChangedEvent;
 import com.campusconnect.exception.ResourceNotFoundException;
 import com.campusconnect.mapper.ProjectMemberMapper;
 import com.campusconnect.repository.ProjectMemberRepository;
 import com.campusconnect.repository.ProjectRepository;
 import com.campusconnect.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -28,6 +30,9 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<ProjectMemberDto> getMembersByProject(Long projectId) {
         Project project = projectRepository.findById(projectId)
@@ -72,6 +77,7 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
         member.setRole(memberRole);
 
         ProjectMember saved = projectMemberRepository.save(member);
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(projectId, userId, true));
         return ProjectMemberMapper.toDto(saved);
     }
 
@@ -92,5 +98,6 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found in this project."));
 
         projectMemberRepository.delete(member);
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(projectId, userId, false));
     }
 }
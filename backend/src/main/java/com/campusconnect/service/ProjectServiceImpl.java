@@ -6,6 +6,7 @@ import com.campusconnect.entity.Project;
 import com.campusconnect.entity.ProjectMember;
 import com.campusconnect.entity.Skill;
 import com.campusconnect.entity.User;
+import com.campusconnect.event.ProjectMembershipChangedEvent;
 import com.campusconnect.exception.ResourceNotFoundException;
 import com.campusconnect.repository.ProjectRepository;
 import com.campusconnect.repository.ProjectMemberRepository;
@@ -13,6 +14,7 @@ import com.campusconnect.repository.SkillRepository;
 import com.campusconnect.repository.UserRepository;
 import com.campusconnect.mapper.ProjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -39,6 +41,9 @@ public class ProjectServiceImpl implements ProjectService {
     @Autowired
     private ProjectMapper projectMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public ProjectDto createProject(ProjectDto projectDto, Long creatorId) {
         User creator = userRepository.findById(creatorId)
@@ -94,6 +99,7 @@ public class ProjectServiceImpl implements ProjectService {
         creatorMember.setUser(creator);
         creatorMember.setRole(ProjectMember.Role.LEADER);
         projectMemberRepository.save(creatorMember);
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(saved.getProjectId(), creatorId, true));
         
         // Trigger lazy loading for skills
         if (saved.getSkills() != null) {
@@ -0,0 +1,15 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.ImportJobDto;
+import com.campusconnect.importer.ImportFormat;
+
+import java.io.InputStream;
+
+public interface RatingImportService {
+
+    /**
+     * Queue a bulk import of historical ratings (and the reviews their comments become).
+     * Progress and rejected rows are available from the returned job.
+     */
+    ImportJobDto startImport(InputStream body, ImportFormat format);
+}
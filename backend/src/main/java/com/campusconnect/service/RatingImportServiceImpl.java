@@ -0,0 +1,456 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.ImportJobDto;
+import com.campusconnect.entity.Course;
+import com.campusconnect.importer.BatchInserts;
+import com.campusconnect.importer.ImportFormat;
+import com.campusconnect.importer.ImportJob;
+import com.campusconnect.importer.ImportJobRegistry;
+import com.campusconnect.importer.ImportRecord;
+import com.campusconnect.importer.ImportRecordReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Bulk import of historical ratings from CSV or NDJSON.
+ *
+ * Columns (CSV header or JSON keys): userEmail or userId; professorId or professorEmail;
+ * courseId (a CourseDetail id, or a legacy Course id) or universityId + courseCode;
+ * rating (1-5); optional comment and createdAt (ISO date or date-time).
+ *
+ * Users, professors, courses and already-rated pairs are loaded into maps once per job, so rows
+ * are validated without queries. Accepted rows are written per chunk in one transaction with
+ * JDBC batches (ratings use IDENTITY keys, which disables Hibernate insert batching); a rating
+ * with a comment also gets its review, as on the API path. Leaderboards and the
+ * trend rollups of the imported targets are rebuilt once at the end.
+ */
+@Service
+public class RatingImportServiceImpl implements RatingImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingImportServiceImpl.class);
+
+    private static final String INSERT_RATING =
+            "INSERT INTO ratings (user_id, professor_id, course_id, rating_value, comment, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REVIEW =
+            "INSERT INTO reviews (user_id, rating_id, course_detail_id, professor_id, content, " +
+            "helpful_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final ImportJobRegistry importJobRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CourseMappingService courseMappingService;
+    private final LeaderboardService leaderboardService;
+    private final RatingTrendService ratingTrendService;
+    private final int chunkSize;
+
+    public RatingImportServiceImpl(ImportJobRegistry importJobRegistry,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   CourseMappingService courseMappingService,
+                                   LeaderboardService leaderboardService,
+                                   RatingTrendService ratingTrendService,
+                                   @Value("${import.chunk-size:500}") int chunkSize) {
+        this.importJobRegistry = importJobRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.courseMappingService = courseMappingService;
+        this.leaderboardService = leaderboardService;
+        this.ratingTrendService = ratingTrendService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportJobDto startImport(InputStream body, ImportFormat format) {
+        return importJobRegistry.submit("ratings", format, body, this::runImport);
+    }
+
+    // -------------------------------
+    // IMPORT LOOP
+    // -------------------------------
+    private void runImport(ImportJob job, ImportRecordReader reader) throws IOException {
+        Lookups lookups = loadLookups();
+        List<PendingRating> chunk = new ArrayList<>(chunkSize);
+        int read = 0;
+        ImportRecord record;
+        try {
+            while ((record = reader.next()) != null) {
+                read++;
+                PendingRating rating = validate(record, lookups, job);
+                if (rating != null) {
+                    chunk.add(rating);
+                }
+                if (read == chunkSize) {
+                    write(chunk, lookups, job);
+                    job.rowsRead(read);
+                    read = 0;
+                }
+            }
+            write(chunk, lookups, job);
+            job.rowsRead(read);
+        } catch (IOException | RuntimeException e) {
+            // Chunks committed before the failure (e.g. an unreadable line) stay imported
+            try {
+                rebuildAggregates(lookups);
+            } catch (RuntimeException rebuildFailure) {
+                e.addSuppressed(rebuildFailure);
+            }
+            throw e;
+        }
+        rebuildAggregates(lookups);
+    }
+
+    // Aggregates are rebuilt once rather than per row
+    private void rebuildAggregates(Lookups lookups) {
+        if (lookups.importedProfessors.isEmpty() && lookups.importedCourses.isEmpty()) {
+            return;
+        }
+        leaderboardService.recompute();
+        ratingTrendService.rebuild(lookups.importedProfessors, lookups.importedCourses);
+    }
+
+    private PendingRating validate(ImportRecord record, Lookups lookups, ImportJob job) {
+        long row = record.rowNumber();
+        if (record.error() != null) {
+            job.reject(row, record.error());
+            return null;
+        }
+        try {
+            Long userId = resolveUser(record, lookups);
+            int value = parseInt(record.get("rating", "ratingValue"), "rating");
+            if (value < 1 || value > 5) {
+                throw new IllegalArgumentException("rating must be between 1 and 5");
+            }
+            Long professorId = resolveProfessor(record, lookups);
+
+            // A CourseDetail id wins over a legacy Course id with the same value, as on the API path
+            Long courseDetailId = null;
+            Long courseId = null;
+            String courseIdText = record.get("courseId", "courseDetailId");
+            String courseCode = record.get("courseCode");
+            if (courseIdText != null) {
+                long id = parseLong(courseIdText, "courseId");
+                if (lookups.courseDetailIds.contains(id)) {
+                    courseDetailId = id;
+                    courseId = lookups.courseIdByDetailId.get(id);
+                } else if (lookups.courseIds.contains(id)) {
+                    courseId = id;
+                    // Reviews hang off the CourseDetail, if this course is linked to one
+                    courseDetailId = lookups.detailIdByCourseId.get(id);
+                } else {
+                    throw new IllegalArgumentException("Unknown course " + id);
+                }
+            } else if (courseCode != null) {
+                long universityId = parseLong(record.get("universityId"), "universityId");
+                courseDetailId = lookups.courseDetailIdByCode.get(codeKey(universityId, courseCode));
+                if (courseDetailId == null) {
+                    throw new IllegalArgumentException("Unknown course " + courseCode + " at university " + universityId);
+                }
+                courseId = lookups.courseIdByDetailId.get(courseDetailId);
+            }
+            if (professorId == null && courseDetailId == null && courseId == null) {
+                throw new IllegalArgumentException("Row needs a professor or a course");
+            }
+
+            // Duplicates against existing ratings, written rows of this file and rows of the current chunk
+            Pair professorPair = professorId != null ? new Pair(userId, professorId) : null;
+            if (professorPair != null && (lookups.ratedProfessors.contains(professorPair)
+                    || lookups.pendingProfessors.contains(professorPair))) {
+                throw new IllegalArgumentException("User already rated this professor");
+            }
+            Long courseKey = courseKey(courseId, courseDetailId);
+            Pair coursePair = courseKey != null ? new Pair(userId, courseKey) : null;
+            if (coursePair != null && (lookups.ratedCourses.contains(coursePair)
+                    || lookups.pendingCourses.contains(coursePair))) {
+                throw new IllegalArgumentException("User already rated this course");
+            }
+            if (professorPair != null) {
+                lookups.pendingProfessors.add(professorPair);
+            }
+            if (coursePair != null) {
+                lookups.pendingCourses.add(coursePair);
+            }
+
+            return new PendingRating(row, userId, professorId, courseId, courseDetailId, value,
+                    record.get("comment"), parseCreatedAt(record.get("createdAt")));
+        } catch (IllegalArgumentException e) {
+            job.reject(row, e.getMessage());
+            return null;
+        }
+    }
+
+    private Long resolveUser(ImportRecord record, Lookups lookups) {
+        String email = record.get("userEmail", "email");
+        if (email != null) {
+            Long userId = lookups.userIdByEmail.get(email.toLowerCase(Locale.ROOT));
+            if (userId == null) {
+                throw new IllegalArgumentException("Unknown user " + email);
+            }
+            return userId;
+        }
+        String id = record.get("userId");
+        if (id == null) {
+            throw new IllegalArgumentException("userEmail or userId is required");
+        }
+        long userId = parseLong(id, "userId");
+        if (!lookups.userIds.contains(userId)) {
+            throw new IllegalArgumentException("Unknown user " + userId);
+        }
+        return userId;
+    }
+
+    private Long resolveProfessor(ImportRecord record, Lookups lookups) {
+        String id = record.get("professorId");
+        if (id != null) {
+            long professorId = parseLong(id, "professorId");
+            if (!lookups.professorIds.contains(professorId)) {
+                throw new IllegalArgumentException("Unknown professor " + professorId);
+            }
+            return professorId;
+        }
+        String email = record.get("professorEmail");
+        if (email == null) {
+            return null;
+        }
+        Long professorId = lookups.professorIdByEmail.get(email.toLowerCase(Locale.ROOT));
+        if (professorId == null) {
+            throw new IllegalArgumentException("Unknown professor " + email);
+        }
+        return professorId;
+    }
+
+    // -------------------------------
+    // WRITES
+    // -------------------------------
+    private void write(List<PendingRating> chunk, Lookups lookups, ImportJob job) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            record(insertChunk(chunk), lookups, job);
+        } catch (Exception e) {
+            logger.warn("Import {}: chunk of {} rows failed, retrying row by row: {}",
+                    job.getJobId(), chunk.size(), e.getMessage());
+            for (PendingRating rating : chunk) {
+                try {
+                    record(insertChunk(List.of(rating)), lookups, job);
+                } catch (Exception rowFailure) {
+                    job.reject(rating.rowNumber(), "Insert failed: " + rootMessage(rowFailure));
+                }
+            }
+        } finally {
+            chunk.clear();
+            // Written pairs are now in the rated sets; those of failed rows may be imported again
+            lookups.pendingProfessors.clear();
+            lookups.pendingCourses.clear();
+        }
+    }
+
+    // Updates progress and the lookups once a chunk has committed
+    private void record(ChunkResult result, Lookups lookups, ImportJob job) {
+        result.linkedCourses().forEach((courseDetailId, courseId) -> {
+            lookups.courseIdByDetailId.put(courseDetailId, courseId);
+            lookups.detailIdByCourseId.put(courseId, courseDetailId);
+        });
+        for (PendingRating rating : result.ratings()) {
+            Long courseId = rating.courseId() != null ? rating.courseId()
+                    : result.linkedCourses().get(rating.courseDetailId());
+            if (courseId != null) {
+                lookups.ratedCourses.add(new Pair(rating.userId(), courseId));
+                lookups.importedCourses.add(courseId);
+            }
+            if (rating.professorId() != null) {
+                lookups.ratedProfessors.add(new Pair(rating.userId(), rating.professorId()));
+                lookups.importedProfessors.add(rating.professorId());
+            }
+        }
+        job.imported(result.ratings().size());
+        job.count("reviews", result.reviews());
+    }
+
+    private ChunkResult insertChunk(List<PendingRating> ratings) {
+        return transactionTemplate.execute(status -> {
+            // Details rated for the first time get their Course (and mapping) now
+            Map<Long, Long> linkedCourses = new HashMap<>();
+            // Sorted, so concurrent chunks lock the detail rows in the same order
+            Set<Long> unlinked = new TreeSet<>();
+            for (PendingRating rating : ratings) {
+                if (rating.courseId() == null && rating.courseDetailId() != null) {
+                    unlinked.add(rating.courseDetailId());
+                }
+            }
+            for (Long courseDetailId : unlinked) {
+                Course course = courseMappingService.linkCourseFor(courseDetailId);
+                linkedCourses.put(courseDetailId, course.getCourseId());
+            }
+
+            List<Long> ratingIds = insertRatings(ratings, linkedCourses);
+
+            List<Object[]> reviews = new ArrayList<>();
+            for (int i = 0; i < ratings.size(); i++) {
+                PendingRating rating = ratings.get(i);
+                if (rating.comment() == null || (rating.courseDetailId() == null && rating.professorId() == null)) {
+                    continue;
+                }
+                Timestamp createdAt = Timestamp.valueOf(rating.createdAt());
+                reviews.add(new Object[] { rating.userId(), ratingIds.get(i), rating.courseDetailId(),
+                        rating.professorId(), rating.comment(), createdAt, createdAt });
+            }
+            if (!reviews.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_REVIEW, reviews, new int[] { Types.BIGINT, Types.BIGINT,
+                        Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP });
+            }
+            return new ChunkResult(ratings, linkedCourses, reviews.size());
+        });
+    }
+
+    // One multi-row batch; the generated keys link each review to its rating
+    private List<Long> insertRatings(List<PendingRating> ratings, Map<Long, Long> linkedCourses) {
+        List<Object[]> rows = new ArrayList<>(ratings.size());
+        for (PendingRating rating : ratings) {
+            Long courseId = rating.courseId() != null ? rating.courseId()
+                    : linkedCourses.get(rating.courseDetailId());
+            rows.add(new Object[] { rating.userId(), rating.professorId(), courseId, rating.value(),
+                    rating.comment(), Timestamp.valueOf(rating.createdAt()) });
+        }
+        return BatchInserts.insertReturningKeys(jdbcTemplate, INSERT_RATING, rows, new int[] { Types.BIGINT,
+                Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP });
+    }
+
+    // -------------------------------
+    // LOOKUPS
+    // -------------------------------
+    private Lookups loadLookups() {
+        Lookups lookups = new Lookups();
+        jdbcTemplate.query("SELECT user_id, email FROM users", rs -> {
+            lookups.userIds.add(rs.getLong(1));
+            lookups.userIdByEmail.put(rs.getString(2).toLowerCase(Locale.ROOT), rs.getLong(1));
+        });
+        jdbcTemplate.query("SELECT professor_id, email FROM professors", rs -> {
+            lookups.professorIds.add(rs.getLong(1));
+            String email = rs.getString(2);
+            if (email != null) {
+                lookups.professorIdByEmail.put(email.toLowerCase(Locale.ROOT), rs.getLong(1));
+            }
+        });
+        jdbcTemplate.query("SELECT course_id, university_id, code FROM course_details", rs -> {
+            lookups.courseDetailIds.add(rs.getLong(1));
+            lookups.courseDetailIdByCode.put(codeKey(rs.getLong(2), rs.getString(3)), rs.getLong(1));
+        });
+        jdbcTemplate.query("SELECT course_id FROM courses", rs -> {
+            lookups.courseIds.add(rs.getLong(1));
+        });
+        jdbcTemplate.query("SELECT course_detail_id, course_id FROM course_detail_course_map", rs -> {
+            lookups.courseIdByDetailId.put(rs.getLong(1), rs.getLong(2));
+            lookups.detailIdByCourseId.put(rs.getLong(2), rs.getLong(1));
+        });
+        jdbcTemplate.query("SELECT user_id, professor_id, course_id FROM ratings", rs -> {
+            long userId = rs.getLong(1);
+            long professorId = rs.getLong(2);
+            if (!rs.wasNull()) {
+                lookups.ratedProfessors.add(new Pair(userId, professorId));
+            }
+            long courseId = rs.getLong(3);
+            if (!rs.wasNull()) {
+                lookups.ratedCourses.add(new Pair(userId, courseId));
+            }
+        });
+        return lookups;
+    }
+
+    // Course a rating counts against for duplicate checks. Details without a Course yet are
+    // keyed by their negated id until one is created for them.
+    private static Long courseKey(Long courseId, Long courseDetailId) {
+        if (courseId != null) {
+            return courseId;
+        }
+        return courseDetailId != null ? -courseDetailId : null;
+    }
+
+    private static String codeKey(long universityId, String code) {
+        return universityId + ":" + code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static long parseLong(String text, String column) {
+        if (text == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + text);
+        }
+    }
+
+    private static int parseInt(String text, String column) {
+        long value = parseLong(text, column);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(column + " is out of range: " + text);
+        }
+        return (int) value;
+    }
+
+    private static LocalDateTime parseCreatedAt(String text) {
+        if (text == null) {
+            return LocalDateTime.now();
+        }
+        try {
+            return text.length() <= 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("createdAt is not an ISO date: " + text);
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static final class Lookups {
+        final Set<Long> userIds = new HashSet<>();
+        final Map<String, Long> userIdByEmail = new HashMap<>();
+        final Set<Long> professorIds = new HashSet<>();
+        final Map<String, Long> professorIdByEmail = new HashMap<>();
+        final Set<Long> courseDetailIds = new HashSet<>();
+        final Map<String, Long> courseDetailIdByCode = new HashMap<>();
+        final Set<Long> courseIds = new HashSet<>();
+        final Map<Long, Long> courseIdByDetailId = new HashMap<>();
+        final Map<Long, Long> detailIdByCourseId = new HashMap<>();
+        final Set<Pair> ratedProfessors = new HashSet<>();
+        final Set<Pair> ratedCourses = new HashSet<>();
+        // Pairs of the rows validated into the chunk being built, until it is written
+        final Set<Pair> pendingProfessors = new HashSet<>();
+        final Set<Pair> pendingCourses = new HashSet<>();
+        // Targets that received ratings, whose trend rollups need rebuilding
+        final Set<Long> importedProfessors = new HashSet<>();
+        final Set<Long> importedCourses = new HashSet<>();
+    }
+
+    private record Pair(long userId, long targetId) {
+    }
+
+    private record PendingRating(long rowNumber, Long userId, Long professorId, Long courseId, Long courseDetailId,
+                                 int value, String comment, LocalDateTime createdAt) {
+    }
+
+    private record ChunkResult(List<PendingRating> ratings, Map<Long, Long> linkedCourses, int reviews) {
+    }
+}
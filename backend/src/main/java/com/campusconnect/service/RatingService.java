@@ -1,6 +1,7 @@
 package com.campusconnect.service;
 
 import com.campusconnect.dto.RatingDto;
+import com.campusconnect.dto.RatingSummaryDto;
 import java.util.List;
 
 public interface RatingService {
@@ -15,4 +16,6 @@ public interface RatingService {
 
     Double getAverageRatingForProfessor(Long professorId);
     Double getAverageRatingForCourse(Long courseId);
+    RatingSummaryDto getRatingSummaryForProfessor(Long professorId);
+    RatingSummaryDto getRatingSummaryForCourse(Long courseId);
 }
@@ -1,15 +1,19 @@
 package com.campusconnect.service;
 
 import com.campusconnect.dto.RatingDto;
+import com.campusconnect.dto.RatingSummaryDto;
 import com.campusconnect.entity.*;
+import com.campusconnect.event.RatingChangedEvent;
 import com.campusconnect.repository.*;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,9 +25,8 @@ public class RatingServiceImpl implements RatingService {
     private final RatingRepository ratingRepository;
     private final UserRepository userRepository;
     private final ProfessorRepository professorRepository;
-    private final CourseRepository courseRepository;
-    private final CourseDetailRepository courseDetailRepository;
-    private final ReviewService reviewService;
+    private final CourseMappingService courseMappingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // -------------------------------
     // CREATE
@@ -37,50 +40,32 @@ public class RatingServiceImpl implements RatingService {
         User user = userRepository.findByEmail(currentUserEmail)
                 .orElseThrow(() -> new EntityNotFoundException("Authenticated user not found"));
 
+        // Resolve the rated course up front: a linked CourseDetail id comes from memory, a legacy
+        // Course id (or a detail linked on another instance) from one query; a detail rated for the
+        // first time is linked to a new Course
+        Course course = null;
+        Long courseDetailId = null;
+        if (ratingDto.getCourseId() != null) {
+            CourseMappingService.RatingTarget target = courseMappingService.resolveForRating(ratingDto.getCourseId());
+            course = target.course();
+            courseDetailId = target.courseDetailId();
+        }
+
         // Prevent duplicate ratings by the same user
-        if (ratingDto.getProfessorId() != null) {
-            List<Rating> existing = ratingRepository.findByProfessor(new Professor(ratingDto.getProfessorId()))
-                    .stream()
-                    .filter(r -> r.getUser().getUserId().equals(user.getUserId()))
-                    .toList();
-            if (!existing.isEmpty()) {
-                throw new IllegalStateException("You have already rated this professor.");
-            }
+        if (ratingDto.getProfessorId() != null
+                && ratingRepository.existsByUser_UserIdAndProfessor_ProfessorId(user.getUserId(), ratingDto.getProfessorId())) {
+            throw new IllegalStateException("You have already rated this professor.");
         }
-        if (ratingDto.getCourseId() != null) {
-            // Check both Course and CourseDetail tables for existing ratings
-            // First try CourseDetail (new table)
-            CourseDetail courseDetail = courseDetailRepository.findById(ratingDto.getCourseId()).orElse(null);
-            if (courseDetail != null) {
-                // For CourseDetail, we need to check ratings differently since Rating entity uses Course
-                // We'll check by courseId directly in the query
-                List<Rating> allRatings = ratingRepository.findAll();
-                List<Rating> existing = allRatings.stream()
-                        .filter(r -> r.getCourse() != null && r.getCourse().getCourseId().equals(ratingDto.getCourseId()))
-                        .filter(r -> r.getUser().getUserId().equals(user.getUserId()))
-                        .toList();
-                if (!existing.isEmpty()) {
-                    throw new IllegalStateException("You have already rated this course.");
-                }
-            } else {
-                // Fallback to Course table
-                Course course = courseRepository.findById(ratingDto.getCourseId()).orElse(null);
-                if (course != null) {
-                    List<Rating> existing = ratingRepository.findByCourse(course)
-                            .stream()
-                            .filter(r -> r.getUser().getUserId().equals(user.getUserId()))
-                            .toList();
-                    if (!existing.isEmpty()) {
-                        throw new IllegalStateException("You have already rated this course.");
-                    }
-                }
-            }
+        if (course != null
+                && ratingRepository.existsByUser_UserIdAndCourse_CourseId(user.getUserId(), course.getCourseId())) {
+            throw new IllegalStateException("You have already rated this course.");
         }
 
         Rating rating = new Rating();
         rating.setUser(user);
         rating.setRatingValue(ratingDto.getRatingValue());
         rating.setComment(ratingDto.getComment());
+        rating.setCourse(course);
 
         if (ratingDto.getProfessorId() != null) {
             Professor professor = professorRepository.findById(ratingDto.getProfessorId())
@@ -88,98 +73,13 @@ public class RatingServiceImpl implements RatingService {
             rating.setProfessor(professor);
         }
 
-        if (ratingDto.getCourseId() != null) {
-            // First try to find in CourseDetail (new table)
-            CourseDetail courseDetail = courseDetailRepository.findById(ratingDto.getCourseId()).orElse(null);
-            if (courseDetail != null) {
-                // Try to find corresponding Course entry with the same ID
-                Course course = courseRepository.findById(ratingDto.getCourseId()).orElse(null);
-                if (course == null) {
-                    // If Course doesn't exist with same ID, try to find by name and professor
-                    // This handles cases where Course was created with a different ID
-                    if (courseDetail.getProfessor() != null) {
-                        List<Course> coursesByName = courseRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                            courseDetail.getName(), courseDetail.getName());
-                        course = coursesByName.stream()
-                            .filter(c -> c.getName().equals(courseDetail.getName()) && 
-                                       c.getProfessor() != null && 
-                                       c.getProfessor().getProfessorId().equals(courseDetail.getProfessor().getProfessorId()))
-                            .findFirst()
-                            .orElse(null);
-                    }
-                    
-                    // If still not found, create it now
-                    if (course == null) {
-                        course = new Course();
-                        course.setName(courseDetail.getName());
-                        course.setDescription(courseDetail.getDescription());
-                        course.setProfessor(courseDetail.getProfessor());
-                        course.setUniversity(courseDetail.getUniversity());
-                        course = courseRepository.save(course);
-                    }
-                }
-                rating.setCourse(course);
-            } else {
-                // Fallback to Course table
-                Course course = courseRepository.findById(ratingDto.getCourseId())
-                        .orElseThrow(() -> new EntityNotFoundException("Course not found"));
-                rating.setCourse(course);
-            }
-        }
-
         Rating saved = ratingRepository.save(rating);
-        
-        // Convert to DTO first - this ensures the rating is saved before we try to create a review
-        RatingDto result = convertToDto(saved);
-        
-        // If rating has a comment, create a review
-        // Do this AFTER returning the result in a separate try-catch to ensure rating creation always succeeds
-        if (saved.getComment() != null && !saved.getComment().trim().isEmpty()) {
-            // Create review asynchronously - use a separate transaction
-            createReviewForRating(saved, ratingDto);
-        }
-        
-        return result;
-    }
-    
-    // Helper method to create review without affecting rating transaction
-    private void createReviewForRating(Rating saved, RatingDto ratingDto) {
-        try {
-            com.campusconnect.dto.ReviewDto reviewDto = new com.campusconnect.dto.ReviewDto();
-            reviewDto.setRatingId(saved.getRatingId());
-            reviewDto.setContent(saved.getComment());
-            
-            // For course reviews: Use the courseId from the DTO which should be CourseDetail ID
-            // The frontend sends CourseDetail IDs when rating courses
-            if (ratingDto.getCourseId() != null) {
-                // The courseId should be the CourseDetail ID (since frontend uses CourseDetail)
-                CourseDetail courseDetail = courseDetailRepository.findById(ratingDto.getCourseId()).orElse(null);
-                if (courseDetail != null) {
-                    reviewDto.setCourseDetailId(courseDetail.getCourseId());
-                } else {
-                    // If not found, skip review creation for this course (rating still succeeds)
-                    System.err.println("Warning: CourseDetail not found for ID " + ratingDto.getCourseId() + ", skipping review creation");
-                    return; // Exit early if we can't create review
-                }
-            }
-            
-            // For professor reviews: Use professorId directly
-            if (ratingDto.getProfessorId() != null) {
-                reviewDto.setProfessorId(ratingDto.getProfessorId());
-            }
-            
-            // Only create review if we have at least course or professor
-            if (reviewDto.getCourseDetailId() != null || reviewDto.getProfessorId() != null) {
-                // Call review service in a separate transaction
-                // If it fails, it won't affect the rating that was already saved
-                reviewService.createReview(reviewDto);
-            }
-        } catch (Exception e) {
-            // Log error but don't throw - rating was already created successfully
-            // This catch ensures that ANY exception in review creation doesn't affect the rating
-            System.err.println("Warning: Failed to create review for rating " + saved.getRatingId() + ": " + e.getMessage());
-            e.printStackTrace();
-        }
+
+        // A rating with a comment also becomes a review. That is done by ReviewDerivationWorker
+        // after this transaction commits, so the request holds a single pooled connection.
+        publishRatingChange(RatingChangedEvent.Type.CREATED, saved, courseDetailId, null, saved.getRatingValue());
+
+        return convertToDto(saved);
     }
 
     // -------------------------------
@@ -197,10 +97,13 @@ public class RatingServiceImpl implements RatingService {
             throw new SecurityException("You are not authorized to edit this rating.");
         }
 
+        int oldValue = rating.getRatingValue();
         rating.setRatingValue(ratingDto.getRatingValue());
         rating.setComment(ratingDto.getComment());
 
-        return convertToDto(ratingRepository.save(rating));
+        Rating saved = ratingRepository.save(rating);
+        publishRatingChange(RatingChangedEvent.Type.UPDATED, saved, null, oldValue, saved.getRatingValue());
+        return convertToDto(saved);
     }
 
     // -------------------------------
@@ -219,6 +122,7 @@ public class RatingServiceImpl implements RatingService {
         }
 
         ratingRepository.delete(rating);
+        publishRatingChange(RatingChangedEvent.Type.DELETED, rating, null, rating.getRatingValue(), null);
     }
 
     // -------------------------------
@@ -251,20 +155,8 @@ public class RatingServiceImpl implements RatingService {
 
     @Override
     public List<RatingDto> getRatingsByCourse(Long courseId) {
-        // First try CourseDetail, then fallback to Course
-        CourseDetail courseDetail = courseDetailRepository.findById(courseId).orElse(null);
-        Course course;
-        if (courseDetail != null) {
-            // Find or create corresponding Course entry
-            course = courseRepository.findById(courseId).orElse(null);
-            if (course == null) {
-                throw new EntityNotFoundException("Course not found");
-            }
-        } else {
-            course = courseRepository.findById(courseId)
-                    .orElseThrow(() -> new EntityNotFoundException("Course not found"));
-        }
-        return ratingRepository.findByCourse(course).stream()
+        // Accepts a CourseDetail id or a legacy Course id
+        return ratingRepository.findByCourse_CourseId(courseMappingService.resolveCourseId(courseId)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
@@ -284,29 +176,69 @@ public class RatingServiceImpl implements RatingService {
 
     @Override
     public Double getAverageRatingForCourse(Long courseId) {
-        // First try CourseDetail, then fallback to Course
-        CourseDetail courseDetail = courseDetailRepository.findById(courseId).orElse(null);
-        Course course;
-        if (courseDetail != null) {
-            // Find or create corresponding Course entry
-            course = courseRepository.findById(courseId).orElse(null);
-            if (course == null) {
-                return 0.0; // No ratings if course doesn't exist in Course table
-            }
-        } else {
-            course = courseRepository.findById(courseId).orElse(null);
-            if (course == null) {
-                return 0.0; // No ratings if course doesn't exist
+        Double average = ratingRepository.averageForCourse(courseMappingService.resolveCourseId(courseId));
+        return average != null ? average : 0.0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingSummaryDto getRatingSummaryForProfessor(Long professorId) {
+        return toSummary(ratingRepository.countByValueForProfessor(professorId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingSummaryDto getRatingSummaryForCourse(Long courseId) {
+        // Accepts a CourseDetail id or a legacy Course id
+        return toSummary(ratingRepository.countByValueForCourse(courseMappingService.resolveCourseId(courseId)));
+    }
+
+    // One GROUP BY row per star value instead of loading every rating
+    private static RatingSummaryDto toSummary(List<RatingValueCount> counts) {
+        Long[] distribution = new Long[5];
+        Arrays.fill(distribution, 0L);
+        long count = 0;
+        long sum = 0;
+        for (RatingValueCount row : counts) {
+            int value = row.getRatingValue();
+            if (value >= 1 && value <= 5) {
+                distribution[value - 1] = row.getCount();
             }
+            count += row.getCount();
+            sum += (long) value * row.getCount();
         }
-        List<Rating> ratings = ratingRepository.findByCourse(course);
-        return ratings.isEmpty() ? 0.0 :
-                ratings.stream().mapToInt(Rating::getRatingValue).average().orElse(0.0);
+        return RatingSummaryDto.builder()
+                .count(count)
+                .average(count > 0 ? (double) sum / count : null)
+                .distribution(Arrays.asList(distribution))
+                .build();
     }
 
     // -------------------------------
     // PRIVATE HELPER
     // -------------------------------
+    // Listeners (leaderboards, review derivation, ...) run after commit, so the event carries plain values only
+    private void publishRatingChange(RatingChangedEvent.Type type, Rating rating, Long courseDetailId,
+                                     Integer oldValue, Integer newValue) {
+        Professor professor = rating.getProfessor();
+        Course course = rating.getCourse();
+        eventPublisher.publishEvent(new RatingChangedEvent(
+                type,
+                rating.getRatingId(),
+                rating.getUser() != null ? rating.getUser().getUserId() : null,
+                rating.getComment(),
+                professor != null ? professor.getProfessorId() : null,
+                professor != null ? professor.getName() : null,
+                professor != null && professor.getUniversity() != null ? professor.getUniversity().getUniversityId() : null,
+                course != null ? course.getCourseId() : null,
+                course != null ? course.getName() : null,
+                course != null && course.getUniversity() != null ? course.getUniversity().getUniversityId() : null,
+                courseDetailId,
+                oldValue,
+                newValue,
+                rating.getCreatedAt()));
+    }
+
     private RatingDto convertToDto(Rating rating) {
         RatingDto dto = new RatingDto();
         dto.setRatingId(rating.getRatingId());
@@ -0,0 +1,28 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.RatingTrendDto;
+
+import java.util.Collection;
+
+public interface RatingTrendService {
+
+    /**
+     * Average rating per month or semester for a professor, oldest first.
+     */
+    RatingTrendDto getProfessorTrend(Long professorId, String bucket);
+
+    /**
+     * Average rating per month or semester for a course (CourseDetail id or legacy Course id).
+     */
+    RatingTrendDto getCourseTrend(Long courseId, String bucket);
+
+    /**
+     * Recompute the rollups of the given professors and courses (Course ids) from their ratings.
+     */
+    void rebuild(Collection<Long> professorIds, Collection<Long> courseIds);
+
+    /**
+     * Recompute every rollup from the ratings table, in chunks of targets.
+     */
+    void rebuildAll();
+}
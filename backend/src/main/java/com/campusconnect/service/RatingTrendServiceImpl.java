@@ -0,0 +1,275 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.RatingTrendDto;
+import com.campusconnect.dto.RatingTrendPointDto;
+import com.campusconnect.entity.RatingRollup;
+import com.campusconnect.entity.RatingRollup.BucketType;
+import com.campusconnect.entity.RatingRollup.TargetType;
+import com.campusconnect.event.RatingChangedEvent;
+import com.campusconnect.repository.ProfessorRepository;
+import com.campusconnect.repository.RatingRollupRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Rating trends per month and per semester, served from the rating_rollups table.
+ *
+ * Every rating write adjusts the (count, sum) of its buckets inside the same transaction, so a
+ * trend read is one indexed range scan instead of loading every rating. Rollups can be rebuilt
+ * from the ratings table per chunk of targets: once at startup if the table is empty, and after
+ * bulk imports, which write ratings without going through RatingServiceImpl.
+ */
+@Service
+public class RatingTrendServiceImpl implements RatingTrendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingTrendServiceImpl.class);
+
+    private static final String UPSERT =
+            "INSERT INTO rating_rollups (target_type, target_id, bucket_type, bucket_start, rating_count, rating_sum) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE rating_count = rating_count + VALUES(rating_count), " +
+            "rating_sum = rating_sum + VALUES(rating_sum)";
+
+    private static final String ADJUST_SUM =
+            "UPDATE rating_rollups SET rating_sum = rating_sum + ? " +
+            "WHERE target_type = ? AND target_id = ? AND bucket_type = ? AND bucket_start = ?";
+
+    private static final String INSERT =
+            "INSERT INTO rating_rollups (target_type, target_id, bucket_type, bucket_start, rating_count, rating_sum) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final RatingRollupRepository ratingRollupRepository;
+    private final ProfessorRepository professorRepository;
+    private final CourseMappingService courseMappingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildChunkSize;
+
+    public RatingTrendServiceImpl(RatingRollupRepository ratingRollupRepository,
+                                  ProfessorRepository professorRepository,
+                                  CourseMappingService courseMappingService,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ratings.trend.rebuild-chunk-size:500}") int rebuildChunkSize) {
+        this.ratingRollupRepository = ratingRollupRepository;
+        this.professorRepository = professorRepository;
+        this.courseMappingService = courseMappingService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    // -------------------------------
+    // READS
+    // -------------------------------
+    @Override
+    public RatingTrendDto getProfessorTrend(Long professorId, String bucket) {
+        if (!professorRepository.existsById(professorId)) {
+            throw new EntityNotFoundException("Professor not found");
+        }
+        return trend(TargetType.PROFESSOR, professorId, parseBucket(bucket));
+    }
+
+    @Override
+    public RatingTrendDto getCourseTrend(Long courseId, String bucket) {
+        return trend(TargetType.COURSE, courseMappingService.resolveCourseId(courseId), parseBucket(bucket));
+    }
+
+    private RatingTrendDto trend(TargetType targetType, Long targetId, BucketType bucketType) {
+        List<RatingTrendPointDto> points = new ArrayList<>();
+        for (RatingRollup rollup : ratingRollupRepository
+                .findByTargetTypeAndTargetIdAndBucketTypeAndRatingCountGreaterThanOrderByBucketStartAsc(
+                        targetType, targetId, bucketType, 0)) {
+            points.add(RatingTrendPointDto.builder()
+                    .label(label(bucketType, rollup.getBucketStart()))
+                    .start(rollup.getBucketStart())
+                    .count(rollup.getRatingCount())
+                    .average(Math.round(rollup.getRatingSum() * 100.0 / rollup.getRatingCount()) / 100.0)
+                    .build());
+        }
+        return RatingTrendDto.builder()
+                .targetType(targetType.name())
+                .targetId(targetId)
+                .bucket(bucketType.name())
+                .points(points)
+                .build();
+    }
+
+    private static BucketType parseBucket(String bucket) {
+        if (bucket == null || bucket.isBlank()) {
+            return BucketType.SEMESTER;
+        }
+        try {
+            return BucketType.valueOf(bucket.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("bucket must be 'month' or 'semester'");
+        }
+    }
+
+    // -------------------------------
+    // INCREMENTAL UPDATES
+    // -------------------------------
+    // Runs inside the rating transaction, so rollups commit or roll back with the rating
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRatingChanged(RatingChangedEvent event) {
+        LocalDate day = (event.getRatedAt() != null ? event.getRatedAt() : LocalDateTime.now()).toLocalDate();
+        Map<TargetType, Long> targets = new EnumMap<>(TargetType.class);
+        if (event.getProfessorId() != null) {
+            targets.put(TargetType.PROFESSOR, event.getProfessorId());
+        }
+        if (event.getCourseId() != null) {
+            targets.put(TargetType.COURSE, event.getCourseId());
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<TargetType, Long> target : targets.entrySet()) {
+            for (BucketType bucketType : BucketType.values()) {
+                Date start = Date.valueOf(bucketStart(bucketType, day));
+                switch (event.getType()) {
+                    case CREATED -> rows.add(new Object[] { target.getKey().name(), target.getValue(),
+                            bucketType.name(), start, 1, event.getNewValue() });
+                    case DELETED -> rows.add(new Object[] { target.getKey().name(), target.getValue(),
+                            bucketType.name(), start, -1, -event.getOldValue() });
+                    case UPDATED -> rows.add(new Object[] { event.getNewValue() - event.getOldValue(),
+                            target.getKey().name(), target.getValue(), bucketType.name(), start });
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        // An edit only moves the sum; the bucket row exists because the rating was counted when created
+        jdbcTemplate.batchUpdate(event.getType() == RatingChangedEvent.Type.UPDATED ? ADJUST_SUM : UPSERT, rows);
+    }
+
+    // -------------------------------
+    // REBUILD
+    // -------------------------------
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (ratingRollupRepository.count() > 0) {
+            return;
+        }
+        Integer ratings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ratings", Integer.class);
+        if (ratings == null || ratings == 0) {
+            return;
+        }
+        Thread backfill = new Thread(() -> {
+            try {
+                rebuildAll();
+            } catch (Exception e) {
+                logger.error("Rating rollup backfill failed: {}", e.getMessage(), e);
+            }
+        }, "rating-rollup-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+
+    @Override
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        for (TargetType targetType : TargetType.values()) {
+            String column = column(targetType);
+            // Targets whose ratings are all gone
+            jdbcTemplate.update("DELETE FROM rating_rollups WHERE target_type = ? AND target_id NOT IN " +
+                    "(SELECT " + column + " FROM ratings WHERE " + column + " IS NOT NULL)", targetType.name());
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT " + column + " FROM ratings WHERE " + column + " IS NOT NULL", Long.class);
+            rebuildTargets(targetType, ids);
+        }
+        logger.info("Rebuilt rating rollups in {} ms", System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public void rebuild(Collection<Long> professorIds, Collection<Long> courseIds) {
+        rebuildTargets(TargetType.PROFESSOR, new ArrayList<>(professorIds));
+        rebuildTargets(TargetType.COURSE, new ArrayList<>(courseIds));
+    }
+
+    // Each chunk of targets is replaced in its own transaction, so a rebuild can be rerun safely and
+    // runs alongside live rating writes
+    private void rebuildTargets(TargetType targetType, List<Long> targetIds) {
+        String column = column(targetType);
+        for (int from = 0; from < targetIds.size(); from += rebuildChunkSize) {
+            List<Long> chunk = targetIds.subList(from, Math.min(from + rebuildChunkSize, targetIds.size()));
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", chunk)
+                    .addValue("type", targetType.name());
+            transactionTemplate.executeWithoutResult(status -> {
+                // Delete before reading: its locks make each rating write to these targets either commit
+                // first (and be seen by the read below, whose snapshot starts after the delete) or wait
+                // for this transaction and then apply its upsert on top of the rebuilt rows
+                namedJdbcTemplate.update("DELETE FROM rating_rollups WHERE target_type = :type AND target_id IN (:ids)",
+                        params);
+                Map<BucketKey, long[]> totals = new HashMap<>();
+                namedJdbcTemplate.query("SELECT " + column + ", rating_value, created_at FROM ratings " +
+                        "WHERE " + column + " IN (:ids)", params, rs -> {
+                    long targetId = rs.getLong(1);
+                    int value = rs.getInt(2);
+                    LocalDate day = rs.getTimestamp(3).toLocalDateTime().toLocalDate();
+                    for (BucketType bucketType : BucketType.values()) {
+                        long[] total = totals.computeIfAbsent(
+                                new BucketKey(targetId, bucketType, bucketStart(bucketType, day)), k -> new long[2]);
+                        total[0]++;
+                        total[1] += value;
+                    }
+                });
+                List<Object[]> rows = new ArrayList<>(totals.size());
+                totals.forEach((key, total) -> rows.add(new Object[] { targetType.name(), key.targetId(),
+                        key.bucketType().name(), Date.valueOf(key.start()), total[0], total[1] }));
+                jdbcTemplate.batchUpdate(INSERT, rows);
+            });
+        }
+    }
+
+    private static String column(TargetType targetType) {
+        return targetType == TargetType.PROFESSOR ? "professor_id" : "course_id";
+    }
+
+    // -------------------------------
+    // BUCKETS
+    // -------------------------------
+    // Semesters: Spring = January-May, Summer = June-July, Fall = August-December
+    static LocalDate bucketStart(BucketType bucketType, LocalDate day) {
+        if (bucketType == BucketType.MONTH) {
+            return day.withDayOfMonth(1);
+        }
+        int month = day.getMonthValue();
+        int startMonth = month <= 5 ? 1 : month <= 7 ? 6 : 8;
+        return LocalDate.of(day.getYear(), startMonth, 1);
+    }
+
+    static String label(BucketType bucketType, LocalDate start) {
+        if (bucketType == BucketType.MONTH) {
+            return String.format("%d-%02d", start.getYear(), start.getMonthValue());
+        }
+        String term = switch (start.getMonthValue()) {
+            case 1 -> "Spring";
+            case 6 -> "Summer";
+            default -> "Fall";
+        };
+        return term + " " + start.getYear();
+    }
+
+    private record BucketKey(long targetId, BucketType bucketType, LocalDate start) {
+    }
+}
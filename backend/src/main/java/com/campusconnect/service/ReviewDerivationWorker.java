@@ -0,0 +1,286 @@
+package com.campusconnect.service;
+
+import com.campusconnect.event.RatingChangedEvent;
+import com.campusconnect.event.ReviewChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns ratings with a comment into reviews off the request path.
+ *
+ * RatingServiceImpl publishes a RatingChangedEvent; once the rating transaction has committed
+ * the event is queued here and a single background thread inserts the reviews in JDBC batches
+ * (reviews use IDENTITY keys, which disables Hibernate insert batching). The queue is bounded and
+ * the publishing thread never waits on it: when it is full the rating is only remembered, and the
+ * worker sweeps ratings from the lowest one skipped that still have no review once it has caught up.
+ *
+ * Both the queue and that mark live in memory, so while idle the worker also checkpoints the
+ * rating id below which everything has been handled (worker_checkpoints); each start sweeps from
+ * there, which picks up whatever a crash or restart left behind without recreating reviews their
+ * authors deleted long ago.
+ */
+@Component
+public class ReviewDerivationWorker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewDerivationWorker.class);
+
+    // Skips ratings that already have a review: the sweep may find one whose event is still queued
+    private static final String INSERT_REVIEW =
+            "INSERT INTO reviews (user_id, rating_id, course_detail_id, professor_id, content, " +
+            "helpful_count, created_at, updated_at) SELECT ?, ?, ?, ?, ?, 0, ?, ? FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM reviews v WHERE v.rating_id = ?)";
+    private static final String FIND_UNREVIEWED =
+            "SELECT r.rating_id, r.user_id, m.course_detail_id, r.professor_id, r.comment, r.created_at " +
+            "FROM ratings r LEFT JOIN course_detail_course_map m ON m.course_id = r.course_id " +
+            "WHERE r.rating_id >= ? AND r.comment IS NOT NULL AND TRIM(r.comment) <> '' " +
+            "AND (m.course_detail_id IS NOT NULL OR r.professor_id IS NOT NULL) " +
+            "AND NOT EXISTS (SELECT 1 FROM reviews v WHERE v.rating_id = r.rating_id) " +
+            "ORDER BY r.rating_id LIMIT ?";
+    private static final String NEXT_RATING_ID = "SELECT COALESCE(MAX(rating_id), 0) + 1 FROM ratings";
+    private static final String CHECKPOINT = "review-derivation";
+    private static final String SELECT_CHECKPOINT = "SELECT resume_from FROM worker_checkpoints WHERE name = ?";
+    private static final String SAVE_CHECKPOINT =
+            "INSERT INTO worker_checkpoints (name, resume_from, updated_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE resume_from = GREATEST(resume_from, VALUES(resume_from)), " +
+            "updated_at = VALUES(updated_at)";
+    private static final long NO_SWEEP = Long.MAX_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingReview> queue;
+    private final int batchSize;
+    private final long checkpointIntervalMillis;
+
+    private volatile boolean running;
+    private Thread worker;
+    // Lowest rating id skipped on a full queue and not swept yet
+    private long sweepFrom = NO_SWEEP;
+    // First rating id not yet visible at the last checkpoint, saved at the next one (worker thread only)
+    private long nextCheckpoint;
+    private long checkpointedAt;
+
+    public ReviewDerivationWorker(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${reviews.derivation.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${reviews.derivation.batch-size:50}") int batchSize,
+                                  @Value("${reviews.derivation.checkpoint-interval-ms:30000}") long checkpointIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRatingChanged(RatingChangedEvent event) {
+        if (event.getType() != RatingChangedEvent.Type.CREATED
+                || event.getComment() == null || event.getComment().trim().isEmpty()) {
+            return;
+        }
+        // Same targets the old synchronous path used: the rated CourseDetail and/or professor
+        if (event.getCourseDetailId() == null && event.getProfessorId() == null) {
+            return;
+        }
+
+        PendingReview review = new PendingReview(event.getRatingId(), event.getUserId(),
+                event.getCourseDetailId(), event.getProfessorId(), event.getComment(), LocalDateTime.now());
+        // Never wait or write here: the request still holds the rating's connection
+        if (running && queue.offer(review)) {
+            return;
+        }
+        markForSweep(event.getRatingId());
+        logger.warn("Review queue full or stopped, review for rating {} left to the sweep", event.getRatingId());
+    }
+
+    // -------------------------------
+    // WORKER LOOP
+    // -------------------------------
+    private void drainLoop() {
+        List<PendingReview> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReview first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    insert(batch);
+                }
+                if (queue.isEmpty()) {
+                    sweep();
+                    checkpointIfDue();
+                }
+            } catch (InterruptedException e) {
+                // Treat an interrupt as a stop request but keep draining what is left
+                running = false;
+            } catch (Exception e) {
+                logger.error("Review derivation batch failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // -------------------------------
+    // SWEEP
+    // -------------------------------
+    private synchronized void markForSweep(Long ratingId) {
+        sweepFrom = Math.min(sweepFrom, ratingId);
+    }
+
+    private synchronized boolean sweepPending() {
+        return sweepFrom != NO_SWEEP;
+    }
+
+    private synchronized long takeSweepFrom() {
+        long from = sweepFrom;
+        sweepFrom = NO_SWEEP;
+        return from;
+    }
+
+    // Batch by batch, yielding to queued reviews as soon as there are any
+    private void sweep() {
+        int swept = 0;
+        long from;
+        while (queue.isEmpty() && (from = takeSweepFrom()) != NO_SWEEP) {
+            List<PendingReview> unreviewed = jdbcTemplate.query(FIND_UNREVIEWED, (rs, rowNum) -> new PendingReview(
+                    rs.getLong(1), rs.getLong(2), rs.getObject(3, Long.class), rs.getObject(4, Long.class),
+                    rs.getString(5), rs.getTimestamp(6).toLocalDateTime()), from, batchSize);
+            insert(unreviewed);
+            swept += unreviewed.size();
+            if (unreviewed.size() == batchSize) {
+                // Past the rows just handled, so a row that keeps failing is not retried forever
+                markForSweep(unreviewed.get(batchSize - 1).ratingId() + 1);
+            }
+        }
+        if (swept > 0) {
+            logger.info("Swept {} reviews skipped on a full queue", swept);
+        }
+    }
+
+    // -------------------------------
+    // CHECKPOINT
+    // -------------------------------
+    // A rating visible at the previous checkpoint has had its event queued or marked for the sweep
+    // long since; with the queue and the sweep both empty now it has been handled, so a restart only
+    // needs to sweep from there
+    private void checkpointIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - checkpointedAt < checkpointIntervalMillis || !queue.isEmpty() || sweepPending()) {
+            return;
+        }
+        if (nextCheckpoint > 0) {
+            saveCheckpoint(nextCheckpoint);
+        }
+        nextCheckpoint = jdbcTemplate.queryForObject(NEXT_RATING_ID, Long.class);
+        checkpointedAt = now;
+    }
+
+    private void saveCheckpoint(long resumeFrom) {
+        jdbcTemplate.update(SAVE_CHECKPOINT, CHECKPOINT, resumeFrom, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private void insert(List<PendingReview> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            int[][] counts = transactionTemplate.execute(status ->
+                    jdbcTemplate.batchUpdate(INSERT_REVIEW, batch, batch.size(), (ps, review) -> {
+                        Timestamp now = Timestamp.valueOf(review.createdAt());
+                        ps.setLong(1, review.userId());
+                        ps.setLong(2, review.ratingId());
+                        ps.setObject(3, review.courseDetailId());
+                        ps.setObject(4, review.professorId());
+                        ps.setString(5, review.content());
+                        ps.setTimestamp(6, now);
+                        ps.setTimestamp(7, now);
+                        ps.setLong(8, review.ratingId());
+                    }));
+            for (int i = 0; i < batch.size(); i++) {
+                if (counts[0][i] != 0) {
+                    publishCreated(batch.get(i));
+                }
+            }
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                // e.g. the rating was deleted before its review was written
+                logger.warn("Failed to create review for rating {}: {}", batch.get(0).ratingId(), e.getMessage());
+                return;
+            }
+            // Retry one by one so a single bad row does not drop the whole batch
+            for (PendingReview review : batch) {
+                insert(List.of(review));
+            }
+        }
+    }
+
+    private void publishCreated(PendingReview review) {
+        eventPublisher.publishEvent(new ReviewChangedEvent(null, review.courseDetailId(), review.professorId(), 1));
+    }
+
+    // -------------------------------
+    // LIFECYCLE
+    // -------------------------------
+    @Override
+    public void start() {
+        // Resume where the last run had everything handled; on the first run nothing earlier was
+        // left to this worker
+        List<Long> saved = jdbcTemplate.queryForList(SELECT_CHECKPOINT, Long.class, CHECKPOINT);
+        if (saved.isEmpty()) {
+            saveCheckpoint(jdbcTemplate.queryForObject(NEXT_RATING_ID, Long.class));
+        } else {
+            markForSweep(saved.get(0));
+        }
+
+        running = true;
+        worker = new Thread(this::drainLoop, "review-derivation");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        // Stop accepting work, let the loop drain the queue, then wait for it
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Review derivation stopped with {} reviews still queued; the next start sweeps them",
+                    queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingReview(Long ratingId, Long userId, Long courseDetailId, Long professorId,
+                                 String content, LocalDateTime createdAt) {
+    }
+}
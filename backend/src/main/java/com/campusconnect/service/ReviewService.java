@@ -1,5 +1,6 @@
 package com.campusconnect.service;
 
+import com.campusconnect.dto.PageDto;
 import com.campusconnect.dto.ReviewDto;
 import java.util.List;
 
@@ -8,7 +9,10 @@ public interface ReviewService {
     ReviewDto updateReview(Long reviewId, ReviewDto reviewDto);
     void deleteReview(Long reviewId);
     List<ReviewDto> getReviewsByCourseDetail(Long courseDetailId);
+    PageDto<ReviewDto> getReviewPageByCourseDetail(Long courseDetailId, int page, int size);
     List<ReviewDto> getReviewsByProfessor(Long professorId);
+    List<ReviewDto> getTopReviewsByProfessor(Long professorId, int limit);
+    long countReviewsByProfessor(Long professorId);
     List<ReviewDto> getReviewsByUser(Long userId);
     ReviewDto getReviewById(Long reviewId);
     ReviewDto markReviewHelpful(Long reviewId);
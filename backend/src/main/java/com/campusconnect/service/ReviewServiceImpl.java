@@ -1,10 +1,16 @@
 package com.campusconnect.service;
 
+import com.campusconnect.dto.PageDto;
 import com.campusconnect.dto.ReviewDto;
 import com.campusconnect.entity.*;
+import com.campusconnect.event.ReviewChangedEvent;
 import com.campusconnect.repository.*;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -22,6 +28,7 @@ public class ReviewServiceImpl implements ReviewService {
     private final RatingRepository ratingRepository;
     private final CourseDetailRepository courseDetailRepository;
     private final ProfessorRepository professorRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
@@ -76,6 +83,7 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         Review saved = reviewRepository.save(review);
+        publishReviewChange(saved, 1);
         return convertToDto(saved);
     }
 
@@ -115,6 +123,7 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         reviewRepository.delete(review);
+        publishReviewChange(review, -1);
     }
 
     @Override
@@ -137,6 +146,36 @@ public class ReviewServiceImpl implements ReviewService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ReviewDto> getReviewPageByCourseDetail(Long courseDetailId, int page, int size) {
+        // Newest first; the id breaks ties between reviews saved in the same instant
+        Page<Review> reviews = reviewRepository.findByCourseDetail_CourseId(courseDetailId,
+                PageRequest.of(page, size, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("reviewId"))));
+        return PageDto.<ReviewDto>builder()
+                .content(reviews.getContent().stream().map(this::convertToDto).collect(Collectors.toList()))
+                .page(page)
+                .size(size)
+                .totalElements(reviews.getTotalElements())
+                .totalPages(reviews.getTotalPages())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewDto> getTopReviewsByProfessor(Long professorId, int limit) {
+        return reviewRepository.findByProfessor_ProfessorIdOrderByHelpfulCountDescCreatedAtDesc(
+                        professorId, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countReviewsByProfessor(Long professorId) {
+        return reviewRepository.countByProfessor_ProfessorId(professorId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ReviewDto> getReviewsByUser(Long userId) {
@@ -163,6 +202,14 @@ public class ReviewServiceImpl implements ReviewService {
         return convertToDto(reviewRepository.save(review));
     }
 
+    private void publishReviewChange(Review review, int delta) {
+        eventPublisher.publishEvent(new ReviewChangedEvent(
+                review.getReviewId(),
+                review.getCourseDetail() != null ? review.getCourseDetail().getCourseId() : null,
+                review.getProfessor() != null ? review.getProfessor().getProfessorId() : null,
+                delta));
+    }
+
     private ReviewDto convertToDto(Review review) {
         ReviewDto dto = new ReviewDto();
         dto.setReviewId(review.getReviewId());
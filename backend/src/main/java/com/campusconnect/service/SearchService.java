@@ -0,0 +1,34 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.SearchHitDto;
+import com.campusconnect.dto.SearchResultType;
+import com.campusconnect.dto.SearchResultsDto;
+import com.campusconnect.search.CatalogSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int MAX_LIMIT_PER_TYPE = 50;
+
+    private final CatalogSearchIndex catalogSearchIndex;
+
+    // ✅ Course details, courses and professors matching the query, top `limit` of each
+    public SearchResultsDto search(String query, Long universityId, int limit) {
+        long started = System.nanoTime();
+        int perType = Math.max(1, Math.min(limit, MAX_LIMIT_PER_TYPE));
+        Map<SearchResultType, List<SearchHitDto>> hits = catalogSearchIndex.search(query, universityId, perType);
+        return SearchResultsDto.builder()
+                .query(query)
+                .courseDetails(hits.get(SearchResultType.COURSE_DETAIL))
+                .courses(hits.get(SearchResultType.COURSE))
+                .professors(hits.get(SearchResultType.PROFESSOR))
+                .tookMicros((System.nanoTime() - started) / 1_000)
+                .build();
+    }
+}
@@ -2,62 +2,43 @@ package com.campusconnect.service;
 
 import com.campusconnect.dto.UniversityDto;
 import com.campusconnect.entity.University;
+import com.campusconnect.event.CatalogChangedEvent;
+import com.campusconnect.mapper.UniversityMapper;
 import com.campusconnect.repository.UniversityRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UniversityService {
 
     private final UniversityRepository universityRepository;
-
-    // Convert entity → DTO
-    private UniversityDto toDto(University university) {
-        return UniversityDto.builder()
-                .universityId(university.getUniversityId())
-                .name(university.getName())
-                .location(university.getLocation())
-                .city(university.getCity())
-                .state(university.getState())
-                .country(university.getCountry())
-                .build();
-    }
-
-    // Convert DTO → entity
-    private University toEntity(UniversityDto dto) {
-        return University.builder()
-                .universityId(dto.getUniversityId())
-                .name(dto.getName())
-                .location(dto.getLocation())
-                .city(dto.getCity())
-                .state(dto.getState())
-                .country(dto.getCountry())
-                .build();
-    }
+    private final UniversityMapper universityMapper;
+    private final CatalogService catalogService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Create / Add new university
     public UniversityDto createUniversity(UniversityDto dto) {
-        University university = toEntity(dto);
-        return toDto(universityRepository.save(university));
+        University saved = universityRepository.save(universityMapper.toEntity(dto));
+        publishChange(saved.getUniversityId(), false);
+        return universityMapper.toDto(saved);
     }
 
-    // Get all universities
+    // Get all universities (served from the catalog snapshot)
     public List<UniversityDto> getAllUniversities() {
-        return universityRepository.findAll()
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return catalogService.snapshot().getUniversities();
     }
 
     // Get university by ID
     public UniversityDto getUniversityById(Long id) {
-        return universityRepository.findById(id)
-                .map(this::toDto)
-                .orElseThrow(() -> new RuntimeException("University not found with ID: " + id));
+        UniversityDto university = catalogService.snapshot().getUniversity(id);
+        if (university == null) {
+            throw new RuntimeException("University not found with ID: " + id);
+        }
+        return university;
     }
 
     // Update university
@@ -71,7 +52,9 @@ public class UniversityService {
         existing.setState(dto.getState());
         existing.setCountry(dto.getCountry());
 
-        return toDto(universityRepository.save(existing));
+        University saved = universityRepository.save(existing);
+        publishChange(id, false);
+        return universityMapper.toDto(saved);
     }
 
     // Delete university
@@ -80,5 +63,10 @@ public class UniversityService {
             throw new RuntimeException("University not found with ID: " + id);
         }
         universityRepository.deleteById(id);
+        publishChange(id, true);
+    }
+
+    private void publishChange(Long id, boolean deleted) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.UNIVERSITY, id, deleted));
     }
 }
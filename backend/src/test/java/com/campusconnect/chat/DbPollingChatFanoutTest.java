@@ -0,0 +1,136 @@
+package com.campusconnect.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DbPollingChatFanoutTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Answers the fan-out queries from an in-memory chat_fanout_events and records the gap lookups.
+     */
+    private static final class LogJdbcTemplate extends JdbcTemplate {
+        private final TreeMap<Long, DbPollingChatFanout.Row> rows = new TreeMap<>();
+        private final List<long[]> rangeQueries = new ArrayList<>();
+
+        void add(long seq, String destination) {
+            rows.put(seq, new DbPollingChatFanout.Row(seq, "other-instance", destination, "{}"));
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            return requiredType.cast(rows.isEmpty() ? null : rows.lastKey());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            if (DbPollingChatFanout.SELECT_AFTER.equals(sql)) {
+                return (List<T>) rows.tailMap((Long) args[0], false).values().stream()
+                        .limit((Integer) args[1])
+                        .toList();
+            }
+            if (DbPollingChatFanout.SELECT_RANGE.equals(sql)) {
+                rangeQueries.add(new long[] { (Long) args[0], (Long) args[1] });
+                return (List<T>) List.copyOf(rows.subMap((Long) args[0], true, (Long) args[1], true).values());
+            }
+            throw new IllegalArgumentException("Unexpected query " + sql);
+        }
+    }
+
+    private LogJdbcTemplate jdbcTemplate;
+    private SimpMessagingTemplate messagingTemplate;
+    private DbPollingChatFanout fanout;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new LogJdbcTemplate();
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        // 200 ms polls and a 1 s grace: a gap is looked for on 5 polls
+        fanout = new DbPollingChatFanout(messagingTemplate, jdbcTemplate, new ObjectMapper(),
+                200, BATCH_SIZE, 1000, 600_000, 1, 30_000);
+    }
+
+    private void verifyDelivered(String destination, int count) {
+        verify(messagingTemplate, times(count)).convertAndSend(eq(destination), any(byte[].class), anyMap());
+    }
+
+    @Test
+    void emptyLogAtStartDoesNotTurnEarlierSeqsIntoGaps() {
+        // Pruned empty after a quiet period while IDENTITY kept counting
+        fanout.startFromEndOfLog();
+        jdbcTemplate.add(500_000, "/topic/project/1");
+
+        fanout.poll();
+        fanout.poll();
+
+        verifyDelivered("/topic/project/1", 1);
+        assertThat(jdbcTemplate.rangeQueries).isEmpty();
+    }
+
+    @Test
+    void gapsInsideTheFirstBatchAfterAnEmptyStartAreStillWaitedFor() {
+        fanout.startFromEndOfLog();
+        jdbcTemplate.add(500_000, "/topic/project/1");
+        jdbcTemplate.add(500_002, "/topic/project/1");
+        fanout.poll();
+
+        jdbcTemplate.add(500_001, "/topic/project/2");
+        fanout.poll();
+
+        verifyDelivered("/topic/project/2", 1);
+        assertThat(jdbcTemplate.rangeQueries).containsExactly(new long[] { 500_001, 500_001 });
+    }
+
+    @Test
+    void onlyTheLastBatchOfSkippedSeqsIsWaitedFor() {
+        jdbcTemplate.add(10, "/topic/project/1");
+        fanout.startFromEndOfLog();
+        jdbcTemplate.add(100_000, "/topic/project/1");
+
+        fanout.poll();
+        fanout.poll();
+
+        assertThat(jdbcTemplate.rangeQueries).hasSize(1);
+        assertThat(jdbcTemplate.rangeQueries.get(0)).containsExactly(100_000 - BATCH_SIZE, 99_999);
+    }
+
+    @Test
+    void lateCommitIsDeliveredUntilTheGraceRunsOut() {
+        jdbcTemplate.add(10, "/topic/project/1");
+        fanout.startFromEndOfLog();
+        jdbcTemplate.add(12, "/topic/project/1");
+        jdbcTemplate.add(14, "/topic/project/1");
+        fanout.poll();
+
+        jdbcTemplate.add(11, "/topic/project/2");
+        fanout.poll();
+        verifyDelivered("/topic/project/2", 1);
+
+        // 13 is looked for on five polls, then given up
+        for (int i = 0; i < 10; i++) {
+            fanout.poll();
+        }
+        jdbcTemplate.add(13, "/topic/project/3");
+        fanout.poll();
+        verifyDelivered("/topic/project/3", 0);
+        assertThat(jdbcTemplate.rangeQueries).hasSize(5);
+    }
+}
@@ -0,0 +1,138 @@
+package com.campusconnect.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessageIdGeneratorTest {
+
+    private static final long T = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+
+    /**
+     * Generator reading its time from a list; the last value repeats once the list is used up.
+     */
+    private static final class SteppedClockGenerator extends MessageIdGenerator {
+        private final Deque<Long> times;
+        private long last;
+
+        SteppedClockGenerator(int nodeId, List<Long> times) {
+            super(nodeId);
+            this.times = new ArrayDeque<>(times);
+        }
+
+        @Override
+        long currentTimeMillis() {
+            if (!times.isEmpty()) {
+                last = times.poll();
+            }
+            return last;
+        }
+    }
+
+    private static long sequenceOf(long id) {
+        return id & 0xFF;
+    }
+
+    private static long nodeOf(long id) {
+        return (id >>> 8) & 0xF;
+    }
+
+    @Test
+    void encodesTimeNodeAndSequence() {
+        MessageIdGenerator generator = new SteppedClockGenerator(5, List.of(T, T, T + 1));
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+        long third = generator.nextId();
+
+        assertThat(MessageIdGenerator.timestampOf(first)).isEqualTo(T);
+        assertThat(nodeOf(first)).isEqualTo(5);
+        assertThat(sequenceOf(first)).isZero();
+        assertThat(sequenceOf(second)).isEqualTo(1);
+        // A new millisecond starts the sequence over
+        assertThat(MessageIdGenerator.timestampOf(third)).isEqualTo(T + 1);
+        assertThat(sequenceOf(third)).isZero();
+        assertThat(first).isLessThan(second).isLessThan(third);
+        // Exact as a JavaScript number
+        assertThat(third).isLessThan(1L << 53);
+    }
+
+    @Test
+    void waitsForTheNextMillisecondWhenTheSequenceRollsOver() {
+        // 256 ids in T; the 257th finds T again and spins until the clock reaches T + 1
+        Long[] times = new Long[259];
+        Arrays.fill(times, 0, 258, T);
+        times[258] = T + 1;
+        MessageIdGenerator generator = new SteppedClockGenerator(0, List.of(times));
+
+        long previous = -1;
+        for (int i = 0; i < 256; i++) {
+            long id = generator.nextId();
+            assertThat(MessageIdGenerator.timestampOf(id)).isEqualTo(T);
+            assertThat(sequenceOf(id)).isEqualTo(i);
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        long rolledOver = generator.nextId();
+
+        assertThat(MessageIdGenerator.timestampOf(rolledOver)).isEqualTo(T + 1);
+        assertThat(sequenceOf(rolledOver)).isZero();
+        assertThat(rolledOver).isGreaterThan(previous);
+    }
+
+    @Test
+    void keepsCountingWhenTheClockStepsBack() {
+        MessageIdGenerator generator = new SteppedClockGenerator(3, List.of(T, T, T - 100, T - 50, T + 1));
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+        long stepped = generator.nextId();
+        long stillBehind = generator.nextId();
+        long caughtUp = generator.nextId();
+
+        assertThat(List.of(first, second, stepped, stillBehind, caughtUp)).isSorted().doesNotHaveDuplicates();
+        assertThat(MessageIdGenerator.timestampOf(stepped)).isEqualTo(T);
+        assertThat(sequenceOf(stepped)).isEqualTo(2);
+        assertThat(MessageIdGenerator.timestampOf(stillBehind)).isEqualTo(T);
+        assertThat(MessageIdGenerator.timestampOf(caughtUp)).isEqualTo(T + 1);
+        assertThat(nodeOf(stepped)).isEqualTo(3);
+    }
+
+    @Test
+    void lowestIdAtBoundsTheIdsOfEveryNode() {
+        long lowest = MessageIdGenerator.lowestIdAt(T);
+
+        assertThat(MessageIdGenerator.timestampOf(lowest)).isEqualTo(T);
+        for (int node = 0; node < 16; node++) {
+            long id = new SteppedClockGenerator(node, List.of(T)).nextId();
+            assertThat(id).isGreaterThanOrEqualTo(lowest).isLessThan(MessageIdGenerator.lowestIdAt(T + 1));
+            assertThat(MessageIdGenerator.timestampOf(id)).isEqualTo(T);
+        }
+        // Times before the epoch clamp to the first id
+        assertThat(MessageIdGenerator.lowestIdAt(0)).isZero();
+    }
+
+    @Test
+    void rejectsNodeIdsOutsideFourBits() {
+        assertThatThrownBy(() -> new MessageIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MessageIdGenerator(16)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void idsFromTheSystemClockOnlyGrow() {
+        MessageIdGenerator generator = new MessageIdGenerator(1);
+        long previous = generator.nextId();
+        for (int i = 0; i < 5_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+}
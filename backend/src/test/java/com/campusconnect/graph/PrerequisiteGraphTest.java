@@ -0,0 +1,179 @@
+package com.campusconnect.graph;
+
+import com.campusconnect.dto.CourseDetailDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrerequisiteGraphTest {
+
+    private static CourseDetailDto course(long id, String code, String... prerequisites) {
+        CourseDetailDto courseDetail = new CourseDetailDto();
+        courseDetail.setCourseId(id);
+        courseDetail.setCode(code);
+        courseDetail.setPrerequisites(List.of(prerequisites));
+        return courseDetail;
+    }
+
+    private static int index(PrerequisiteGraph graph, long courseId) {
+        return graph.indexOf(courseId).orElseThrow();
+    }
+
+    private static Set<Long> ids(PrerequisiteGraph graph, BitSet nodes) {
+        Set<Long> ids = new TreeSet<>();
+        nodes.stream().forEach(node -> ids.add(graph.courseId(node)));
+        return ids;
+    }
+
+    // CS 101 <- CS 201 <- CS 301 <- CS 401, and CS 301 also needs CS 101 directly
+    private static PrerequisiteGraph chain() {
+        return PrerequisiteGraph.build(List.of(
+                course(1, "CS 101"),
+                course(2, "CS 201", "cs101", "MATH 999"),
+                course(3, "CS 301", "CS 201", "CS  101", "cs 101"),
+                course(4, "CS 401", "CS 301")));
+    }
+
+    @Test
+    void resolvesCodesIgnoringCaseAndSpacing() {
+        PrerequisiteGraph graph = chain();
+
+        assertThat(graph.prerequisitesOf(index(graph, 2))).containsExactly(index(graph, 1));
+        assertThat(graph.unresolvedOf(index(graph, 2))).containsExactly("MATH 999");
+        // The same course listed twice is one edge
+        assertThat(graph.prerequisitesOf(index(graph, 3))).containsExactlyInAnyOrder(index(graph, 2), index(graph, 1));
+        assertThat(graph.unresolvedOf(index(graph, 1))).isEmpty();
+        assertThat(graph.indexOf(99L)).isEmpty();
+    }
+
+    @Test
+    void closuresFollowEdgesInBothDirections() {
+        PrerequisiteGraph graph = chain();
+
+        assertThat(ids(graph, graph.prerequisiteClosure(index(graph, 4)))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(graph, graph.dependentClosure(index(graph, 1)))).containsExactly(2L, 3L, 4L);
+        assertThat(ids(graph, graph.prerequisiteClosure(index(graph, 1)))).isEmpty();
+        for (int node = 0; node < 4; node++) {
+            assertThat(graph.isCyclic(node)).isFalse();
+        }
+    }
+
+    @Test
+    void closureReusesMemoizedClosuresWithoutChangingTheResult() {
+        PrerequisiteGraph warm = chain();
+        // Fill the cache bottom-up first, so CS 401 is built from the closures below it
+        warm.prerequisiteClosure(index(warm, 2));
+        warm.prerequisiteClosure(index(warm, 3));
+
+        PrerequisiteGraph cold = chain();
+        assertThat(ids(warm, warm.prerequisiteClosure(index(warm, 4))))
+                .isEqualTo(ids(cold, cold.prerequisiteClosure(index(cold, 4))))
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void closureIsACopy() {
+        PrerequisiteGraph graph = chain();
+        graph.prerequisiteClosure(index(graph, 4)).clear();
+
+        assertThat(ids(graph, graph.prerequisiteClosure(index(graph, 4)))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void findsCyclesAndSelfReferences() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(List.of(
+                course(1, "A", "B"),
+                course(2, "B", "C"),
+                course(3, "C", "A"),
+                course(4, "D", "A"),
+                course(5, "E", "E"),
+                course(6, "F")));
+
+        assertThat(graph.isCyclic(index(graph, 1))).isTrue();
+        assertThat(graph.isCyclic(index(graph, 2))).isTrue();
+        assertThat(graph.isCyclic(index(graph, 3))).isTrue();
+        assertThat(graph.isCyclic(index(graph, 5))).isTrue();
+        // Depends on a cycle without being on it
+        assertThat(graph.isCyclic(index(graph, 4))).isFalse();
+        assertThat(graph.isCyclic(index(graph, 6))).isFalse();
+
+        // A course on a cycle is its own prerequisite
+        assertThat(ids(graph, graph.prerequisiteClosure(index(graph, 1)))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(graph, graph.prerequisiteClosure(index(graph, 4)))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(graph, graph.prerequisiteClosure(index(graph, 5)))).containsExactly(5L);
+    }
+
+    @Test
+    void levelsGiveAStudyPlanOrder() {
+        PrerequisiteGraph graph = chain();
+        int root = index(graph, 4);
+        BitSet plan = graph.prerequisiteClosure(root);
+        plan.set(root);
+
+        int[] levels = graph.levels(plan);
+
+        assertThat(levels[index(graph, 1)]).isZero();
+        assertThat(levels[index(graph, 2)]).isEqualTo(1);
+        // Longest path: after CS 201, not just after CS 101
+        assertThat(levels[index(graph, 3)]).isEqualTo(2);
+        assertThat(levels[index(graph, 4)]).isEqualTo(3);
+
+        List<Long> order = plan.stream().boxed()
+                .sorted(Comparator.comparingInt(node -> levels[node]))
+                .map(graph::courseId)
+                .toList();
+        assertThat(order).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void levelsOnlyCountPrerequisitesInsideTheSet() {
+        PrerequisiteGraph graph = chain();
+        BitSet nodes = new BitSet();
+        nodes.set(index(graph, 3));
+        nodes.set(index(graph, 4));
+
+        int[] levels = graph.levels(nodes);
+
+        assertThat(levels[index(graph, 3)]).isZero();
+        assertThat(levels[index(graph, 4)]).isEqualTo(1);
+        assertThat(levels[index(graph, 1)]).isEqualTo(-1);
+    }
+
+    @Test
+    void levelsMarkCoursesOnOrAfterACycle() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(List.of(
+                course(1, "A", "B"),
+                course(2, "B", "A"),
+                course(3, "C", "A"),
+                course(4, "D")));
+        BitSet nodes = new BitSet();
+        nodes.set(0, 4);
+
+        int[] levels = graph.levels(nodes);
+
+        assertThat(levels[index(graph, 1)]).isEqualTo(-1);
+        assertThat(levels[index(graph, 2)]).isEqualTo(-1);
+        assertThat(levels[index(graph, 3)]).isEqualTo(-1);
+        assertThat(levels[index(graph, 4)]).isZero();
+    }
+
+    @Test
+    void handlesLongChainsWithoutRecursion() {
+        int length = 50_000;
+        List<CourseDetailDto> courses = new ArrayList<>(length);
+        courses.add(course(0, "C0"));
+        for (int i = 1; i < length; i++) {
+            courses.add(course(i, "C" + i, "C" + (i - 1)));
+        }
+        // Close the loop: every course is on one cycle
+        courses.set(0, course(0, "C0", "C" + (length - 1)));
+
+        PrerequisiteGraph graph = PrerequisiteGraph.build(courses);
+
+        assertThat(graph.isCyclic(0)).isTrue();
+        assertThat(graph.isCyclic(length - 1)).isTrue();
+        assertThat(graph.prerequisiteClosure(length - 1).cardinality()).isEqualTo(length);
+    }
+}
@@ -0,0 +1,156 @@
+package com.campusconnect.search;
+
+import com.campusconnect.dto.CourseDetailDto;
+import com.campusconnect.dto.CourseSort;
+import com.campusconnect.service.CatalogSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseBrowseIndexTest {
+
+    private static final Long UNIVERSITY = 1L;
+
+    private static CourseDetailDto course(long id, String code, String rating) {
+        CourseDetailDto courseDetail = new CourseDetailDto();
+        courseDetail.setCourseId(id);
+        courseDetail.setUniversityId(UNIVERSITY);
+        courseDetail.setCode(code);
+        courseDetail.setRating(rating == null ? null : new BigDecimal(rating));
+        return courseDetail;
+    }
+
+    private static CatalogSnapshot snapshot(long version, List<CourseDetailDto> courseDetails) {
+        CatalogSnapshot snapshot = mock(CatalogSnapshot.class);
+        when(snapshot.getVersion()).thenReturn(version);
+        when(snapshot.getCourseDetailsByUniversity(UNIVERSITY)).thenReturn(courseDetails);
+        return snapshot;
+    }
+
+    private static List<CourseDetailDto> catalog() {
+        return List.of(
+                course(1, "CS 101", "4.5"),
+                course(2, "cs 102", null),
+                course(3, "CS 201", "3.0"),
+                course(4, "MATH 101", "4.5"),
+                course(5, "Bio 100", "2.0"),
+                course(6, "CS 301", null),
+                course(7, "CS 401", "4.50"));
+    }
+
+    private static List<Long> ids(CourseBrowseIndex.Ordering ordering, int from, int to) {
+        List<Long> ids = new ArrayList<>();
+        for (int position = from; position < Math.min(to, ordering.size()); position++) {
+            ids.add(ordering.idAt(position));
+        }
+        return ids;
+    }
+
+    // Walks the whole ordering a page at a time, resuming from each page's cursor
+    private static List<Long> browse(CourseBrowseIndex index, CatalogSnapshot snapshot, CourseSort sort,
+                                     boolean descending, int pageSize) {
+        List<Long> seen = new ArrayList<>();
+        CourseBrowseIndex.Ordering ordering = index.ordering(snapshot, UNIVERSITY, sort, descending);
+        int start = 0;
+        while (start < ordering.size()) {
+            int end = Math.min(start + pageSize, ordering.size());
+            seen.addAll(ids(ordering, start, end));
+            String cursor = index.cursorAfter(ordering, end - 1, sort, descending);
+            start = index.resume(ordering, cursor, sort, descending);
+            assertThat(start).isEqualTo(end);
+        }
+        return seen;
+    }
+
+    @Test
+    void ordersByValueThenIdWithMissingValuesLast() {
+        CourseBrowseIndex index = new CourseBrowseIndex();
+        CatalogSnapshot snapshot = snapshot(1, catalog());
+
+        CourseBrowseIndex.Ordering descending = index.ordering(snapshot, UNIVERSITY, CourseSort.RATING, true);
+        CourseBrowseIndex.Ordering ascending = index.ordering(snapshot, UNIVERSITY, CourseSort.RATING, false);
+
+        // 4.5 and 4.50 are the same rating, so the id decides
+        assertThat(ids(descending, 0, 7)).containsExactly(1L, 4L, 7L, 3L, 5L, 2L, 6L);
+        assertThat(ids(ascending, 0, 7)).containsExactly(5L, 3L, 1L, 4L, 7L, 2L, 6L);
+    }
+
+    @Test
+    void codeSortIgnoresCase() {
+        CourseBrowseIndex index = new CourseBrowseIndex();
+
+        CourseBrowseIndex.Ordering ordering = index.ordering(snapshot(1, catalog()), UNIVERSITY, CourseSort.CODE, false);
+
+        assertThat(ids(ordering, 0, 7)).containsExactly(5L, 1L, 2L, 3L, 6L, 7L, 4L);
+    }
+
+    @Test
+    void pagesResumeFromTheirCursors() {
+        CourseBrowseIndex index = new CourseBrowseIndex();
+        CatalogSnapshot snapshot = snapshot(1, catalog());
+
+        for (CourseSort sort : CourseSort.values()) {
+            for (boolean descending : new boolean[] { false, true }) {
+                List<Long> all = ids(index.ordering(snapshot, UNIVERSITY, sort, descending), 0, 7);
+                for (int pageSize = 1; pageSize <= 7; pageSize++) {
+                    assertThat(browse(index, snapshot, sort, descending, pageSize))
+                            .as("%s %s by %d", sort, descending ? "desc" : "asc", pageSize)
+                            .isEqualTo(all);
+                }
+            }
+        }
+    }
+
+    @Test
+    void cursorResumesAfterItsCourseWasRemoved() {
+        CourseBrowseIndex before = new CourseBrowseIndex();
+        CourseBrowseIndex.Ordering ordering = before.ordering(snapshot(1, catalog()), UNIVERSITY, CourseSort.RATING, true);
+        // Last course of the first page is 4 (rated 4.5)
+        String cursor = before.cursorAfter(ordering, 1, CourseSort.RATING, true);
+
+        List<CourseDetailDto> remaining = new ArrayList<>(catalog());
+        remaining.removeIf(courseDetail -> courseDetail.getCourseId() == 4L);
+        CourseBrowseIndex after = new CourseBrowseIndex();
+        CourseBrowseIndex.Ordering changed = after.ordering(snapshot(2, remaining), UNIVERSITY, CourseSort.RATING, true);
+
+        int start = after.resume(changed, cursor, CourseSort.RATING, true);
+        assertThat(ids(changed, start, changed.size())).containsExactly(7L, 3L, 5L, 2L, 6L);
+    }
+
+    @Test
+    void cursorAfterAMissingValueResumesAmongMissingValues() {
+        CourseBrowseIndex index = new CourseBrowseIndex();
+        CourseBrowseIndex.Ordering ordering = index.ordering(snapshot(1, catalog()), UNIVERSITY, CourseSort.RATING, false);
+        String cursor = index.cursorAfter(ordering, 5, CourseSort.RATING, false);
+
+        assertThat(ordering.idAt(5)).isEqualTo(2L);
+        assertThat(ids(ordering, index.resume(ordering, cursor, CourseSort.RATING, false), 7)).containsExactly(6L);
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherSortOrMalformed() {
+        CourseBrowseIndex index = new CourseBrowseIndex();
+        CatalogSnapshot snapshot = snapshot(1, catalog());
+        CourseBrowseIndex.Ordering byRating = index.ordering(snapshot, UNIVERSITY, CourseSort.RATING, true);
+        String cursor = index.cursorAfter(byRating, 0, CourseSort.RATING, true);
+
+        assertThatThrownBy(() -> index.resume(byRating, cursor, CourseSort.RATING, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.resume(byRating, cursor, CourseSort.ENROLLED, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.resume(byRating, "not base64!", CourseSort.RATING, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        String badNumber = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("c1|RATING|d|x|v4.5".getBytes());
+        assertThatThrownBy(() -> index.resume(byRating, badNumber, CourseSort.RATING, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
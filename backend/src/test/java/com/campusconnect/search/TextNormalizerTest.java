@@ -0,0 +1,44 @@
+package com.campusconnect.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    @Test
+    void lowerCasesAndStripsAccentsAndApostrophes() {
+        assertThat(TextNormalizer.normalize("José  O'Neil")).isEqualTo("jose oneil");
+        assertThat(TextNormalizer.normalize("O’Brien")).isEqualTo("obrien");
+        assertThat(TextNormalizer.normalize("Ångström Müller")).isEqualTo("angstrom muller");
+    }
+
+    @Test
+    void turnsPunctuationIntoSingleSpaces() {
+        assertThat(TextNormalizer.normalize("  CS-101: Intro (Fall)  ")).isEqualTo("cs 101 intro fall");
+        assertThat(TextNormalizer.normalize("C++ / C#")).isEqualTo("c c");
+    }
+
+    @Test
+    void keepsLettersAndDigitsOfAnyScript() {
+        assertThat(TextNormalizer.normalize("Введение в Программирование")).isEqualTo("введение в программирование");
+        assertThat(TextNormalizer.normalize("数据结构 101")).isEqualTo("数据结构 101");
+        assertThat(TextNormalizer.normalize("Ψυχολογία")).isEqualTo("ψυχολογια");
+        assertThat(TextNormalizer.normalize("مقدمة ٣")).isEqualTo("مقدمة ٣");
+    }
+
+    @Test
+    void nullAndBlankAreEmpty() {
+        assertThat(TextNormalizer.normalize(null)).isEmpty();
+        assertThat(TextNormalizer.normalize(" -- ")).isEmpty();
+        assertThat(TextNormalizer.tokenize(null)).isEmpty();
+        assertThat(TextNormalizer.tokenize("  ")).isEmpty();
+    }
+
+    @Test
+    void tokenizesOnSeparators() {
+        assertThat(TextNormalizer.tokenize("Data-Structures & Algorithms"))
+                .containsExactly("data", "structures", "algorithms");
+        assertThat(TextNormalizer.tokenize("Física Cuántica II")).containsExactly("fisica", "cuantica", "ii");
+    }
+}
@@ -67,7 +67,7 @@ export function Profile({ onNavigate }: ProfileProps) {
         // Extract counts from dashboard data
         const projectCount = (dashboardData.projects || []).length;
         const taskCount = (dashboardData.assignedTasks || []).length;
-        const messageCount = (dashboardData.recentMessages || []).length;
+        const messageCount = dashboardData.sentMessageCount ?? 0;
         const collaborationCount = (dashboardData.pendingRequests || []).length;
 
         setStats({